@@ -0,0 +1,290 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes every created Eid exception as an {@link EidEvent} to {@link EidEventSink}s, without making throwing
+ * threads wait for sinks' I/O.
+ * <p>
+ * Throwing thread only puts an Eid, an exception type and itself into a bounded, lock-free ring buffer. A single
+ * consumer thread drains the buffer in batches, builds events, rendering unique IDs if needed, and passes batches to
+ * sinks. When the buffer is full, an {@link OverflowPolicy} decides what to do with new occurrences.
+ * <p>
+ * Dispatcher is installed as an occurrence listener:
+ * <pre>
+ * AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(OverflowPolicy.COUNT, new FileEidEventSink(file));
+ * dispatcher.start();
+ * EidRuntimeException.setOccurrenceListener(dispatcher);
+ * ...
+ * dispatcher.close();
+ * </pre>
+ * Closing a dispatcher delivers all published events and stops consumer thread. Sinks are not closed.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class AsyncEidDispatcher implements EidRuntimeException.OccurrenceListener, Closeable {
+
+    /**
+     * Default capacity of ring buffer
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * Maximal capacity of ring buffer
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Default maximal number of events passed to sinks at once
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50L);
+
+    private final EventRingBuffer buffer;
+
+    private final int batchSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final EidEventSink[] sinks;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong dispatched = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final Thread consumer;
+
+    private volatile boolean running;
+
+    /**
+     * Creates a dispatcher with {@link #DEFAULT_CAPACITY} and {@link #DEFAULT_BATCH_SIZE}
+     *
+     * @param overflowPolicy a policy of handling a full buffer
+     * @param sinks          sinks to pass events to
+     */
+    public AsyncEidDispatcher(OverflowPolicy overflowPolicy, EidEventSink... sinks) {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, overflowPolicy, sinks);
+    }
+
+    /**
+     * Creates a dispatcher
+     *
+     * @param capacity       a capacity of ring buffer, rounded up to a power of two
+     * @param batchSize      a maximal number of events passed to sinks at once
+     * @param overflowPolicy a policy of handling a full buffer
+     * @param sinks          sinks to pass events to
+     * @throws IllegalArgumentException if capacity is out of range, if batch size isn't positive, or if no sink is
+     *                                  given
+     */
+    public AsyncEidDispatcher(int capacity, int batchSize, OverflowPolicy overflowPolicy, EidEventSink... sinks) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ", but given "
+                + capacity);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, but given " + batchSize);
+        }
+        if (sinks.length == 0) {
+            throw new IllegalArgumentException("At least one sink must be given, but given none");
+        }
+        this.buffer = new EventRingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sinks = sinks.clone();
+        this.consumer = new Thread(new Consumer(), "eid-event-dispatcher");
+        this.consumer.setDaemon(true);
+    }
+
+    /**
+     * Starts consumer thread
+     *
+     * @return this dispatcher
+     */
+    public AsyncEidDispatcher start() {
+        running = true;
+        consumer.start();
+        return this;
+    }
+
+    @Override
+    public void occurred(EidRuntimeException exception) {
+        Thread thread = Thread.currentThread();
+        if (buffer.offer(exception.getEid(), exception.getClass(), thread)) {
+            return;
+        }
+        overflowPolicy.overflow(this, exception, thread);
+    }
+
+    /**
+     * Gets number of events dropped, because buffer was full. Events dropped with {@link OverflowPolicy#DROP} aren't
+     * counted.
+     *
+     * @return number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets number of events passed to sinks
+     *
+     * @return number of dispatched events
+     */
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /**
+     * Gets number of batches that sinks failed to accept
+     *
+     * @return number of failures
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Delivers all published events and stops consumer thread. Events published after closing are dropped.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        boolean interrupted = false;
+        while (consumer.isAlive()) {
+            try {
+                consumer.join();
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEidDispatcher{capacity=" + buffer.capacity() + ", batchSize=" + batchSize + ", overflowPolicy="
+            + overflowPolicy + ", dispatched=" + dispatched.get() + ", dropped=" + dropped.get() + ", failed="
+            + failed.get() + '}';
+    }
+
+    private void block(EidRuntimeException exception, Thread thread) {
+        if (thread == consumer) {
+            // created by a sink, consumer can't wait for itself to free the buffer
+            dropped.incrementAndGet();
+            return;
+        }
+        while (running) {
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            if (buffer.offer(exception.getEid(), exception.getClass(), thread)) {
+                return;
+            }
+        }
+        dropped.incrementAndGet();
+    }
+
+    private boolean dispatch(List<EidEvent> batch) {
+        batch.clear();
+        if (buffer.drainTo(batch, batchSize) == 0) {
+            return false;
+        }
+        for (EidEventSink sink : sinks) {
+            try {
+                sink.accept(batch);
+            } catch (IOException ex) {
+                failed.incrementAndGet();
+            } catch (RuntimeException ex) {
+                failed.incrementAndGet();
+            }
+        }
+        dispatched.addAndGet(batch.size());
+        return true;
+    }
+
+    /**
+     * A policy of handling new occurrences, when ring buffer is full
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drops new occurrences. Nothing is counted, so throwing threads never write to shared memory.
+         */
+        DROP {
+            @Override
+            void overflow(AsyncEidDispatcher dispatcher, EidRuntimeException exception, Thread thread) {
+                // dropped
+            }
+        },
+
+        /**
+         * Drops new occurrences and counts them, see {@link AsyncEidDispatcher#getDroppedCount()}
+         */
+        COUNT {
+            @Override
+            void overflow(AsyncEidDispatcher dispatcher, EidRuntimeException exception, Thread thread) {
+                dispatcher.dropped.incrementAndGet();
+            }
+        },
+
+        /**
+         * Makes throwing threads wait until there is a free space in buffer. No event is lost, but throwing threads
+         * are slowed down to the pace of sinks. Occurrences on consumer thread, created by sinks, are dropped and
+         * counted, as with {@link #COUNT}, as it can't wait for itself.
+         */
+        BLOCK {
+            @Override
+            void overflow(AsyncEidDispatcher dispatcher, EidRuntimeException exception, Thread thread) {
+                dispatcher.block(exception, thread);
+            }
+        };
+
+        abstract void overflow(AsyncEidDispatcher dispatcher, EidRuntimeException exception, Thread thread);
+    }
+
+    private final class Consumer implements Runnable {
+
+        @Override
+        public void run() {
+            List<EidEvent> batch = new ArrayList<EidEvent>(batchSize);
+            while (running) {
+                if (!dispatch(batch)) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            while (dispatch(batch)) {
+                // draining what was published before closing
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.metrics.StripedCounter;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deduplicates repeated Eid failures. Only the first occurrence of a failure is passed to next listener, repetitions
+ * are reported as periodic summaries.
+ * <p>
+ * Failures are told apart by a fingerprint of Eid id, a class of a cause, and first frames of a stack trace, after
+ * leading frames of this library, like those of {@link pl.wavesoftware.eid.utils.EidPreconditions}. Time is
+ * divided into intervals. First occurrence of a fingerprint is passed in full to next listener, and its repetitions
+ * within the same interval are only counted. With first occurrence in a following interval, repetitions of previous
+ * one are reported to a {@link RepetitionListener}. As long as a fingerprint occurs in every interval, it's considered
+ * a single, ongoing failure, and only summaries are reported. Occurrence after an interval of silence is passed in full
+ * again.
+ * <p>
+ * Fingerprints are counted in a fixed size, lock-free count-min table, so memory doesn't grow with number of distinct
+ * failures, and each occurrence costs a few CAS operations. When a table is overloaded, fingerprints may collide, and
+ * some first occurrences may be taken for repetitions. Frames are read with no copy of whole stack trace, where JVM
+ * allows it, so cost doesn't grow with depth of a stack.
+ * <p>
+ * Deduplicator is installed as an occurrence listener, in front of a listener, that handles failures in full:
+ * <pre>
+ * EidDeduplicator deduplicator = new EidDeduplicator(dispatcher, new RepetitionListener() {
+ *     public void repeated(Eid eid, long count, long since, long until) {
+ *         log.warn("{} repeated {} times", eid, count);
+ *     }
+ * });
+ * EidRuntimeException.setOccurrenceListener(deduplicator);
+ * </pre>
+ * Summary of an interval is reported with next occurrence of same fingerprint, so summary of last interval of a
+ * failure isn't reported until that failure happens again.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidDeduplicator implements EidRuntimeException.OccurrenceListener {
+
+    /**
+     * Default number of stack trace frames taken into a fingerprint
+     */
+    public static final int DEFAULT_FRAMES = 4;
+
+    /**
+     * Default length of interval, in seconds
+     */
+    public static final long DEFAULT_INTERVAL_SECONDS = 10L;
+
+    /**
+     * Default number of cells in each row of a fingerprint table
+     */
+    public static final int DEFAULT_WIDTH = 4096;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int PRIME = 31;
+
+    private final EidRuntimeException.OccurrenceListener next;
+
+    private final RepetitionListener repetitions;
+
+    private final int frames;
+
+    private final long intervalMillis;
+
+    private final FingerprintTable table;
+
+    private final StripedCounter suppressed = new StripedCounter();
+
+    /**
+     * Creates a deduplicator with {@link #DEFAULT_FRAMES}, {@link #DEFAULT_INTERVAL_SECONDS} and
+     * {@link #DEFAULT_WIDTH}
+     *
+     * @param next        a listener that receives first occurrences of failures
+     * @param repetitions a listener that receives summaries of repetitions
+     */
+    public EidDeduplicator(EidRuntimeException.OccurrenceListener next, RepetitionListener repetitions) {
+        this(next, repetitions, DEFAULT_FRAMES, DEFAULT_INTERVAL_SECONDS, TimeUnit.SECONDS, DEFAULT_WIDTH);
+    }
+
+    /**
+     * Creates a deduplicator
+     *
+     * @param next        a listener that receives first occurrences of failures
+     * @param repetitions a listener that receives summaries of repetitions
+     * @param frames      a number of stack trace frames taken into a fingerprint, may be zero
+     * @param interval    a length of interval
+     * @param unit        a time unit of interval
+     * @param width       a number of cells in each row of a fingerprint table, a power of two
+     * @throws IllegalArgumentException if number of frames is negative, if interval isn't positive, or if width isn't
+     *                                  a positive power of two
+     */
+    public EidDeduplicator(EidRuntimeException.OccurrenceListener next,
+                           RepetitionListener repetitions,
+                           int frames,
+                           long interval,
+                           TimeUnit unit,
+                           int width) {
+        if (frames < 0) {
+            throw new IllegalArgumentException("Frames can't be negative, but given " + frames);
+        }
+        if (interval <= 0 || unit.toMillis(interval) <= 0) {
+            throw new IllegalArgumentException("Interval must be at least a millisecond, but given " + interval
+                + " " + unit);
+        }
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Width must be a positive power of two, but given " + width);
+        }
+        this.next = next;
+        this.repetitions = repetitions;
+        this.frames = frames;
+        this.intervalMillis = unit.toMillis(interval);
+        this.table = new FingerprintTable(width);
+    }
+
+    @Override
+    public void occurred(EidRuntimeException exception) {
+        long fingerprint = fingerprintOf(exception);
+        long slot = currentTimeMillis() / intervalMillis;
+        long previous = table.record(fingerprint, slot);
+        if (previous == FingerprintTable.REPEATED) {
+            suppressed.increment();
+            return;
+        }
+        long count = FingerprintTable.countOf(previous);
+        long elapsed = (slot - FingerprintTable.slotOf(previous)) & FingerprintTable.SLOT_MASK;
+        if (count > 0L) {
+            long repeated = FingerprintTable.isFull(previous) ? count - 1L : count;
+            if (repeated > 0L) {
+                long since = (slot - elapsed) * intervalMillis;
+                repetitions.repeated(exception.getEid(), repeated, since, since + intervalMillis);
+            }
+            if (elapsed == 1L) {
+                suppressed.increment();
+                return;
+            }
+        }
+        table.markFull(fingerprint, slot);
+        next.occurred(exception);
+    }
+
+    /**
+     * Gets number of occurrences, that weren't passed to next listener
+     *
+     * @return number of suppressed occurrences
+     */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "EidDeduplicator{frames=" + frames + ", intervalMillis=" + intervalMillis + ", suppressed="
+            + suppressed.sum() + '}';
+    }
+
+    /**
+     * Returns current time. Can be overridden for testing.
+     *
+     * @return a current time in milliseconds, as in {@link System#currentTimeMillis()}
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    long fingerprintOf(EidRuntimeException exception) {
+        String id = exception.getEid().getId();
+        long hash = id == null ? 0L : id.hashCode();
+        Throwable cause = exception.getCause();
+        hash = hash * PRIME + (cause == null ? 0 : cause.getClass().getName().hashCode());
+        hash = Frames.hash(exception, frames, hash);
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        long mixed = hash + GOLDEN_GAMMA;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * Receives summaries of repeated occurrences. It's called on a throwing thread, so it should be fast,
+     * non-blocking and it should not throw.
+     */
+    public interface RepetitionListener {
+
+        /**
+         * Receives a number of repetitions of a failure, that weren't passed to next listener in given interval
+         *
+         * @param eid   an Eid of an occurrence of same failure, that triggered the summary
+         * @param count a number of repetitions
+         * @param since a start of interval, in milliseconds since epoch
+         * @param until an end of interval, in milliseconds since epoch
+         */
+        void repeated(Eid eid, long count, long since, long until);
+    }
+
+    private static final class Frames {
+        // packages, that Eid exceptions are thrown from, like EidPreconditions
+        private static final String[] LIBRARY_PACKAGES = {
+            "pl.wavesoftware.eid.exceptions.", "pl.wavesoftware.eid.utils."
+        };
+        @Nullable
+        private static final Method DEPTH;
+        @Nullable
+        private static final Method ELEMENT;
+
+        static {
+            Method depth = null;
+            Method element = null;
+            // Throwable's private accessors of single frames exist only up to Java 8
+            if (System.getProperty("java.specification.version", "").startsWith("1.")) {
+                try {
+                    depth = Throwable.class.getDeclaredMethod("getStackTraceDepth");
+                    element = Throwable.class.getDeclaredMethod("getStackTraceElement", int.class);
+                    depth.setAccessible(true);
+                    element.setAccessible(true);
+                } catch (NoSuchMethodException ex) {
+                    depth = null;
+                    element = null;
+                } catch (SecurityException ex) {
+                    depth = null;
+                    element = null;
+                }
+            }
+            DEPTH = depth;
+            ELEMENT = element;
+        }
+
+        private Frames() {
+            // not for instantiation
+        }
+
+        private static long hash(Throwable throwable, int frames, long seed) {
+            if (frames == 0) {
+                return seed;
+            }
+            if (DEPTH != null && ELEMENT != null) {
+                try {
+                    int depth = (Integer) DEPTH.invoke(throwable);
+                    long hash = seed;
+                    int hashed = 0;
+                    boolean leading = true;
+                    for (int i = 0; i < depth && hashed < frames; i++) {
+                        StackTraceElement element = (StackTraceElement) ELEMENT.invoke(throwable, i);
+                        leading = leading && isOfLibrary(element);
+                        if (!leading) {
+                            hash = hash(hash, element);
+                            hashed++;
+                        }
+                    }
+                    return hash;
+                } catch (IllegalAccessException ex) {
+                    return hashOf(throwable.getStackTrace(), frames, seed);
+                } catch (InvocationTargetException ex) {
+                    return hashOf(throwable.getStackTrace(), frames, seed);
+                }
+            }
+            return hashOf(throwable.getStackTrace(), frames, seed);
+        }
+
+        private static long hashOf(StackTraceElement[] trace, int frames, long seed) {
+            int first = 0;
+            while (first < trace.length && isOfLibrary(trace[first])) {
+                first++;
+            }
+            int end = Math.min(trace.length, first + frames);
+            long hash = seed;
+            for (int i = first; i < end; i++) {
+                hash = hash(hash, trace[i]);
+            }
+            return hash;
+        }
+
+        private static boolean isOfLibrary(StackTraceElement element) {
+            String className = element.getClassName();
+            for (String library : LIBRARY_PACKAGES) {
+                if (className.startsWith(library)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static long hash(long seed, StackTraceElement element) {
+            long hash = seed * PRIME + element.getClassName().hashCode();
+            hash = hash * PRIME + element.getMethodName().hashCode();
+            return hash * PRIME + element.getLineNumber();
+        }
+    }
+}
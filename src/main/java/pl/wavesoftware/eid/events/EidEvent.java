@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+/**
+ * An immutable record of a single Eid exception occurrence, as delivered to {@link EidEventSink}s
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class EidEvent {
+
+    private final String id;
+
+    private final String ref;
+
+    private final String uniq;
+
+    private final long timestamp;
+
+    private final Class<? extends EidRuntimeException> exceptionType;
+
+    private final String threadName;
+
+    private final long threadId;
+
+    /**
+     * Constructor
+     *
+     * @param id            an Eid id
+     * @param ref           an Eid ref, or empty string
+     * @param uniq          a unique ID of occurrence
+     * @param timestamp     a time of occurrence in milliseconds since standard Java epoch
+     * @param exceptionType a type of exception
+     * @param threadName    a name of thread that created exception
+     * @param threadId      an ID of thread that created exception
+     */
+    public EidEvent(String id, String ref, String uniq, long timestamp,
+                    Class<? extends EidRuntimeException> exceptionType, String threadName, long threadId) {
+        this.id = id;
+        this.ref = ref;
+        this.uniq = uniq;
+        this.timestamp = timestamp;
+        this.exceptionType = exceptionType;
+        this.threadName = threadName;
+        this.threadId = threadId;
+    }
+
+    /**
+     * Gets an Eid id
+     *
+     * @return an Eid id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets an Eid ref
+     *
+     * @return a ref, or empty string if not given
+     */
+    public String getRef() {
+        return ref;
+    }
+
+    /**
+     * Gets a unique ID of occurrence
+     *
+     * @return a unique ID
+     */
+    public String getUniq() {
+        return uniq;
+    }
+
+    /**
+     * Gets a time of occurrence
+     *
+     * @return a time in milliseconds since standard Java epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets a type of exception
+     *
+     * @return a type of exception
+     */
+    public Class<? extends EidRuntimeException> getExceptionType() {
+        return exceptionType;
+    }
+
+    /**
+     * Gets a name of thread that created exception
+     *
+     * @return a name of thread
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * Gets an ID of thread that created exception
+     *
+     * @return an ID of thread
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    @Override
+    public String toString() {
+        return "EidEvent{id=\"" + id + "\", ref=\"" + ref + "\", uniq=\"" + uniq + "\", timestamp=" + timestamp
+            + ", exceptionType=" + exceptionType.getName() + ", threadName=\"" + threadName + "\", threadId="
+            + threadId + '}';
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A destination of Eid events, like a log file or a message queue. Sinks are called by {@link AsyncEidDispatcher}, from
+ * its single consumer thread, with batches of events, so they can write them out in bulk.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public interface EidEventSink {
+
+    /**
+     * Writes out a batch of events. Given list is reused by dispatcher, so it shouldn't be kept after this method returns.
+     *
+     * @param events events in order of theirs publication
+     * @throws IOException if events couldn't be written
+     */
+    void accept(List<EidEvent> events) throws IOException;
+}
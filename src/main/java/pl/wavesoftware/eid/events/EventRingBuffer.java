@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free ring buffer for many producers and a single consumer, after Dmitry Vyukov's bounded queue. Each
+ * slot has a sequence number: a producer claims a slot with a single CAS on tail, fills it and publishes it with an
+ * ordered store of its sequence. The consumer reads published slots in order and hands them back to producers.
+ * <p>
+ * Slots are preallocated, so publishing doesn't allocate. A slot holds an Eid, so its fields are read only by consumer.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+final class EventRingBuffer {
+
+    private final int mask;
+
+    private final AtomicLongArray sequences;
+
+    private final Eid[] eids;
+
+    private final Class<?>[] types;
+
+    private final Thread[] threads;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private long head;
+
+    EventRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int index = 0; index < size; index++) {
+            sequences.set(index, index);
+        }
+        eids = new Eid[size];
+        types = new Class<?>[size];
+        threads = new Thread[size];
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Publishes an occurrence, if there is a free slot
+     *
+     * @param eid    an Eid of exception
+     * @param type   a type of exception
+     * @param thread a thread that created exception
+     * @return true, if published, false if buffer is full
+     */
+    boolean offer(Eid eid, Class<?> type, Thread thread) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0L) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0L) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        eids[index] = eid;
+        types[index] = type;
+        threads[index] = thread;
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Takes published occurrences, in order of theirs publication. Must be called only by consumer thread.
+     *
+     * @param target   a list to add events to
+     * @param maxCount maximal number of events to take
+     * @return number of events taken
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<EidEvent> target, int maxCount) {
+        int count = 0;
+        while (count < maxCount) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            Eid eid = eids[index];
+            Thread thread = threads[index];
+            target.add(new EidEvent(eid.getId(), eid.getRef(), eid.getUniq(), eid.getTimestamp(),
+                (Class<? extends EidRuntimeException>) types[index], thread.getName(), thread.getId()));
+            eids[index] = null;
+            types[index] = null;
+            threads[index] = null;
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if there is no published and not yet taken occurrence. Must be called only by consumer thread.
+     *
+     * @return true, if empty
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * A sink that appends events to a file, one line per event, with tab separated: UTC timestamp, id, ref, unique ID,
+ * exception type and thread name:
+ * <pre>
+ * 2018-10-19T12:45:12.123Z  20181019:124512    kv3y7g1dd8k7e  pl.wavesoftware.eid.exceptions.EidIllegalArgumentException  main
+ * </pre>
+ * File is flushed after each batch.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class FileEidEventSink implements EidEventSink, Closeable {
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final char SEPARATOR = '\t';
+
+    private final Writer writer;
+
+    private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    private final Date date = new Date();
+
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Opens a file for appending
+     *
+     * @param file a file to append events to
+     * @throws IOException if file couldn't be opened
+     */
+    public FileEidEventSink(File file) throws IOException {
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), ENCODING));
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    @Override
+    public synchronized void accept(List<EidEvent> events) throws IOException {
+        for (EidEvent event : events) {
+            line.setLength(0);
+            date.setTime(event.getTimestamp());
+            line.append(dateFormat.format(date)).append(SEPARATOR)
+                .append(event.getId()).append(SEPARATOR)
+                .append(event.getRef()).append(SEPARATOR)
+                .append(event.getUniq()).append(SEPARATOR)
+                .append(event.getExceptionType().getName()).append(SEPARATOR)
+                .append(event.getThreadName()).append('\n');
+            writer.append(line);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
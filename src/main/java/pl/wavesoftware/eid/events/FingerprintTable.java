@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size, lock-free count-min table of fingerprints, counted in time slots. Each of {@link #ROWS} rows holds
+ * cells indexed by a different hash of a fingerprint, and each cell packs a slot, a flag telling that an occurrence of
+ * that slot was reported in full, and a count:
+ * <pre>
+ * | 1 bit: unused | 30 bits: slot | 1 bit: reported in full | 32 bits: count |
+ * </pre>
+ * A cell of an older slot is replaced, when a fingerprint occurs in a newer one. As in any count-min sketch, counts can
+ * be overestimated, when all rows of a fingerprint collide with other fingerprints, but they are never underestimated.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+final class FingerprintTable {
+
+    /**
+     * Number of rows, each with its own hash of a fingerprint
+     */
+    static final int ROWS = 4;
+
+    /**
+     * Returned by {@link #record(long, long)} for a fingerprint, that has already occurred in given slot
+     */
+    static final long REPEATED = -1L;
+
+    /**
+     * Mask of slot values, slots wrap around it
+     */
+    static final long SLOT_MASK = (1L << 30) - 1;
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+    private static final long FULL = 1L << 32;
+    private static final int SLOT_SHIFT = 33;
+    private static final int HASH_BITS = 32;
+
+    private final AtomicLongArray cells;
+
+    private final int width;
+
+    private final int mask;
+
+    /**
+     * Constructor
+     *
+     * @param width number of cells in each row, a power of two
+     */
+    FingerprintTable(int width) {
+        this.width = width;
+        this.mask = width - 1;
+        this.cells = new AtomicLongArray(ROWS * width);
+    }
+
+    /**
+     * Counts an occurrence of a fingerprint in given slot
+     *
+     * @param fingerprint a well mixed fingerprint
+     * @param slot        a time slot
+     * @return {@link #REPEATED} if fingerprint has already occurred in given slot, or a cell of the last slot it
+     * occurred in before, or 0 if it hasn't occurred before
+     */
+    long record(long fingerprint, long slot) {
+        long current = slot & SLOT_MASK;
+        int first = (int) fingerprint;
+        int second = (int) (fingerprint >>> HASH_BITS);
+        long minCount = Long.MAX_VALUE;
+        long previous = 0L;
+        long previousCount = Long.MAX_VALUE;
+        boolean previousFull = true;
+        for (int row = 0; row < ROWS; row++) {
+            int index = row * width + ((first + row * second) & mask);
+            long cell;
+            long next;
+            do {
+                cell = cells.get(index);
+                if (slotOf(cell) == current && countOf(cell) != 0L) {
+                    next = countOf(cell) == COUNT_MASK ? cell : cell + 1L;
+                } else {
+                    next = current << SLOT_SHIFT | 1L;
+                }
+            } while (!cells.compareAndSet(index, cell, next));
+            minCount = Math.min(minCount, countOf(next));
+            if (countOf(next) == 1L) {
+                previousFull &= isFull(cell);
+                if (countOf(cell) < previousCount) {
+                    previousCount = countOf(cell);
+                    previous = cell;
+                }
+            }
+        }
+        if (minCount > 1L) {
+            return REPEATED;
+        }
+        return previousCount == 0L ? 0L : (previous & ~FULL) | (previousFull ? FULL : 0L);
+    }
+
+    /**
+     * Marks, that an occurrence of a fingerprint in given slot was reported in full
+     *
+     * @param fingerprint a well mixed fingerprint
+     * @param slot        a time slot
+     */
+    void markFull(long fingerprint, long slot) {
+        long current = slot & SLOT_MASK;
+        int first = (int) fingerprint;
+        int second = (int) (fingerprint >>> HASH_BITS);
+        for (int row = 0; row < ROWS; row++) {
+            int index = row * width + ((first + row * second) & mask);
+            long cell;
+            do {
+                cell = cells.get(index);
+            } while (slotOf(cell) == current && !isFull(cell) && !cells.compareAndSet(index, cell, cell | FULL));
+        }
+    }
+
+    static long slotOf(long cell) {
+        return cell >>> SLOT_SHIFT;
+    }
+
+    static long countOf(long cell) {
+        return cell & COUNT_MASK;
+    }
+
+    static boolean isFull(long cell) {
+        return (cell & FULL) != 0L;
+    }
+}
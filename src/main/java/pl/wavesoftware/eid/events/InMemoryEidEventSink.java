@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sink that keeps events in memory. It's meant for tests, that need to verify which Eid exceptions have occurred.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class InMemoryEidEventSink implements EidEventSink {
+
+    private final List<EidEvent> events = new ArrayList<EidEvent>();
+
+    @Override
+    public synchronized void accept(List<EidEvent> batch) {
+        events.addAll(batch);
+        notifyAll();
+    }
+
+    /**
+     * Gets a copy of all received events
+     *
+     * @return received events, in order of theirs publication
+     */
+    public synchronized List<EidEvent> getEvents() {
+        return new ArrayList<EidEvent>(events);
+    }
+
+    /**
+     * Waits until given number of events is received
+     *
+     * @param count   an expected number of events
+     * @param timeout a maximal time to wait
+     * @param unit    a time unit of timeout
+     * @return true, if at least given number of events has been received, false if time elapsed
+     * @throws InterruptedException if current thread has been interrupted
+     */
+    public synchronized boolean awaitEvents(int count, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (events.size() < count) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all received events
+     */
+    public synchronized void clear() {
+        events.clear();
+    }
+}
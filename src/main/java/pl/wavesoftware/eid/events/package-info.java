@@ -0,0 +1,7 @@
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@javax.annotation.ParametersAreNonnullByDefault
+@pl.wavesoftware.eid.ReturnTypesAreNonnullByDefault
+package pl.wavesoftware.eid.events;
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fast throw policy that adapts to a rate of occurrences of each Eid id. It's similar to HotSpot's
+ * <tt>-XX:+OmitStackTraceInFastThrow</tt>, but it works for Eid exceptions, and it switches back when failures calm
+ * down.
+ * <p>
+ * Occurrences are counted per Eid id in fixed time windows. When more than a given number of occurrences happens within
+ * a window, remaining occurrences of that window, and all occurrences of following windows, are collapsed into a shared
+ * exception. A shared exception is thrown until a window ends with no more occurrences than allowed.
+ * <p>
+ * Policy is opt-in:
+ * <pre>
+ * AdaptiveFastThrowPolicy policy = new AdaptiveFastThrowPolicy(1000);
+ * EidRuntimeException.setFastThrowPolicy(policy);
+ * </pre>
+ * It's used by {@link pl.wavesoftware.eid.utils.EidPreconditions} and by any code that asks for
+ * {@link EidRuntimeException#reusable(Eid, Class)} exceptions. Up to {@link #MAX_TRACKED_IDS} distinct ids are
+ * tracked, exceptions with other ids are never collapsed.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class AdaptiveFastThrowPolicy implements EidRuntimeException.FastThrowPolicy {
+
+    /**
+     * Maximal number of distinct ids tracked by single policy
+     */
+    public static final int MAX_TRACKED_IDS = 4096;
+
+    private final long maxOccurrences;
+
+    private final long windowNanos;
+
+    private final ConcurrentMap<String, Rate> rates = new ConcurrentHashMap<String, Rate>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong collapsed = new AtomicLong();
+
+    /**
+     * Creates a policy that collapses occurrences of Eid ids thrown more than given number of times per second
+     *
+     * @param maxOccurrencesPerSecond a number of occurrences per second, above which exceptions are collapsed
+     * @throws IllegalArgumentException if given number isn't positive
+     */
+    public AdaptiveFastThrowPolicy(long maxOccurrencesPerSecond) {
+        this(maxOccurrencesPerSecond, 1L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a policy that collapses occurrences of Eid ids thrown more than given number of times per given window
+     *
+     * @param maxOccurrences a number of occurrences per window, above which exceptions are collapsed
+     * @param window         a length of window
+     * @param unit           a time unit of window
+     * @throws IllegalArgumentException if given number or window isn't positive
+     */
+    public AdaptiveFastThrowPolicy(long maxOccurrences, long window, TimeUnit unit) {
+        if (maxOccurrences <= 0) {
+            throw new IllegalArgumentException("Max occurrences must be positive, but given " + maxOccurrences);
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive, but given " + window);
+        }
+        this.maxOccurrences = maxOccurrences;
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    @Override
+    public boolean isReusable(Eid eid) {
+        Rate rate = rateOf(eid.getId());
+        if (rate == null) {
+            return false;
+        }
+        long now = nanoTime();
+        long start = rate.windowStart.get();
+        long elapsed = now - start;
+        if (elapsed >= windowNanos && rate.windowStart.compareAndSet(start, now)) {
+            long previous = rate.count.getAndSet(0L);
+            rate.collapsing = elapsed < 2 * windowNanos && previous > maxOccurrences;
+        }
+        long count = rate.count.incrementAndGet();
+        if (!rate.collapsing && count <= maxOccurrences) {
+            return false;
+        }
+        rate.collapsed.incrementAndGet();
+        collapsed.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Checks if occurrences of given Eid id are being collapsed now
+     *
+     * @param id an Eid id
+     * @return true, if a shared exception is thrown for given id
+     */
+    public boolean isCollapsing(String id) {
+        Rate rate = rates.get(id);
+        if (rate == null) {
+            return false;
+        }
+        return rate.collapsing || rate.count.get() > maxOccurrences;
+    }
+
+    /**
+     * Gets number of occurrences of given Eid id that were collapsed into a shared exception
+     *
+     * @param id an Eid id
+     * @return number of collapsed occurrences
+     */
+    public long getCollapsedCount(String id) {
+        Rate rate = rates.get(id);
+        return rate == null ? 0L : rate.collapsed.get();
+    }
+
+    /**
+     * Gets number of all occurrences that were collapsed into shared exceptions
+     *
+     * @return number of collapsed occurrences
+     */
+    public long getCollapsedCount() {
+        return collapsed.get();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveFastThrowPolicy{maxOccurrences=" + maxOccurrences + ", windowNanos=" + windowNanos
+            + ", collapsed=" + collapsed.get() + '}';
+    }
+
+    /**
+     * Returns current value of monotonic clock. Can be overridden for testing.
+     *
+     * @return a current time in nanoseconds, as in {@link System#nanoTime()}
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Nullable
+    private Rate rateOf(@Nullable String id) {
+        if (id == null) {
+            return null;
+        }
+        Rate rate = rates.get(id);
+        if (rate != null || size.get() >= MAX_TRACKED_IDS) {
+            return rate;
+        }
+        Rate created = new Rate(nanoTime());
+        rate = rates.putIfAbsent(id, created);
+        if (rate != null) {
+            return rate;
+        }
+        size.incrementAndGet();
+        return created;
+    }
+
+    private static final class Rate {
+        private final AtomicLong windowStart;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong collapsed = new AtomicLong();
+        private volatile boolean collapsing;
+
+        private Rate(long windowStart) {
+            this.windowStart = new AtomicLong(windowStart);
+        }
+    }
+}
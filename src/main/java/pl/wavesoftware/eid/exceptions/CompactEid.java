@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+import javax.annotation.Nullable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * A compact, binary serial form of {@link Eid}. Layout, in version 1:
+ * <pre>
+ * byte     version
+ * byte     flags: has id, has ref, kind of unique ID (string, base 36 or base 32 primitive)
+ * string   id, if present
+ * string   ref, if present
+ * varlong  unique ID, if primitive, or string unique ID otherwise
+ * varlong  timestamp
+ * </pre>
+ * Numbers are written in 7 bit groups, so small ones take few bytes. Strings are written as objects, so a string
+ * repeated in the same stream, like an ID of many Eids sent together, is written once and referenced later. Unique ID
+ * is generated before writing, if it wasn't yet, so it survives a round trip. Primitive unique IDs of build-in
+ * generators are written as numbers, and they are rendered by equal encoders after reading.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+final class CompactEid implements Externalizable {
+
+    static final int VERSION = 1;
+
+    private static final long serialVersionUID = 20181019140000L;
+
+    private static final int HAS_ID = 1;
+
+    private static final int HAS_REF = 1 << 1;
+
+    private static final int UNIQ_SHIFT = 2;
+
+    private static final int UNIQ_MASK = 3;
+
+    private static final int UNIQ_STRING = 0;
+
+    private static final int UNIQ_BASE36 = 1;
+
+    private static final int UNIQ_BASE32 = 2;
+
+    private static final int VARINT_BITS = 7;
+
+    private static final int VARINT_MASK = 0x7f;
+
+    private static final int VARINT_CONTINUATION = 0x80;
+
+    private static final int MAX_VARLONG_SHIFT = 63;
+
+    private static final Eid.PrimitiveUniqIdGenerator BASE36_ENCODER =
+        (Eid.PrimitiveUniqIdGenerator) Eid.DEFAULT_UNIQ_ID_GENERATOR;
+
+    private static final Eid.PrimitiveUniqIdGenerator BASE32_ENCODER = new TimeOrderedUniqIdGenerator(0);
+
+    @Nullable
+    private Eid eid;
+
+    /**
+     * Constructor used by serialization
+     */
+    public CompactEid() {
+        // filled by readExternal
+    }
+
+    CompactEid(Eid eid) {
+        this.eid = eid;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(VERSION);
+        write(out, eid);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        checkVersion(in.readUnsignedByte());
+        eid = read(in);
+    }
+
+    static void write(ObjectOutput out, Eid eid) throws IOException {
+        String id = eid.getId();
+        String ref = eid.getRef();
+        Eid.PrimitiveUniqIdGenerator encoder = eid.getUniqEncoder();
+        int uniqKind = uniqKindOf(encoder);
+        int flags = uniqKind << UNIQ_SHIFT;
+        if (id != null) {
+            flags |= HAS_ID;
+        }
+        if (!ref.isEmpty()) {
+            flags |= HAS_REF;
+        }
+        out.writeByte(flags);
+        if (id != null) {
+            writeString(out, id);
+        }
+        if (!ref.isEmpty()) {
+            writeString(out, ref);
+        }
+        if (uniqKind == UNIQ_STRING) {
+            writeString(out, eid.getUniq());
+        } else {
+            writeVarLong(out, eid.getUniqValue());
+        }
+        writeVarLong(out, eid.getTimestamp());
+    }
+
+    static Eid read(ObjectInput in) throws IOException, ClassNotFoundException {
+        int flags = in.readUnsignedByte();
+        String id = (flags & HAS_ID) != 0 ? readString(in) : null;
+        String ref = (flags & HAS_REF) != 0 ? readString(in) : null;
+        int uniqKind = (flags >>> UNIQ_SHIFT) & UNIQ_MASK;
+        String uniq = null;
+        long uniqValue = 0L;
+        Eid.PrimitiveUniqIdGenerator encoder = null;
+        if (uniqKind == UNIQ_STRING) {
+            uniq = readString(in);
+        } else if (uniqKind == UNIQ_BASE36) {
+            uniqValue = readVarLong(in);
+            encoder = BASE36_ENCODER;
+        } else if (uniqKind == UNIQ_BASE32) {
+            uniqValue = readVarLong(in);
+            encoder = BASE32_ENCODER;
+        } else {
+            throw new InvalidObjectException("Unknown kind of unique ID: " + uniqKind);
+        }
+        long timestamp = readVarLong(in);
+        return Eid.restore(Eid.definitionOf(id, ref), timestamp, uniq, uniqValue, encoder);
+    }
+
+    static void checkVersion(int version) throws InvalidObjectException {
+        if (version != VERSION) {
+            throw new InvalidObjectException("Unsupported version of serial form: " + version);
+        }
+    }
+
+    static void writeString(ObjectOutput out, String value) throws IOException {
+        out.writeObject(value);
+    }
+
+    static String readString(ObjectInput in) throws IOException, ClassNotFoundException {
+        Object value = in.readObject();
+        if (!(value instanceof String)) {
+            throw new InvalidObjectException("Expected a string, but read: " + value);
+        }
+        return (String) value;
+    }
+
+    /**
+     * Writes a non negative number in 7 bit groups, least significant first, so small numbers take few bytes
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        long rest = value;
+        while ((rest & ~VARINT_MASK) != 0L) {
+            out.writeByte((int) (rest & VARINT_MASK) | VARINT_CONTINUATION);
+            rest >>>= VARINT_BITS;
+        }
+        out.writeByte((int) rest);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift <= MAX_VARLONG_SHIFT; shift += VARINT_BITS) {
+            int part = in.readUnsignedByte();
+            value |= (long) (part & VARINT_MASK) << shift;
+            if ((part & VARINT_CONTINUATION) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidObjectException("Malformed variable length number");
+    }
+
+    private static int uniqKindOf(@Nullable Eid.PrimitiveUniqIdGenerator encoder) {
+        if (encoder == Eid.DEFAULT_UNIQ_ID_GENERATOR || encoder == Eid.SHARED_RANDOM_UNIQ_ID_GENERATOR) {
+            return UNIQ_BASE36;
+        }
+        if (encoder != null && encoder.getClass() == TimeOrderedUniqIdGenerator.class) {
+            return UNIQ_BASE32;
+        }
+        return UNIQ_STRING;
+    }
+
+    private Object readResolve() {
+        return eid;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+import javax.annotation.Nullable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact, binary serial form of {@link EidRuntimeException} and its standard subclasses. Layout, in version 1:
+ * <pre>
+ * byte     version
+ * byte     kind of exception
+ * ...      Eid, as written by {@link CompactEid}
+ * string   message
+ * byte     flags: has cause, has stack trace
+ * object   cause, in standard serial form, if present
+ * varint   number of stack frames, if present, followed by frames
+ * </pre>
+ * Each stack frame is written as references to class name, method name and file name, followed by a line number.
+ * A reference is an index in a table of strings, built while writing. A string is written only at its first use, so
+ * class and file names repeated in the same stack trace cost a byte or two. As strings are written as objects, names
+ * repeated in other exceptions of the same stream are also written only once.
+ * <p>
+ * Suppressed exceptions aren't written.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+final class CompactEidException implements Externalizable {
+
+    private static final long serialVersionUID = 20181019141500L;
+
+    private static final int HAS_CAUSE = 1;
+
+    private static final int HAS_STACK_TRACE = 1 << 1;
+
+    private static final int NO_FILE = 0;
+
+    @Nullable
+    private EidRuntimeException exception;
+
+    /**
+     * Constructor used by serialization
+     */
+    public CompactEidException() {
+        // filled by readExternal
+    }
+
+    CompactEidException(EidRuntimeException exception) {
+        this.exception = exception;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        EidRuntimeException current = exception;
+        out.writeByte(CompactEid.VERSION);
+        out.writeByte(EidRuntimeException.kindOf(current.getClass()));
+        CompactEid.write(out, current.getEid());
+        CompactEid.writeString(out, current.getMessage());
+        Throwable cause = current.getCause();
+        StackTraceElement[] stackTrace = current.getStackTrace();
+        int flags = 0;
+        if (cause != null) {
+            flags |= HAS_CAUSE;
+        }
+        if (stackTrace.length > 0) {
+            flags |= HAS_STACK_TRACE;
+        }
+        out.writeByte(flags);
+        if (cause != null) {
+            out.writeObject(cause);
+        }
+        if (stackTrace.length > 0) {
+            writeStackTrace(out, stackTrace);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        CompactEid.checkVersion(in.readUnsignedByte());
+        int kind = in.readUnsignedByte();
+        Eid eid = CompactEid.read(in);
+        String message = CompactEid.readString(in);
+        int flags = in.readUnsignedByte();
+        Throwable cause = (flags & HAS_CAUSE) != 0 ? (Throwable) in.readObject() : null;
+        StackTraceElement[] stackTrace = (flags & HAS_STACK_TRACE) != 0
+            ? readStackTrace(in)
+            : new StackTraceElement[0];
+        exception = EidRuntimeException.restore(kind, eid, message, cause, stackTrace);
+        if (exception == null) {
+            throw new InvalidObjectException("Unknown kind of exception: " + kind);
+        }
+    }
+
+    private static void writeStackTrace(ObjectOutput out, StackTraceElement[] stackTrace) throws IOException {
+        Map<String, Integer> strings = new HashMap<String, Integer>();
+        CompactEid.writeVarLong(out, stackTrace.length);
+        for (StackTraceElement element : stackTrace) {
+            writeReference(out, strings, element.getClassName());
+            writeReference(out, strings, element.getMethodName());
+            String file = element.getFileName();
+            if (file == null) {
+                CompactEid.writeVarLong(out, NO_FILE);
+            } else {
+                writeReference(out, strings, file);
+            }
+            CompactEid.writeVarLong(out, zigZag(element.getLineNumber()));
+        }
+    }
+
+    private static StackTraceElement[] readStackTrace(ObjectInput in) throws IOException, ClassNotFoundException {
+        int length = (int) CompactEid.readVarLong(in);
+        List<String> strings = new ArrayList<String>();
+        StackTraceElement[] stackTrace = new StackTraceElement[length];
+        for (int index = 0; index < length; index++) {
+            String className = readReference(in, strings);
+            String methodName = readReference(in, strings);
+            String file = readReference(in, strings);
+            int line = unZigZag(CompactEid.readVarLong(in));
+            stackTrace[index] = new StackTraceElement(className, methodName, file, line);
+        }
+        return stackTrace;
+    }
+
+    /**
+     * Writes 1-based index of given string in table, adding a string to table and writing it after its index, if it
+     * wasn't written before
+     */
+    private static void writeReference(ObjectOutput out, Map<String, Integer> strings, String value)
+        throws IOException {
+        Integer index = strings.get(value);
+        if (index != null) {
+            CompactEid.writeVarLong(out, index);
+            return;
+        }
+        int next = strings.size() + 1;
+        strings.put(value, next);
+        CompactEid.writeVarLong(out, next);
+        CompactEid.writeString(out, value);
+    }
+
+    @Nullable
+    private static String readReference(ObjectInput in, List<String> strings)
+        throws IOException, ClassNotFoundException {
+        long index = CompactEid.readVarLong(in);
+        if (index == NO_FILE) {
+            return null;
+        }
+        if (index == strings.size() + 1) {
+            strings.add(CompactEid.readString(in));
+        } else if (index > strings.size()) {
+            throw new InvalidObjectException("Invalid reference to string: " + index);
+        }
+        return strings.get((int) index - 1);
+    }
+
+    private static long zigZag(int value) {
+        return ((long) value << 1) ^ ((long) value >> (Long.SIZE - 1));
+    }
+
+    private static int unZigZag(long value) {
+        return (int) ((value >>> 1) ^ -(value & 1));
+    }
+
+    private Object readResolve() {
+        return exception;
+    }
+}
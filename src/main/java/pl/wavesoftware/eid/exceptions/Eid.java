@@ -16,10 +16,16 @@
 package pl.wavesoftware.eid.exceptions;
 
 import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.lang.Math.abs;
 
@@ -28,6 +34,9 @@ import static java.lang.Math.abs;
  * of end user applications which will report Bugs in standardized error pages or post them to issue tracker.
  * <p>
  * Exception identifier for all Eid Runtime Exceptions.
+ * <p>
+ * If unique ID generator is a {@link PrimitiveUniqIdGenerator}, unique ID is held as a primitive long, and rendered to
+ * string only when it's needed.
  *
  * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
  */
@@ -39,31 +48,63 @@ public class Eid implements Serializable {
 
     public static final String DEFAULT_MESSAGE_FORMAT = "%s => %s";
 
-    public static final UniqIdGenerator DEFAULT_UNIQ_ID_GENERATOR = new StdUniqIdGenerator();
+    /**
+     * Default unique ID generator, that keeps a separate random state for each thread, so it do not contend under heavy
+     * load
+     */
+    public static final UniqIdGenerator DEFAULT_UNIQ_ID_GENERATOR = new ThreadLocalUniqIdGenerator();
+
+    /**
+     * Unique ID generator that was used as default before 1.2.1. It shares a single {@link Random} between all threads.
+     */
+    public static final UniqIdGenerator SHARED_RANDOM_UNIQ_ID_GENERATOR = new StdUniqIdGenerator();
 
     private static final long serialVersionUID = -9876432123423401L;
 
-    private static final int FORMAT_NUM_SPEC = 2;
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("id", String.class),
+        new ObjectStreamField("ref", String.class),
+        new ObjectStreamField("uniqueId", String.class),
+        new ObjectStreamField("timestamp", long.class)
+    };
+
+    private static final int UNIQ_LENGTH_ESTIMATE = 13;
 
-    private static final int REF_FORMAT_NUM_SPEC = 3;
+    private static final int BASE36 = 36;
 
-    private static final int MESSAGE_FORMAT_NUM_SPEC = 2;
+    private static final FormatTemplate.Arguments<Eid> FORMAT_ARGUMENTS = new FormatArguments();
 
-    private static final String EMPTY_REF = "";
+    private static final FormatTemplate.Arguments<Eid> REF_FORMAT_ARGUMENTS = new RefFormatArguments();
 
-    private static String messageFormat = DEFAULT_MESSAGE_FORMAT;
+    private static final AtomicReference<EidConfiguration> CONFIGURATION =
+        new AtomicReference<EidConfiguration>(EidConfiguration.defaults());
 
-    private static UniqIdGenerator uniqIdGenerator = DEFAULT_UNIQ_ID_GENERATOR;
+    private static final AtomicInteger OVERRIDDEN_SCOPES = new AtomicInteger();
 
-    private static String format = DEFAULT_FORMAT;
+    private static final ThreadLocal<EidConfiguration> OVERRIDDEN = new ThreadLocal<EidConfiguration>();
 
-    private static String refFormat = DEFAULT_REF_FORMAT;
+    private static final int SCRATCH_CAPACITY = 256;
 
-    private final String id;
+    private static final int MAX_SCRATCH_CAPACITY = 8192;
 
-    private final String ref;
+    private static final ThreadLocal<StringBuilder> SCRATCH = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(SCRATCH_CAPACITY);
+        }
+    };
+
+    private transient EidDefinition definition;
+
+    private transient long timestamp;
 
-    private String uniqueId;
+    @Nullable
+    private transient String uniqueId;
+
+    private transient long uniqueIdValue;
+
+    @Nullable
+    private transient volatile PrimitiveUniqIdGenerator uniqueIdEncoder;
 
     /**
      * Constructor
@@ -72,8 +113,7 @@ public class Eid implements Serializable {
      * @param ref an optional reference
      */
     public Eid(String id, @Nullable String ref) {
-        this.id = id;
-        this.ref = ref == null ? EMPTY_REF : ref;
+        this(definitionOf(id, ref));
     }
 
     /**
@@ -82,8 +122,40 @@ public class Eid implements Serializable {
      * @param id the exception id, must be unique developer inserted string, from date
      */
     public Eid(String id) {
-        this.id = id;
-        this.ref = EMPTY_REF;
+        this(EidDefinition.intern(id, null));
+    }
+
+    /**
+     * Constructor of a new occurrence of given definition
+     *
+     * @param definition a definition of exception ID
+     */
+    public Eid(EidDefinition definition) {
+        this.definition = definition;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets an interned definition of exception ID. Keep it in a <code>static final</code> field, and create occurrences
+     * with {@link EidDefinition#newEid()}.
+     *
+     * @param id the exception id, must be unique developer inserted string, from date
+     * @return a shared definition
+     */
+    public static EidDefinition of(String id) {
+        return EidDefinition.intern(id, null);
+    }
+
+    /**
+     * Gets an interned definition of exception ID with a reference. Refs are interned only here, as
+     * {@link #Eid(String, String)} constructor is often used with dynamic values.
+     *
+     * @param id  the exception id, must be unique developer inserted string, from date
+     * @param ref an optional reference
+     * @return a shared definition
+     */
+    public static EidDefinition of(String id, @Nullable String ref) {
+        return EidDefinition.intern(id, ref);
     }
 
     /**
@@ -97,10 +169,12 @@ public class Eid implements Serializable {
      * null
      */
     public static String setMessageFormat(String format) {
-        validateFormat(format, MESSAGE_FORMAT_NUM_SPEC);
-        String oldFormat = Eid.messageFormat;
-        Eid.messageFormat = format;
-        return oldFormat;
+        FormatTemplate template = FormatTemplate.compile(format, EidConfiguration.MESSAGE_FORMAT_NUM_SPEC);
+        EidConfiguration previous;
+        do {
+            previous = CONFIGURATION.get();
+        } while (!CONFIGURATION.compareAndSet(previous, previous.withMessageFormat(template)));
+        return previous.getMessageFormat();
     }
 
     /**
@@ -109,7 +183,7 @@ public class Eid implements Serializable {
      * @return actually set message format
      */
     public static String getMessageFormat() {
-        return messageFormat;
+        return getConfiguration().getMessageFormat();
     }
 
     /**
@@ -121,12 +195,13 @@ public class Eid implements Serializable {
      * @throws IllegalArgumentException if given generator was null
      */
     public static UniqIdGenerator setUniqIdGenerator(UniqIdGenerator uniqIdGenerator) {
-        if (uniqIdGenerator == null) {
-            throw new IllegalArgumentException("Unique ID generator can't be null, but given one");
-        }
-        UniqIdGenerator previous = Eid.uniqIdGenerator;
-        Eid.uniqIdGenerator = uniqIdGenerator;
-        return previous;
+        EidConfiguration previous;
+        EidConfiguration next;
+        do {
+            previous = CONFIGURATION.get();
+            next = previous.withUniqIdGenerator(uniqIdGenerator);
+        } while (!CONFIGURATION.compareAndSet(previous, next));
+        return previous.getUniqIdGenerator();
     }
 
     /**
@@ -138,10 +213,12 @@ public class Eid implements Serializable {
      * null
      */
     public static String setFormat(String format) {
-        validateFormat(format, FORMAT_NUM_SPEC);
-        String previously = Eid.format;
-        Eid.format = format;
-        return previously;
+        FormatTemplate template = FormatTemplate.compile(format, EidConfiguration.FORMAT_NUM_SPEC);
+        EidConfiguration previous;
+        do {
+            previous = CONFIGURATION.get();
+        } while (!CONFIGURATION.compareAndSet(previous, previous.withFormat(template)));
+        return previous.getFormat();
     }
 
     /**
@@ -153,10 +230,78 @@ public class Eid implements Serializable {
      * null
      */
     public static String setRefFormat(String refFormat) {
-        validateFormat(refFormat, REF_FORMAT_NUM_SPEC);
-        String previously = Eid.refFormat;
-        Eid.refFormat = refFormat;
-        return previously;
+        FormatTemplate template = FormatTemplate.compile(refFormat, EidConfiguration.REF_FORMAT_NUM_SPEC);
+        EidConfiguration previous;
+        do {
+            previous = CONFIGURATION.get();
+        } while (!CONFIGURATION.compareAndSet(previous, previous.withRefFormat(template)));
+        return previous.getRefFormat();
+    }
+
+    /**
+     * Gets a configuration, that is currently in effect for this thread. It is either global configuration, or one
+     * set by {@link #overrideConfiguration(EidConfiguration)} for this thread.
+     *
+     * @return a current configuration
+     */
+    public static EidConfiguration getConfiguration() {
+        if (OVERRIDDEN_SCOPES.get() != 0) {
+            EidConfiguration overridden = OVERRIDDEN.get();
+            if (overridden != null) {
+                return overridden;
+            }
+        }
+        return CONFIGURATION.get();
+    }
+
+    /**
+     * Sets a global configuration, that will be used for all Eid objects and Eid exceptions. All values are published
+     * at once, so no rendering will see them partially applied.
+     *
+     * @param configuration a new configuration
+     * @return a previously used global configuration
+     * @throws IllegalArgumentException if given configuration was null
+     */
+    public static EidConfiguration setConfiguration(EidConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("Configuration can't be null, but given one");
+        }
+        return CONFIGURATION.getAndSet(configuration);
+    }
+
+    static EidConfiguration getGlobalConfiguration() {
+        return CONFIGURATION.get();
+    }
+
+    static boolean compareAndSetConfiguration(EidConfiguration expected, EidConfiguration configuration) {
+        return CONFIGURATION.compareAndSet(expected, configuration);
+    }
+
+    /**
+     * Overrides configuration for current thread only, until returned scope is closed. Scopes can be nested.
+     * <p>
+     * Example:
+     * <pre>
+     * Eid.ConfigurationScope scope = Eid.overrideConfiguration(tenantConfiguration);
+     * try {
+     *     processRequest(request);
+     * } finally {
+     *     scope.close();
+     * }
+     * </pre>
+     *
+     * @param configuration a configuration to use in current thread
+     * @return a scope, that must be closed to restore previous configuration
+     * @throws IllegalArgumentException if given configuration was null
+     */
+    public static ConfigurationScope overrideConfiguration(EidConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("Configuration can't be null, but given one");
+        }
+        ConfigurationScope scope = new ConfigurationScope(OVERRIDDEN.get());
+        OVERRIDDEN.set(configuration);
+        OVERRIDDEN_SCOPES.incrementAndGet();
+        return scope;
     }
 
     /**
@@ -172,15 +317,123 @@ public class Eid implements Serializable {
      */
     public String makeLogMessage(String logMessageFormat, Object... parameters) {
         String message = String.format(logMessageFormat, parameters);
-        return String.format(getMessageFormat(), this.toString(), message);
+        EidConfiguration configuration = getConfiguration();
+        return configuration.getMessageTemplate().render(toString(configuration), message);
     }
 
     @Override
     public String toString() {
-        if ("".equals(ref)) {
-            return String.format(format, id, getUniq());
+        return toString(getConfiguration());
+    }
+
+    /**
+     * Renders this Eid with given configuration
+     *
+     * @param configuration a configuration snapshot to use
+     * @return a rendered Eid
+     */
+    String toString(EidConfiguration configuration) {
+        StringBuilder sb = new StringBuilder(estimateLength(configuration));
+        appendTo(sb, configuration);
+        return sb.toString();
+    }
+
+    /**
+     * Estimates a length of this Eid rendered with given configuration, to be used to presize buffers
+     *
+     * @param configuration a configuration snapshot to use
+     * @return an estimated length
+     */
+    int estimateLength(EidConfiguration configuration) {
+        String id = definition.getId();
+        return configuration.getRefFormatTemplate().getLiteralsLength() + (id == null ? 0 : id.length())
+            + definition.getRef().length() + UNIQ_LENGTH_ESTIMATE;
+    }
+
+    /**
+     * Renders this Eid, with configured format or ref format, directly into given builder. Once unique ID is
+     * generated, nothing is allocated.
+     *
+     * @param target a builder to append to
+     * @return given builder
+     */
+    public StringBuilder appendTo(StringBuilder target) {
+        appendTo(target, getConfiguration());
+        return target;
+    }
+
+    /**
+     * Renders this Eid, with configured format or ref format, into given appendable. It is rendered into a reusable,
+     * thread confined buffer, and passed to target as a single char sequence.
+     *
+     * @param target an appendable to append to
+     * @return given appendable
+     * @throws IOException if given appendable throws it
+     */
+    public Appendable appendTo(Appendable target) throws IOException {
+        if (target instanceof StringBuilder) {
+            appendTo((StringBuilder) target, getConfiguration());
+            return target;
+        }
+        StringBuilder scratch = acquireScratch();
+        try {
+            appendTo(scratch, getConfiguration());
+            target.append(scratch);
+        } finally {
+            releaseScratch(scratch);
+        }
+        return target;
+    }
+
+    /**
+     * Renders this Eid with given configuration, directly into given builder
+     *
+     * @param target        a builder to append to
+     * @param configuration a configuration snapshot to use
+     */
+    void appendTo(StringBuilder target, EidConfiguration configuration) {
+        if (uniqueId == null) {
+            ensureUniqueIdValue(configuration);
+        }
+        boolean withoutRef = definition.getRef().isEmpty();
+        FormatTemplate template = withoutRef ? configuration.getFormatTemplate() : configuration.getRefFormatTemplate();
+        String head = definition.getHead(template);
+        if (head != null) {
+            target.append(head);
+            appendUniq(target);
+            target.append(template.getTail());
+            return;
+        }
+        template.appendTo(target, withoutRef ? FORMAT_ARGUMENTS : REF_FORMAT_ARGUMENTS, this);
+    }
+
+    /**
+     * Gets a reusable buffer, confined to current thread. It must be released with
+     * {@link #releaseScratch(StringBuilder)}. If it's already in use, for ex. by nested rendering, a new one is returned.
+     *
+     * @return an empty buffer
+     */
+    static StringBuilder acquireScratch() {
+        StringBuilder scratch = SCRATCH.get();
+        if (scratch == null) {
+            return new StringBuilder(SCRATCH_CAPACITY);
+        }
+        SCRATCH.set(null);
+        return scratch;
+    }
+
+    /**
+     * Returns a buffer acquired with {@link #acquireScratch()}, so it can be reused by current thread. Buffers that have
+     * grown too large are dropped.
+     *
+     * @param scratch a buffer to return
+     */
+    static void releaseScratch(StringBuilder scratch) {
+        if (scratch.capacity() > MAX_SCRATCH_CAPACITY) {
+            return;
         }
-        return String.format(refFormat, id, ref, getUniq());
+        scratch.setLength(0);
+        SCRATCH.set(scratch);
     }
 
     /**
@@ -189,7 +442,7 @@ public class Eid implements Serializable {
      * @return ID of exception
      */
     public String getId() {
-        return id;
+        return definition.getId();
     }
 
     /**
@@ -198,7 +451,25 @@ public class Eid implements Serializable {
      * @return ID of exception
      */
     public String getRef() {
-        return ref;
+        return definition.getRef();
+    }
+
+    /**
+     * Gets a definition of exception ID, that this object is an occurrence of
+     *
+     * @return a definition
+     */
+    public EidDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * Gets a time of creation of this occurrence
+     *
+     * @return a time in milliseconds since standard Java epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
     }
 
     /**
@@ -207,26 +478,151 @@ public class Eid implements Serializable {
      * @return a unique string
      */
     public String getUniq() {
+        if (uniqueId != null) {
+            return uniqueId;
+        }
+        PrimitiveUniqIdGenerator encoder = ensureUniqueIdValue(getConfiguration());
+        if (encoder == null) {
+            return uniqueId;
+        }
+        StringBuilder sb = new StringBuilder(UNIQ_LENGTH_ESTIMATE);
+        encoder.appendUniqId(uniqueIdValue, sb);
+        return sb.toString();
+    }
+
+    private void appendUniq(StringBuilder target) {
         if (uniqueId == null) {
-            uniqueId = uniqIdGenerator.generateUniqId();
+            PrimitiveUniqIdGenerator encoder = ensureUniqueIdValue(getConfiguration());
+            if (encoder != null) {
+                encoder.appendUniqId(uniqueIdValue, target);
+                return;
+            }
+        }
+        target.append(uniqueId);
+    }
+
+    /**
+     * Generates unique ID, if it hasn't been done yet
+     *
+     * @param configuration a configuration snapshot, to take generator from
+     * @return an encoder of primitive unique ID, or null if unique ID is held as string
+     */
+    @Nullable
+    private PrimitiveUniqIdGenerator ensureUniqueIdValue(EidConfiguration configuration) {
+        PrimitiveUniqIdGenerator encoder = uniqueIdEncoder;
+        if (encoder != null) {
+            return encoder;
         }
-        return uniqueId;
+        return generateUniqueId(configuration);
     }
 
-    private static void validateFormat(String format, int numSpecifiers) {
-        if (format == null) {
-            throw new IllegalArgumentException("Format can't be null, but just received one");
+    /**
+     * Generates unique ID exactly once, even if this Eid is rendered by few threads at once, for ex.: by a thread that
+     * caught an exception, and by an asynchronous event dispatcher
+     */
+    @Nullable
+    private synchronized PrimitiveUniqIdGenerator generateUniqueId(EidConfiguration configuration) {
+        PrimitiveUniqIdGenerator encoder = uniqueIdEncoder;
+        if (encoder != null || uniqueId != null) {
+            return encoder;
         }
-        List<String> specifiers = new ArrayList<String>();
-        for (int i = 0; i < numSpecifiers; i++) {
-            specifiers.add(i + "-test-id");
+        UniqIdGenerator generator = configuration.getUniqIdGenerator();
+        if (generator instanceof PrimitiveUniqIdGenerator) {
+            encoder = (PrimitiveUniqIdGenerator) generator;
+            uniqueIdValue = encoder.generateUniqIdAsLong();
+            uniqueIdEncoder = encoder;
+            return encoder;
         }
-        String formatted = String.format(format, specifiers.toArray());
-        for (String specifier : specifiers) {
-            if (!formatted.contains(specifier)) {
-                throw new IllegalArgumentException("Given format contains to little format specifiers, "
-                    + "expected " + numSpecifiers + " but given \"" + format + "\"");
-            }
+        uniqueId = generator.generateUniqId();
+        return null;
+    }
+
+    /**
+     * Gets unique ID of this Eid as a primitive value, generating it if needed
+     *
+     * @return an encoder of primitive unique ID, that can render it, or null if unique ID is held as string
+     */
+    @Nullable
+    PrimitiveUniqIdGenerator getUniqEncoder() {
+        if (uniqueId != null) {
+            return null;
+        }
+        return ensureUniqueIdValue(getConfiguration());
+    }
+
+    /**
+     * Gets a primitive unique ID, valid only if {@link #getUniqEncoder()} returned an encoder
+     *
+     * @return a primitive unique ID
+     */
+    long getUniqValue() {
+        return uniqueIdValue;
+    }
+
+    /**
+     * Restores an Eid from its serial form
+     *
+     * @param definition   a definition of exception ID
+     * @param timestamp    a time of creation
+     * @param uniq         a unique ID as string, or null if held as primitive
+     * @param uniqValue    a primitive unique ID
+     * @param uniqEncoder  an encoder of primitive unique ID, or null if held as string
+     * @return a restored Eid
+     */
+    static Eid restore(EidDefinition definition, long timestamp, @Nullable String uniq, long uniqValue,
+                       @Nullable PrimitiveUniqIdGenerator uniqEncoder) {
+        Eid eid = new Eid(definition);
+        eid.timestamp = timestamp;
+        eid.uniqueId = uniq;
+        eid.uniqueIdValue = uniqValue;
+        eid.uniqueIdEncoder = uniqEncoder;
+        return eid;
+    }
+
+    /**
+     * Replaces this Eid with its compact, binary serial form. Subclasses, if any, are serialized with default form.
+     *
+     * @return a serial form of this Eid
+     */
+    private Object writeReplace() {
+        return new CompactEid(this);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("id", definition.getId());
+        fields.put("ref", definition.getRef());
+        fields.put("uniqueId", getUniq());
+        fields.put("timestamp", timestamp);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        String id = (String) fields.get("id", null);
+        String ref = (String) fields.get("ref", null);
+        definition = definitionOf(id, ref);
+        uniqueId = (String) fields.get("uniqueId", null);
+        timestamp = fields.get("timestamp", 0L);
+    }
+
+    static EidDefinition definitionOf(@Nullable String id, @Nullable String ref) {
+        if (ref == null || ref.isEmpty()) {
+            return EidDefinition.intern(id, null);
+        }
+        return new EidDefinition(id, ref);
+    }
+
+    private static void appendBase36(long value, StringBuilder target) {
+        long divisor = 1;
+        while (value / divisor >= BASE36) {
+            divisor *= BASE36;
+        }
+        long rest = value;
+        while (divisor > 0) {
+            target.append(Character.forDigit((int) (rest / divisor), BASE36));
+            rest %= divisor;
+            divisor /= BASE36;
         }
     }
 
@@ -244,28 +640,173 @@ public class Eid implements Serializable {
         String generateUniqId();
     }
 
-    private static final class StdUniqIdGenerator implements UniqIdGenerator {
+    /**
+     * A scope of configuration overridden for a single thread, returned by
+     * {@link Eid#overrideConfiguration(EidConfiguration)}. It must be closed in the same thread.
+     */
+    public static final class ConfigurationScope implements Closeable {
+
+        @Nullable
+        private final EidConfiguration previous;
+
+        private boolean closed;
+
+        private ConfigurationScope(@Nullable EidConfiguration previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Restores configuration that was in effect before this scope was opened
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (previous == null) {
+                OVERRIDDEN.remove();
+            } else {
+                OVERRIDDEN.set(previous);
+            }
+            OVERRIDDEN_SCOPES.decrementAndGet();
+        }
+    }
+
+    /**
+     * A unique ID generator that generates IDs as primitive long values. Eid objects hold such IDs without creating a
+     * string, and render them only when needed, directly into output.
+     */
+    public interface PrimitiveUniqIdGenerator extends UniqIdGenerator {
+
+        /**
+         * Generates a unique ID as a primitive long value
+         *
+         * @return a generated unique ID
+         */
+        long generateUniqIdAsLong();
 
-        private static final int BASE36 = 36;
+        /**
+         * Renders given unique ID, as generated by {@link #generateUniqIdAsLong()}, into given builder. Rendered value
+         * must be the same as the one returned by {@link #generateUniqId()}.
+         *
+         * @param uniqId a unique ID generated by this generator
+         * @param target a builder to append to
+         */
+        void appendUniqId(long uniqId, StringBuilder target);
+    }
+
+    private static final class FormatArguments implements FormatTemplate.Arguments<Eid> {
+
+        @Override
+        public void appendArgument(Eid eid, int index, StringBuilder target) {
+            if (index == 0) {
+                target.append(eid.getId());
+            } else {
+                eid.appendUniq(target);
+            }
+        }
+    }
 
-        private final Random random;
+    private static final class RefFormatArguments implements FormatTemplate.Arguments<Eid> {
 
-        private StdUniqIdGenerator() {
-            this.random = getUnsecuredFastRandom();
+        @Override
+        public void appendArgument(Eid eid, int index, StringBuilder target) {
+            if (index == 0) {
+                target.append(eid.getId());
+            } else if (index == 1) {
+                target.append(eid.getRef());
+            } else {
+                eid.appendUniq(target);
+            }
         }
+    }
+
+    private static final class StdUniqIdGenerator implements PrimitiveUniqIdGenerator {
 
         @Override
         public String generateUniqId() {
+            return Long.toString(generateUniqIdAsLong(), BASE36);
+        }
+
+        @Override
+        public long generateUniqIdAsLong() {
+            Random random = RandomHolder.RANDOM;
             long first = abs(random.nextLong() + 1);
             int second = abs(random.nextInt(Integer.MAX_VALUE));
             int calc = (int) (first + second);
-            return Integer.toString(abs(calc), BASE36);
+            return calc & Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void appendUniqId(long uniqId, StringBuilder target) {
+            appendBase36(uniqId, target);
+        }
+
+        /**
+         * Holds a random, so it's created and seeded on first use of generator, not at initialization of Eid class
+         */
+        private static final class RandomHolder {
+            private static final Random RANDOM = new Random(System.currentTimeMillis());
+        }
+
+    }
+
+    private static final class ThreadLocalUniqIdGenerator implements PrimitiveUniqIdGenerator {
+
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+        private static final long SEEDER_INCREMENT = 0xbb67ae8584caa73bL;
+
+        private final AtomicLong seeder = new AtomicLong(
+            SplitMix.mix64(System.currentTimeMillis()) ^ SplitMix.mix64(System.nanoTime())
+        );
+
+        private final ThreadLocal<SplitMix> state = new ThreadLocal<SplitMix>() {
+            @Override
+            protected SplitMix initialValue() {
+                return new SplitMix(SplitMix.mix64(seeder.getAndAdd(SEEDER_INCREMENT)));
+            }
+        };
+
+        @Override
+        public String generateUniqId() {
+            return Long.toString(generateUniqIdAsLong(), BASE36);
         }
 
-        private static Random getUnsecuredFastRandom() {
-            return new Random(System.currentTimeMillis());
+        @Override
+        public long generateUniqIdAsLong() {
+            int calc = (int) state.get().nextLong();
+            return calc & Integer.MAX_VALUE;
         }
 
+        @Override
+        public void appendUniqId(long uniqId, StringBuilder target) {
+            appendBase36(uniqId, target);
+        }
+
+        /**
+         * SplitMix64 generator state, confined to a single thread
+         */
+        private static final class SplitMix {
+            private long seed;
+
+            private SplitMix(long seed) {
+                this.seed = seed;
+            }
+
+            private long nextLong() {
+                seed += GOLDEN_GAMMA;
+                return mix64(seed);
+            }
+
+            private static long mix64(long value) {
+                long z = value;
+                z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+                z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+                return z ^ (z >>> 31);
+            }
+        }
     }
 
 }
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+/**
+ * An immutable snapshot of configuration used by Eid objects and Eid exceptions: formats, unique ID generator and stack
+ * trace policy.
+ * <p>
+ * Current configuration is published as a whole, with {@link Eid#setConfiguration(EidConfiguration)}, so every
+ * rendering sees a consistent set of values. To change a single value create a modified copy with one of
+ * <code>with*</code> methods:
+ * <pre>
+ * Eid.setConfiguration(Eid.getConfiguration()
+ *     .withFormat("%s/%s")
+ *     .withRefFormat("%s/%s/%s"));
+ * </pre>
+ * Configuration can also be overridden just for current thread with {@link Eid#overrideConfiguration(EidConfiguration)}.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class EidConfiguration {
+
+    static final int FORMAT_NUM_SPEC = 2;
+
+    static final int REF_FORMAT_NUM_SPEC = 3;
+
+    static final int MESSAGE_FORMAT_NUM_SPEC = 2;
+
+    private final FormatTemplate format;
+
+    private final FormatTemplate refFormat;
+
+    private final FormatTemplate messageFormat;
+
+    private final Eid.UniqIdGenerator uniqIdGenerator;
+
+    private final EidRuntimeException.StackTracePolicy stackTracePolicy;
+
+    private final EidRuntimeException.OccurrenceListener occurrenceListener;
+
+    private final EidRuntimeException.FastThrowPolicy fastThrowPolicy;
+
+    private EidConfiguration(FormatTemplate format, FormatTemplate refFormat, FormatTemplate messageFormat,
+                             Eid.UniqIdGenerator uniqIdGenerator,
+                             EidRuntimeException.StackTracePolicy stackTracePolicy,
+                             EidRuntimeException.OccurrenceListener occurrenceListener,
+                             EidRuntimeException.FastThrowPolicy fastThrowPolicy) {
+        this.format = format;
+        this.refFormat = refFormat;
+        this.messageFormat = messageFormat;
+        this.uniqIdGenerator = uniqIdGenerator;
+        this.stackTracePolicy = stackTracePolicy;
+        this.occurrenceListener = occurrenceListener;
+        this.fastThrowPolicy = fastThrowPolicy;
+    }
+
+    /**
+     * Creates a default configuration, with {@link Eid#DEFAULT_FORMAT}, {@link Eid#DEFAULT_REF_FORMAT},
+     * {@link Eid#DEFAULT_MESSAGE_FORMAT}, {@link Eid#DEFAULT_UNIQ_ID_GENERATOR},
+     * {@link EidRuntimeException#DEFAULT_STACK_TRACE_POLICY}, {@link EidRuntimeException#NO_OCCURRENCE_LISTENER} and
+     * {@link EidRuntimeException#NO_FAST_THROW_POLICY}
+     *
+     * @return a default configuration
+     */
+    public static EidConfiguration defaults() {
+        return new EidConfiguration(
+            FormatTemplate.compile(Eid.DEFAULT_FORMAT, FORMAT_NUM_SPEC),
+            FormatTemplate.compile(Eid.DEFAULT_REF_FORMAT, REF_FORMAT_NUM_SPEC),
+            FormatTemplate.compile(Eid.DEFAULT_MESSAGE_FORMAT, MESSAGE_FORMAT_NUM_SPEC),
+            Eid.DEFAULT_UNIQ_ID_GENERATOR,
+            EidRuntimeException.DEFAULT_STACK_TRACE_POLICY,
+            EidRuntimeException.NO_OCCURRENCE_LISTENER,
+            EidRuntimeException.NO_FAST_THROW_POLICY
+        );
+    }
+
+    /**
+     * Gets a format used in {@link Eid#toString()} for Eids without ref
+     *
+     * @return a format
+     */
+    public String getFormat() {
+        return format.getFormat();
+    }
+
+    /**
+     * Gets a format used in {@link Eid#toString()} for Eids with ref
+     *
+     * @return a format
+     */
+    public String getRefFormat() {
+        return refFormat.getFormat();
+    }
+
+    /**
+     * Gets a format used to join Eid with a message in exceptions and log messages
+     *
+     * @return a format
+     */
+    public String getMessageFormat() {
+        return messageFormat.getFormat();
+    }
+
+    /**
+     * Gets a unique ID generator
+     *
+     * @return a unique ID generator
+     */
+    public Eid.UniqIdGenerator getUniqIdGenerator() {
+        return uniqIdGenerator;
+    }
+
+    /**
+     * Gets a stack trace policy of Eid exceptions
+     *
+     * @return a stack trace policy
+     */
+    public EidRuntimeException.StackTracePolicy getStackTracePolicy() {
+        return stackTracePolicy;
+    }
+
+    /**
+     * Gets a listener notified about every created Eid exception
+     *
+     * @return an occurrence listener
+     */
+    public EidRuntimeException.OccurrenceListener getOccurrenceListener() {
+        return occurrenceListener;
+    }
+
+    /**
+     * Gets a policy that decides if a shared instance can be thrown instead of a new Eid exception
+     *
+     * @return a fast throw policy
+     */
+    public EidRuntimeException.FastThrowPolicy getFastThrowPolicy() {
+        return fastThrowPolicy;
+    }
+
+    /**
+     * Creates a copy of this configuration with given format
+     *
+     * @param format a format compliant with {@link String#format(String, Object...)} with 2 object arguments
+     * @return a new configuration
+     * @throws IllegalArgumentException if given format hasn't got two format specifiers <tt>"%s"</tt>, or if given
+     *                                  format was null
+     */
+    public EidConfiguration withFormat(String format) {
+        return withFormat(FormatTemplate.compile(format, FORMAT_NUM_SPEC));
+    }
+
+    /**
+     * Creates a copy of this configuration with given ref format
+     *
+     * @param refFormat a format compliant with {@link String#format(String, Object...)} with 3 object arguments
+     * @return a new configuration
+     * @throws IllegalArgumentException if given format hasn't got tree format specifiers <tt>"%s"</tt>, or if given
+     *                                  format was null
+     */
+    public EidConfiguration withRefFormat(String refFormat) {
+        return withRefFormat(FormatTemplate.compile(refFormat, REF_FORMAT_NUM_SPEC));
+    }
+
+    /**
+     * Creates a copy of this configuration with given message format
+     *
+     * @param messageFormat a format compliant with {@link String#format(String, Object...)} with 2 object arguments
+     * @return a new configuration
+     * @throws IllegalArgumentException if given format hasn't got two format specifiers <tt>"%s"</tt>, or if given
+     *                                  format was null
+     */
+    public EidConfiguration withMessageFormat(String messageFormat) {
+        return withMessageFormat(FormatTemplate.compile(messageFormat, MESSAGE_FORMAT_NUM_SPEC));
+    }
+
+    /**
+     * Creates a copy of this configuration with given unique ID generator
+     *
+     * @param uniqIdGenerator a unique ID generator
+     * @return a new configuration
+     * @throws IllegalArgumentException if given generator was null
+     */
+    public EidConfiguration withUniqIdGenerator(Eid.UniqIdGenerator uniqIdGenerator) {
+        if (uniqIdGenerator == null) {
+            throw new IllegalArgumentException("Unique ID generator can't be null, but given one");
+        }
+        return new EidConfiguration(format, refFormat, messageFormat, uniqIdGenerator, stackTracePolicy,
+            occurrenceListener, fastThrowPolicy);
+    }
+
+    /**
+     * Creates a copy of this configuration with given stack trace policy
+     *
+     * @param stackTracePolicy a stack trace policy
+     * @return a new configuration
+     * @throws IllegalArgumentException if given policy was null
+     */
+    public EidConfiguration withStackTracePolicy(EidRuntimeException.StackTracePolicy stackTracePolicy) {
+        if (stackTracePolicy == null) {
+            throw new IllegalArgumentException("Stack trace policy can't be null, but given one");
+        }
+        return new EidConfiguration(format, refFormat, messageFormat, uniqIdGenerator, stackTracePolicy,
+            occurrenceListener, fastThrowPolicy);
+    }
+
+    /**
+     * Creates a copy of this configuration with given occurrence listener
+     *
+     * @param occurrenceListener an occurrence listener
+     * @return a new configuration
+     * @throws IllegalArgumentException if given listener was null
+     */
+    public EidConfiguration withOccurrenceListener(EidRuntimeException.OccurrenceListener occurrenceListener) {
+        if (occurrenceListener == null) {
+            throw new IllegalArgumentException("Occurrence listener can't be null, but given one");
+        }
+        return new EidConfiguration(format, refFormat, messageFormat, uniqIdGenerator, stackTracePolicy,
+            occurrenceListener, fastThrowPolicy);
+    }
+
+    /**
+     * Creates a copy of this configuration with given fast throw policy
+     *
+     * @param fastThrowPolicy a fast throw policy
+     * @return a new configuration
+     * @throws IllegalArgumentException if given policy was null
+     */
+    public EidConfiguration withFastThrowPolicy(EidRuntimeException.FastThrowPolicy fastThrowPolicy) {
+        if (fastThrowPolicy == null) {
+            throw new IllegalArgumentException("Fast throw policy can't be null, but given one");
+        }
+        return new EidConfiguration(format, refFormat, messageFormat, uniqIdGenerator, stackTracePolicy,
+            occurrenceListener, fastThrowPolicy);
+    }
+
+    @Override
+    public String toString() {
+        return "EidConfiguration{format=\"" + getFormat() + "\", refFormat=\"" + getRefFormat()
+            + "\", messageFormat=\"" + getMessageFormat() + "\", uniqIdGenerator=" + uniqIdGenerator
+            + ", stackTracePolicy=" + stackTracePolicy + ", occurrenceListener=" + occurrenceListener
+            + ", fastThrowPolicy=" + fastThrowPolicy + '}';
+    }
+
+    EidConfiguration withFormat(FormatTemplate format) {
+        return new EidConfiguration(format, refFormat, messageFormat, uniqIdGenerator, stackTracePolicy,
+            occurrenceListener, fastThrowPolicy);
+    }
+
+    EidConfiguration withRefFormat(FormatTemplate refFormat) {
+        return new EidConfiguration(format, refFormat, messageFormat, uniqIdGenerator, stackTracePolicy,
+            occurrenceListener, fastThrowPolicy);
+    }
+
+    EidConfiguration withMessageFormat(FormatTemplate messageFormat) {
+        return new EidConfiguration(format, refFormat, messageFormat, uniqIdGenerator, stackTracePolicy,
+            occurrenceListener, fastThrowPolicy);
+    }
+
+    FormatTemplate getFormatTemplate() {
+        return format;
+    }
+
+    FormatTemplate getRefFormatTemplate() {
+        return refFormat;
+    }
+
+    FormatTemplate getMessageTemplate() {
+        return messageFormat;
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable definition of exception ID: a constant ID, written by developer, and an optional reference. Each
+ * occurrence of it is represented by an {@link Eid} object, that carries only a unique ID and a timestamp.
+ * <p>
+ * Definitions obtained with {@link Eid#of(String)} and {@link Eid#of(String, String)} are interned, so they can be
+ * kept in <code>static final</code> fields, and each failure pays only for an occurrence:
+ * <pre>
+ * private static final EidDefinition INVALID_USER = Eid.of("20181018:221703");
+ * ...
+ * throw new EidIllegalArgumentException(INVALID_USER.newEid());
+ * </pre>
+ * A part of rendered Eid, that precedes a unique ID, is rendered once per definition and format.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class EidDefinition implements Serializable {
+
+    /**
+     * Maximal number of definitions held in intern cache. Definitions requested above that limit are still valid, but
+     * they are not shared.
+     */
+    public static final int MAX_INTERNED = 4096;
+
+    private static final long serialVersionUID = 20181018221703L;
+
+    private static final String EMPTY_REF = "";
+
+    private static final int FORMAT_UNIQ_ARGUMENT = 1;
+
+    private static final int REF_FORMAT_UNIQ_ARGUMENT = 2;
+
+    private static final FormatTemplate.Arguments<EidDefinition> HEAD_ARGUMENTS = new HeadArguments();
+
+    private static final ConcurrentMap<String, EidDefinition> INTERNED =
+        new ConcurrentHashMap<String, EidDefinition>();
+
+    private static final ConcurrentMap<String, ConcurrentMap<String, EidDefinition>> INTERNED_WITH_REF =
+        new ConcurrentHashMap<String, ConcurrentMap<String, EidDefinition>>();
+
+    private static final AtomicInteger INTERNED_COUNT = new AtomicInteger();
+
+    private final String id;
+
+    private final String ref;
+
+    @Nullable
+    private transient volatile Head head;
+
+    EidDefinition(String id, @Nullable String ref) {
+        this.id = id;
+        this.ref = ref == null ? EMPTY_REF : ref;
+    }
+
+    /**
+     * Gets an interned definition
+     *
+     * @param id  the exception id, must be unique developer inserted string, from date
+     * @param ref an optional reference
+     * @return a definition, shared if possible
+     */
+    static EidDefinition intern(@Nullable String id, @Nullable String ref) {
+        if (id == null) {
+            return new EidDefinition(id, ref);
+        }
+        if (ref == null || ref.isEmpty()) {
+            return intern(INTERNED, id, id, EMPTY_REF);
+        }
+        ConcurrentMap<String, EidDefinition> byRef = INTERNED_WITH_REF.get(id);
+        if (byRef == null) {
+            if (INTERNED_COUNT.get() >= MAX_INTERNED) {
+                return new EidDefinition(id, ref);
+            }
+            ConcurrentMap<String, EidDefinition> created = new ConcurrentHashMap<String, EidDefinition>();
+            byRef = INTERNED_WITH_REF.putIfAbsent(id, created);
+            if (byRef == null) {
+                byRef = created;
+            }
+        }
+        return intern(byRef, ref, id, ref);
+    }
+
+    private static EidDefinition intern(ConcurrentMap<String, EidDefinition> cache, String key,
+                                        String id, String ref) {
+        EidDefinition definition = cache.get(key);
+        if (definition != null) {
+            return definition;
+        }
+        definition = new EidDefinition(id, ref);
+        if (INTERNED_COUNT.get() >= MAX_INTERNED) {
+            return definition;
+        }
+        EidDefinition existing = cache.putIfAbsent(key, definition);
+        if (existing != null) {
+            return existing;
+        }
+        INTERNED_COUNT.incrementAndGet();
+        return definition;
+    }
+
+    /**
+     * Creates a new occurrence of this definition, with its own unique ID
+     *
+     * @return a new Eid object
+     */
+    public Eid newEid() {
+        return new Eid(this);
+    }
+
+    /**
+     * Getter for constant Exception ID
+     *
+     * @return ID of exception
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get custom ref passed to Exception ID
+     *
+     * @return a ref, or empty string if not given
+     */
+    public String getRef() {
+        return ref;
+    }
+
+    /**
+     * Gets a part of rendered Eid, that precedes a unique ID. It's rendered once and kept until format changes.
+     *
+     * @param template a format template, to render with
+     * @return a rendered head, or null if given template doesn't end with a unique ID
+     */
+    @Nullable
+    String getHead(FormatTemplate template) {
+        Head current = head;
+        if (current != null && current.template == template) {
+            return current.text;
+        }
+        int uniqArgument = ref.isEmpty() ? FORMAT_UNIQ_ARGUMENT : REF_FORMAT_UNIQ_ARGUMENT;
+        if (!template.isOnlyInLastSlot(uniqArgument)) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(template.getLiteralsLength()
+            + (id == null ? 0 : id.length()) + ref.length());
+        template.appendHeadTo(sb, HEAD_ARGUMENTS, this);
+        String text = sb.toString();
+        head = new Head(template, text);
+        return text;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof EidDefinition)) {
+            return false;
+        }
+        EidDefinition that = (EidDefinition) other;
+        return (id == null ? that.id == null : id.equals(that.id)) && ref.equals(that.ref);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (id == null ? 0 : id.hashCode()) + ref.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return ref.isEmpty() ? String.valueOf(id) : id + "|" + ref;
+    }
+
+    private Object readResolve() {
+        return intern(id, ref);
+    }
+
+    private static final class Head {
+        private final FormatTemplate template;
+        private final String text;
+
+        private Head(FormatTemplate template, String text) {
+            this.template = template;
+            this.text = text;
+        }
+    }
+
+    private static final class HeadArguments implements FormatTemplate.Arguments<EidDefinition> {
+
+        @Override
+        public void appendArgument(EidDefinition definition, int index, StringBuilder target) {
+            if (index == 0) {
+                target.append(definition.id);
+            } else {
+                target.append(definition.ref);
+            }
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package pl.wavesoftware.eid.exceptions;
 
+import javax.annotation.Nullable;
+
 /**
  * <strong>This class shouldn't be used in any public API or library.</strong> It is designed to be used for in-house development
  * of end user applications which will report Bugs in standardized error pages or post them to issue tracker.
@@ -84,6 +86,27 @@ public class EidIllegalStateException extends EidRuntimeException {
         super(id, messageFormat, parameters);
     }
 
+    /**
+     * @see EidRuntimeException#EidRuntimeException(Eid, EidMessageSupplier)
+     * @param id see description on {@link EidRuntimeException#EidRuntimeException(Eid, EidMessageSupplier)}
+     * @param messageSupplier see description on {@link EidRuntimeException#EidRuntimeException(Eid, EidMessageSupplier)}
+     */
+    public EidIllegalStateException(Eid id, EidMessageSupplier messageSupplier) {
+        super(id, messageSupplier);
+    }
+
+    /**
+     * Restores an exception from its serial form
+     *
+     * @param id         exception ID
+     * @param message    rendered detail message
+     * @param cause      the cause, or null
+     * @param stackTrace the stack trace
+     */
+    EidIllegalStateException(Eid id, String message, @Nullable Throwable cause, StackTraceElement[] stackTrace) {
+        super(id, message, cause, stackTrace);
+    }
+
     /**
      * @return {@link IllegalStateException} class
      */
@@ -92,4 +115,8 @@ public class EidIllegalStateException extends EidRuntimeException {
         return IllegalStateException.class;
     }
 
+    private Object writeReplace() {
+        return new CompactEidException(this);
+    }
+
 }
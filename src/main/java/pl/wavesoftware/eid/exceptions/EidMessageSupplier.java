@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+/**
+ * A supplier of a detail message of Eid exception. It is called only when message is rendered, so arguments that are
+ * expensive to turn into string, like entities or request payloads, are never formatted for exceptions that aren't
+ * printed. To be used with {@link EidRuntimeException#EidRuntimeException(Eid, EidMessageSupplier)} and
+ * {@link pl.wavesoftware.eid.utils.EidPreconditions} methods.
+ * <p>
+ * Example:
+ * <pre>
+ * checkNotNull(user, "20181019:091212", new EidMessageSupplier() {
+ *     &#64;Override
+ *     public String get() {
+ *         return String.format("No user for request: %s", request);
+ *     }
+ * });
+ * </pre>
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public interface EidMessageSupplier {
+
+    /**
+     * Supplies a detail message
+     *
+     * @return a message
+     */
+    String get();
+}
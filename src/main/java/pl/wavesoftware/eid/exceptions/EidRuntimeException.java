@@ -16,7 +16,10 @@
 package pl.wavesoftware.eid.exceptions;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * <strong>This class shouldn't be used in any public API or library.</strong> It is designed to be used for in-house development
@@ -33,15 +36,84 @@ import java.util.Locale;
  * places that earlier uses {@link RuntimeException}.
  * <p>
  * For convenience use {@link pl.wavesoftware.eid.utils.EidPreconditions}
+ * <p>
+ * Detail message is rendered lazily, on first call to {@link #getMessage()}, {@link #getLocalizedMessage()} or
+ * {@link #toString()}, and then cached. Exceptions that are caught and never printed do not pay for message formatting
+ * nor for unique ID generation of theirs Eid.
+ * <p>
+ * Stack trace capturing is controlled by a {@link StackTracePolicy}, set with
+ * {@link #setStackTracePolicy(StackTracePolicy)}. Policy can turn exceptions stackless globally or just for Eids with
+ * given prefixes, which makes them very cheap to throw in hot validation code.
+ * <p>
+ * Every created Eid exception is reported to an {@link OccurrenceListener}, set with
+ * {@link #setOccurrenceListener(OccurrenceListener)}. By default nothing is reported.
+ * <p>
+ * Code that throws the same Eid very often can ask for a {@link #reusable(Eid, Class)} exception first. If current
+ * {@link FastThrowPolicy} allows it, a shared, stackless exception is thrown, instead of building a new one.
  *
  * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
  */
 public class EidRuntimeException extends RuntimeException implements EidContainer {
 
+    /**
+     * Policy that captures stack trace for every Eid exception, just like any other Java exception
+     */
+    public static final StackTracePolicy DEFAULT_STACK_TRACE_POLICY = new WritableStackTracePolicy();
+
+    /**
+     * Policy that makes every Eid exception stackless
+     */
+    public static final StackTracePolicy STACKLESS_STACK_TRACE_POLICY = new StacklessPolicy(new String[]{""});
+
+    /**
+     * Listener that ignores all occurrences
+     */
+    public static final OccurrenceListener NO_OCCURRENCE_LISTENER = new NoOccurrenceListener();
+
+    /**
+     * Policy that never allows to reuse exceptions
+     */
+    public static final FastThrowPolicy NO_FAST_THROW_POLICY = new NoFastThrowPolicy();
+
+    /**
+     * A message of shared exceptions, used instead of messages given to particular occurrences
+     */
+    public static final String SHARED_MESSAGE = "Thrown too often, details are omitted";
+
     private static final long serialVersionUID = -9876432123423587L;
 
+    private static final Class<?>[] KNOWN_TYPES = {
+        EidRuntimeException.class,
+        EidIllegalArgumentException.class,
+        EidIllegalStateException.class,
+        EidNullPointerException.class,
+        EidIndexOutOfBoundsException.class
+    };
+
+    private static final StackTracePolicy NO_STACK_TRACE_POLICY = new NoStackTracePolicy();
+
+    private static final SharedExceptions SHARED = new SharedExceptions(KNOWN_TYPES.length);
+
+    private static final int MESSAGE_LENGTH_ESTIMATE = 64;
+
     private final Eid eid;
 
+    private final transient boolean withCauseMessage;
+
+    @Nullable
+    private final transient String messageFormat;
+
+    @Nullable
+    private final transient Object[] parameters;
+
+    @Nullable
+    private final transient EidMessageSupplier messageSupplier;
+
+    @Nullable
+    private String message;
+
+    private transient boolean shared;
+
     /**
      * Constructs a new runtime exception with the specified exception Id and ref code. The cause is not initialized, and may
      * subsequently be initialized by a call to {@link #initCause}.
@@ -85,41 +157,222 @@ public class EidRuntimeException extends RuntimeException implements EidContaine
      * @param id exception ID
      */
     public EidRuntimeException(Eid id) {
-        super(id.toString());
+        super((String) null);
         eid = id;
+        withCauseMessage = false;
+        messageFormat = null;
+        parameters = null;
+        messageSupplier = null;
+        EidConfiguration configuration = Eid.getConfiguration();
+        if (configuration.getStackTracePolicy().isStackTraceWritable(id)) {
+            fillInStackTrace();
+        }
+        configuration.getOccurrenceListener().occurred(this);
     }
 
     /**
      * Constructs a new runtime exception with the specified Eid object and cause
      * <p>
-     * The detail message is computed as <code>String.format(Eid.getMessageFormat(), id.toString(), message(cause))</code>
+     * The detail message is computed lazily as
+     * <code>String.format(Eid.getMessageFormat(), id.toString(), message(cause))</code>
      *
      * @param id exception ID
      * @param cause the cause (which is saved for later retrieval by the {@link #getCause()} method). (A <code>null</code> value is
      * permitted, and indicates that the cause is nonexistent or unknown.)
      */
     public EidRuntimeException(Eid id, Throwable cause) {
-        super(String.format(
-                Locale.ENGLISH, Eid.getMessageFormat(), id.toString(), message(cause)
-        ), cause);
+        super(null, cause);
         eid = id;
+        withCauseMessage = true;
+        messageFormat = null;
+        parameters = null;
+        messageSupplier = null;
+        EidConfiguration configuration = Eid.getConfiguration();
+        if (configuration.getStackTracePolicy().isStackTraceWritable(id)) {
+            fillInStackTrace();
+        }
+        configuration.getOccurrenceListener().occurred(this);
     }
 
     /**
      * Constructs a new runtime exception with specified Eid object and custom message
      * <p>
-     * The detail message is computed as:
+     * The detail message is computed lazily as:
      * <pre>String.format(Eid.getMessageFormat(), id.toString(), String.format(messageFormat, parameters))</pre>
+     * Parameters are held by this exception until the message is rendered for the first time.
      * @param id exception ID
      * @param messageFormat message format in form of {@link String#format(String, Object...)}
      * @param parameters parameters in form of {@link String#format(String, Object...)}
      */
     public EidRuntimeException(Eid id, String messageFormat, Object... parameters) {
-        super(String.format(
-                Locale.ENGLISH, Eid.getMessageFormat(), id.toString(),
-                String.format(Locale.ENGLISH, messageFormat, parameters)
-        ));
+        super((String) null);
+        eid = id;
+        withCauseMessage = false;
+        this.messageFormat = messageFormat;
+        this.parameters = parameters;
+        messageSupplier = null;
+        EidConfiguration configuration = Eid.getConfiguration();
+        if (configuration.getStackTracePolicy().isStackTraceWritable(id)) {
+            fillInStackTrace();
+        }
+        configuration.getOccurrenceListener().occurred(this);
+    }
+
+    /**
+     * Constructs a new runtime exception with specified Eid object and a supplier of custom message
+     * <p>
+     * The detail message is computed lazily as:
+     * <pre>String.format(Eid.getMessageFormat(), id.toString(), messageSupplier.get())</pre>
+     * Supplier is held by this exception, and it's called only when the message is rendered for the first time.
+     *
+     * @param id exception ID
+     * @param messageSupplier a supplier of custom message
+     */
+    public EidRuntimeException(Eid id, EidMessageSupplier messageSupplier) {
+        super((String) null);
+        eid = id;
+        withCauseMessage = false;
+        messageFormat = null;
+        parameters = null;
+        this.messageSupplier = messageSupplier;
+        EidConfiguration configuration = Eid.getConfiguration();
+        if (configuration.getStackTracePolicy().isStackTraceWritable(id)) {
+            fillInStackTrace();
+        }
+        configuration.getOccurrenceListener().occurred(this);
+    }
+
+    /**
+     * Restores an exception from its serial form. Neither an occurrence is reported, nor a stack trace is captured.
+     *
+     * @param id         exception ID
+     * @param message    rendered detail message
+     * @param cause      the cause, or null
+     * @param stackTrace the stack trace
+     */
+    EidRuntimeException(Eid id, String message, @Nullable Throwable cause, StackTraceElement[] stackTrace) {
+        super(null, cause);
         eid = id;
+        withCauseMessage = false;
+        messageFormat = null;
+        parameters = null;
+        messageSupplier = null;
+        this.message = message;
+        setStackTrace(stackTrace);
+    }
+
+    /**
+     * Sets the stack trace policy that will be used by all Eid exceptions created from now on. It will return previously
+     * used policy.
+     *
+     * @param stackTracePolicy new stack trace policy
+     * @return a previously used stack trace policy
+     * @throws IllegalArgumentException if given policy was null
+     */
+    public static StackTracePolicy setStackTracePolicy(StackTracePolicy stackTracePolicy) {
+        EidConfiguration previous;
+        EidConfiguration next;
+        do {
+            previous = Eid.getGlobalConfiguration();
+            next = previous.withStackTracePolicy(stackTracePolicy);
+        } while (!Eid.compareAndSetConfiguration(previous, next));
+        return previous.getStackTracePolicy();
+    }
+
+    /**
+     * Sets the occurrence listener that will be notified about all Eid exceptions created from now on. It will return
+     * previously used listener.
+     *
+     * @param occurrenceListener new occurrence listener
+     * @return a previously used listener
+     * @throws IllegalArgumentException if given listener was null
+     */
+    public static OccurrenceListener setOccurrenceListener(OccurrenceListener occurrenceListener) {
+        EidConfiguration previous;
+        EidConfiguration next;
+        do {
+            previous = Eid.getGlobalConfiguration();
+            next = previous.withOccurrenceListener(occurrenceListener);
+        } while (!Eid.compareAndSetConfiguration(previous, next));
+        return previous.getOccurrenceListener();
+    }
+
+    /**
+     * Sets the fast throw policy that will be used from now on. It will return previously used policy.
+     *
+     * @param fastThrowPolicy new fast throw policy
+     * @return a previously used policy
+     * @throws IllegalArgumentException if given policy was null
+     */
+    public static FastThrowPolicy setFastThrowPolicy(FastThrowPolicy fastThrowPolicy) {
+        EidConfiguration previous;
+        EidConfiguration next;
+        do {
+            previous = Eid.getGlobalConfiguration();
+            next = previous.withFastThrowPolicy(fastThrowPolicy);
+        } while (!Eid.compareAndSetConfiguration(previous, next));
+        return previous.getFastThrowPolicy();
+    }
+
+    /**
+     * Gets a shared exception of given type, to be thrown instead of a new one, if current {@link FastThrowPolicy}
+     * allows it for given Eid. A shared exception is created once per Eid id, ref and type. It's stackless, it has a
+     * fixed {@link #SHARED_MESSAGE} and a fixed Eid, and its cause and stack trace can't be changed. Suppressed
+     * exceptions can't be prevented on Java 6 API, so a shared exception that got some, for ex.: from
+     * try-with-resources, is replaced with a new one, on its next reuse.
+     * <pre>
+     * EidIllegalArgumentException reused = EidRuntimeException.reusable(eid, EidIllegalArgumentException.class);
+     * throw reused != null ? reused : new EidIllegalArgumentException(eid, "Invalid user: %s", user);
+     * </pre>
+     * Each reuse is reported to current {@link OccurrenceListener}, just like a new exception would be.
+     *
+     * @param eid  an Eid of exception about to be thrown
+     * @param type a type of exception, one of: {@link EidRuntimeException}, {@link EidIllegalArgumentException},
+     *             {@link EidIllegalStateException}, {@link EidNullPointerException} or
+     *             {@link EidIndexOutOfBoundsException}
+     * @param <T>  a type of exception
+     * @return a shared exception, or null if a new one should be created
+     */
+    @Nullable
+    public static <T extends EidRuntimeException> T reusable(Eid eid, Class<T> type) {
+        int kind = kindOf(type);
+        if (kind < 0) {
+            return null;
+        }
+        EidConfiguration configuration = Eid.getConfiguration();
+        if (!configuration.getFastThrowPolicy().isReusable(eid)) {
+            return null;
+        }
+        AtomicReferenceArray<EidRuntimeException> slots = SHARED.slotsOf(eid.getDefinition());
+        if (slots == null) {
+            return null;
+        }
+        EidRuntimeException reused = SharedExceptions.get(slots, kind);
+        if (reused == null) {
+            EidRuntimeException created = newShared(kind, eid, configuration);
+            if (slots.compareAndSet(kind, null, created)) {
+                // already reported by its constructor
+                return type.cast(created);
+            }
+            reused = slots.get(kind);
+            if (reused == null) {
+                // retired by other thread meanwhile, created one is thrown once
+                return type.cast(created);
+            }
+        }
+        configuration.getOccurrenceListener().occurred(reused);
+        return type.cast(reused);
+    }
+
+    /**
+     * Creates a policy that makes stackless all Eid exceptions that have Eid id starting with one of given prefixes. All
+     * other exceptions will have theirs stack traces captured.
+     *
+     * @param idPrefixes prefixes of Eid ids, for ex.: <tt>"20160330:"</tt>
+     * @return a stack trace policy
+     */
+    public static StackTracePolicy stacklessFor(String... idPrefixes) {
+        return new StacklessPolicy(idPrefixes.clone());
     }
 
     @Override
@@ -127,6 +380,76 @@ public class EidRuntimeException extends RuntimeException implements EidContaine
         return eid;
     }
 
+    /**
+     * Checks if this is a shared exception, obtained with {@link #reusable(Eid, Class)}. Eid of shared exception is the
+     * one of its first occurrence, so it doesn't tell when it was thrown again.
+     *
+     * @return true, if this is a shared exception
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Fills in the execution stack trace, but only after this exception has been fully initialized. The call made from
+     * {@link Throwable} constructor is skipped, and the stack trace is captured afterwards, only if current
+     * {@link StackTracePolicy} allows it for Eid of this exception. That call is made directly from constructors, so
+     * constructor frames are omitted in stack trace as usual.
+     *
+     * @return a reference to this exception
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (eid == null || shared) {
+            return this;
+        }
+        return super.fillInStackTrace();
+    }
+
+    /**
+     * Sets the stack trace, unless this is a shared exception, obtained with {@link #reusable(Eid, Class)}. Shared
+     * exceptions stay stackless.
+     *
+     * @param stackTrace the stack trace elements
+     */
+    @Override
+    public void setStackTrace(StackTraceElement[] stackTrace) {
+        if (!shared) {
+            super.setStackTrace(stackTrace);
+        }
+    }
+
+    /**
+     * Initializes the cause of this exception, unless this is a shared exception, obtained with
+     * {@link #reusable(Eid, Class)}
+     *
+     * @param cause the cause
+     * @return a reference to this exception
+     * @throws IllegalStateException if this is a shared exception, or if cause has already been set
+     */
+    @Override
+    public synchronized Throwable initCause(Throwable cause) {
+        if (shared) {
+            throw new IllegalStateException("Can't overwrite cause of shared exception", this);
+        }
+        return super.initCause(cause);
+    }
+
+    /**
+     * Returns the detail message of this exception. It is rendered on first call and cached afterwards.
+     *
+     * @return the detail message
+     */
+    @Override
+    public String getMessage() {
+        String current = message;
+        if (current == null) {
+            current = renderMessage();
+            message = current;
+        }
+        return current;
+    }
+
     /**
      * Returns a standard JDK class that this ones is base on. It doesn't mean this class extends that class.
      *
@@ -136,9 +459,174 @@ public class EidRuntimeException extends RuntimeException implements EidContaine
         return RuntimeException.class;
     }
 
+    /**
+     * Renders the detail message directly into given builder. If message was already rendered, cached one is appended.
+     * Otherwise it is rendered with current configuration, but it isn't cached, so nothing is allocated apart from
+     * formatting of user message.
+     *
+     * @param target a builder to append to
+     * @return given builder
+     */
+    public StringBuilder appendMessageTo(StringBuilder target) {
+        String current = message;
+        if (current != null) {
+            return target.append(current);
+        }
+        appendMessage(target, Eid.getConfiguration());
+        return target;
+    }
+
+    /**
+     * Renders the detail message into given appendable. It is rendered into a reusable, thread confined buffer, and
+     * passed to target as a single char sequence.
+     *
+     * @param target an appendable to append to
+     * @return given appendable
+     * @throws IOException if given appendable throws it
+     */
+    public Appendable appendMessageTo(Appendable target) throws IOException {
+        if (target instanceof StringBuilder) {
+            return appendMessageTo((StringBuilder) target);
+        }
+        String current = message;
+        if (current != null) {
+            return target.append(current);
+        }
+        StringBuilder scratch = Eid.acquireScratch();
+        try {
+            appendMessage(scratch, Eid.getConfiguration());
+            target.append(scratch);
+        } finally {
+            Eid.releaseScratch(scratch);
+        }
+        return target;
+    }
+
+    private String renderMessage() {
+        String detail = super.getMessage();
+        if (detail != null) {
+            // deserialized from a form that holds pre-rendered message
+            return detail;
+        }
+        EidConfiguration configuration = Eid.getConfiguration();
+        StringBuilder sb = new StringBuilder(eid.estimateLength(configuration) + MESSAGE_LENGTH_ESTIMATE);
+        appendMessage(sb, configuration);
+        return sb.toString();
+    }
+
+    private void appendMessage(StringBuilder target, EidConfiguration configuration) {
+        String detail = super.getMessage();
+        if (detail != null) {
+            target.append(detail);
+            return;
+        }
+        Throwable cause = getCause();
+        String userMessage;
+        if (messageFormat != null) {
+            userMessage = String.format(Locale.ENGLISH, messageFormat, parameters);
+        } else if (messageSupplier != null) {
+            userMessage = String.valueOf(messageSupplier.get());
+        } else if (withCauseMessage && cause != null) {
+            userMessage = String.valueOf(message(cause));
+        } else {
+            eid.appendTo(target, configuration);
+            return;
+        }
+        FormatTemplate template = configuration.getMessageTemplate();
+        if (!template.isCompiled()) {
+            target.append(template.render(eid.toString(configuration), userMessage));
+            return;
+        }
+        int slots = template.getSlotCount();
+        for (int i = 0; i < slots; i++) {
+            target.append(template.getLiteral(i));
+            if (template.getSlot(i) == 0) {
+                eid.appendTo(target, configuration);
+            } else {
+                target.append(userMessage);
+            }
+        }
+        target.append(template.getLiteral(slots));
+    }
+
+    /**
+     * Restores an exception of given kind from its serial form
+     *
+     * @return a restored exception, or null if kind is unknown
+     */
+    @Nullable
+    static EidRuntimeException restore(int kind, Eid eid, String message, @Nullable Throwable cause,
+                                       StackTraceElement[] stackTrace) {
+        if (kind >= KNOWN_TYPES.length) {
+            return null;
+        }
+        Class<?> type = KNOWN_TYPES[kind];
+        if (type == EidIllegalArgumentException.class) {
+            return new EidIllegalArgumentException(eid, message, cause, stackTrace);
+        } else if (type == EidIllegalStateException.class) {
+            return new EidIllegalStateException(eid, message, cause, stackTrace);
+        } else if (type == EidNullPointerException.class) {
+            return new EidNullPointerException(eid, message, cause, stackTrace);
+        } else if (type == EidIndexOutOfBoundsException.class) {
+            return new EidIndexOutOfBoundsException(eid, message, cause, stackTrace);
+        }
+        return new EidRuntimeException(eid, message, cause, stackTrace);
+    }
+
+    /**
+     * Replaces this exception with its compact, binary serial form. Subclasses, other than standard ones, are
+     * serialized with default form.
+     *
+     * @return a serial form of this exception
+     */
+    private Object writeReplace() {
+        return new CompactEidException(this);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
+
+    static int kindOf(Class<?> type) {
+        for (int kind = 0; kind < KNOWN_TYPES.length; kind++) {
+            if (KNOWN_TYPES[kind] == type) {
+                return kind;
+            }
+        }
+        return -1;
+    }
+
+    private static EidRuntimeException newShared(int kind, Eid eid, EidConfiguration configuration) {
+        EidRuntimeException exception;
+        Eid.ConfigurationScope scope = Eid.overrideConfiguration(
+            configuration.withStackTracePolicy(NO_STACK_TRACE_POLICY));
+        try {
+            if (KNOWN_TYPES[kind] == EidIllegalArgumentException.class) {
+                exception = new EidIllegalArgumentException(eid, SHARED_MESSAGE);
+            } else if (KNOWN_TYPES[kind] == EidIllegalStateException.class) {
+                exception = new EidIllegalStateException(eid, SHARED_MESSAGE);
+            } else if (KNOWN_TYPES[kind] == EidNullPointerException.class) {
+                exception = new EidNullPointerException(eid, SHARED_MESSAGE);
+            } else if (KNOWN_TYPES[kind] == EidIndexOutOfBoundsException.class) {
+                exception = new EidIndexOutOfBoundsException(eid, SHARED_MESSAGE);
+            } else {
+                exception = new EidRuntimeException(eid, SHARED_MESSAGE);
+            }
+        } finally {
+            scope.close();
+        }
+        exception.getMessage();
+        exception.shared = true;
+        return exception;
+    }
+
     private static String message(Throwable cause) {
         String msg = coalesce(cause.getLocalizedMessage(), cause.getMessage());
-        return coalesce(msg, cause.toString());
+        if (msg == null) {
+            return cause.toString();
+        }
+        return msg;
     }
 
     @Nullable
@@ -150,4 +638,106 @@ public class EidRuntimeException extends RuntimeException implements EidContaine
         }
     }
 
+    /**
+     * It is used to decide if a stack trace should be captured for a newly created Eid exception. Capturing stack trace is
+     * the most expensive part of throwing an exception, especially on deep stacks.
+     */
+    public interface StackTracePolicy {
+
+        /**
+         * Checks if stack trace should be captured for exception with given Eid
+         *
+         * @param eid an Eid of exception being created
+         * @return true, if stack trace should be captured
+         */
+        boolean isStackTraceWritable(Eid eid);
+    }
+
+    /**
+     * It is notified about every newly created Eid exception, including those thrown by
+     * {@link pl.wavesoftware.eid.utils.EidPreconditions}. It is called from constructor of {@link EidRuntimeException},
+     * on a throwing thread, so it should be fast, non-blocking and it should not throw.
+     */
+    public interface OccurrenceListener {
+
+        /**
+         * Receives an Eid exception that has just been created, or a shared one that is about to be thrown again. Eid
+         * and stack trace of a new exception are already set, but it shouldn't be kept nor rendered, as constructors
+         * of its subclasses haven't finished yet.
+         *
+         * @param exception a newly created Eid exception
+         */
+        void occurred(EidRuntimeException exception);
+    }
+
+    /**
+     * It is used to decide if a shared exception, obtained with {@link #reusable(Eid, Class)}, can be thrown instead of
+     * a new one. It's called on a throwing thread, each time an Eid exception is about to be thrown, so it should be
+     * fast, non-blocking and it should not throw.
+     *
+     * @see AdaptiveFastThrowPolicy
+     */
+    public interface FastThrowPolicy {
+
+        /**
+         * Records an Eid exception about to be thrown and decides if a shared exception can be thrown instead
+         *
+         * @param eid an Eid of exception about to be thrown
+         * @return true, if a shared exception should be thrown
+         */
+        boolean isReusable(Eid eid);
+    }
+
+    private static final class NoFastThrowPolicy implements FastThrowPolicy {
+
+        @Override
+        public boolean isReusable(Eid eid) {
+            return false;
+        }
+    }
+
+    private static final class NoOccurrenceListener implements OccurrenceListener {
+
+        @Override
+        public void occurred(EidRuntimeException exception) {
+            // nothing to report
+        }
+    }
+
+    private static final class NoStackTracePolicy implements StackTracePolicy {
+
+        @Override
+        public boolean isStackTraceWritable(Eid eid) {
+            return false;
+        }
+    }
+
+    private static final class WritableStackTracePolicy implements StackTracePolicy {
+
+        @Override
+        public boolean isStackTraceWritable(Eid eid) {
+            return true;
+        }
+    }
+
+    private static final class StacklessPolicy implements StackTracePolicy {
+
+        private final String[] idPrefixes;
+
+        private StacklessPolicy(String[] idPrefixes) {
+            this.idPrefixes = idPrefixes;
+        }
+
+        @Override
+        public boolean isStackTraceWritable(Eid eid) {
+            String id = eid.getId();
+            for (String prefix : idPrefixes) {
+                if (id.startsWith(prefix)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
 }
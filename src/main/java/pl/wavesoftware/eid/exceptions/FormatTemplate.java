@@ -0,0 +1,395 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A format, compliant with {@link String#format(String, Object...)}, that is parsed once into a list of literals and
+ * argument slots. Rendering is done with plain {@link StringBuilder} appends.
+ * <p>
+ * Only <tt>"%s"</tt>, <tt>"%1$s"</tt>, <tt>"%%"</tt> and <tt>"%n"</tt> specifiers are compiled. A format that uses
+ * any other feature of {@link java.util.Formatter}, like flags or width, is rendered with
+ * {@link String#format(Locale, String, Object...)} as before.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+final class FormatTemplate {
+
+    private static final char SPECIFIER = '%';
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private final String format;
+
+    private final int numArguments;
+
+    /**
+     * Literals, one more than slots: literal[i] precedes slot[i], last one trails the format
+     */
+    @Nullable
+    private final String[] literals;
+
+    @Nullable
+    private final int[] slots;
+
+    private final int literalsLength;
+
+    private FormatTemplate(String format, int numArguments, @Nullable String[] literals, @Nullable int[] slots) {
+        this.format = format;
+        this.numArguments = numArguments;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        if (literals != null) {
+            for (String literal : literals) {
+                length += literal.length();
+            }
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Compiles a format, and validates that each of arguments is used in it
+     *
+     * @param format       a format compliant with {@link String#format(String, Object...)}
+     * @param numArguments number of arguments that will be passed on rendering
+     * @return a compiled template
+     * @throws IllegalArgumentException if given format hasn't got enough format specifiers, or if given format was null
+     */
+    static FormatTemplate compile(@Nullable String format, int numArguments) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format can't be null, but just received one");
+        }
+        FormatTemplate template = parse(format, numArguments);
+        if (template == null) {
+            validateWithFormatter(format, numArguments);
+            return new FormatTemplate(format, numArguments, null, null);
+        }
+        template.validate();
+        return template;
+    }
+
+    /**
+     * Gets a source format of this template
+     *
+     * @return a format
+     */
+    String getFormat() {
+        return format;
+    }
+
+    /**
+     * Renders this template with two arguments
+     *
+     * @param first  first argument
+     * @param second second argument
+     * @return a rendered string
+     */
+    String render(String first, String second) {
+        if (slots == null) {
+            return String.format(Locale.ENGLISH, format, first, second);
+        }
+        StringBuilder sb = new StringBuilder(estimateLength(first, second, ""));
+        appendTo(sb, first, second, "");
+        return sb.toString();
+    }
+
+    /**
+     * Renders this template with three arguments
+     *
+     * @param first  first argument
+     * @param second second argument
+     * @param third  third argument
+     * @return a rendered string
+     */
+    String render(String first, String second, String third) {
+        if (slots == null) {
+            return String.format(Locale.ENGLISH, format, first, second, third);
+        }
+        StringBuilder sb = new StringBuilder(estimateLength(first, second, third));
+        appendTo(sb, first, second, third);
+        return sb.toString();
+    }
+
+    /**
+     * Appends this template into given builder, writing each argument directly into it
+     *
+     * @param target    a builder to append to
+     * @param arguments a writer of arguments
+     * @param source    a source of arguments, passed to writer
+     * @param <T>       a type of arguments source
+     */
+    <T> void appendTo(StringBuilder target, Arguments<T> arguments, T source) {
+        if (slots == null) {
+            Object[] values = new Object[numArguments];
+            for (int i = 0; i < numArguments; i++) {
+                StringBuilder value = new StringBuilder();
+                arguments.appendArgument(source, i, value);
+                values[i] = value.toString();
+            }
+            target.append(String.format(Locale.ENGLISH, format, values));
+            return;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            target.append(literals[i]);
+            arguments.appendArgument(source, slots[i], target);
+        }
+        target.append(literals[slots.length]);
+    }
+
+    /**
+     * Checks if this template was compiled into literals and slots. If not, it can be rendered only as a whole, with
+     * {@link String#format(Locale, String, Object...)}.
+     *
+     * @return true, if literals and slots are available
+     */
+    boolean isCompiled() {
+        return slots != null;
+    }
+
+    /**
+     * Gets a number of argument slots of a compiled template
+     *
+     * @return a number of slots
+     */
+    int getSlotCount() {
+        return slots.length;
+    }
+
+    /**
+     * Gets an index of argument used in given slot of a compiled template
+     *
+     * @param slot a slot number
+     * @return an index of argument
+     */
+    int getSlot(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * Gets a literal that precedes given slot of a compiled template. A literal of index equal to slot count trails
+     * the template.
+     *
+     * @param index an index of literal
+     * @return a literal
+     */
+    String getLiteral(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Checks if given argument is used only once, in the last slot of this template. If so, everything before it can
+     * be rendered up front with {@link #appendHeadTo(StringBuilder, Arguments, Object)}.
+     *
+     * @param argument an index of argument
+     * @return true, if argument is used only in the last slot
+     */
+    boolean isOnlyInLastSlot(int argument) {
+        if (slots == null || slots.length == 0) {
+            return false;
+        }
+        int last = slots.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (slots[i] == argument) {
+                return false;
+            }
+        }
+        return slots[last] == argument;
+    }
+
+    /**
+     * Appends a part of this template, up to the last slot, exclusively. Can be used only if
+     * {@link #isOnlyInLastSlot(int)} holds for some argument.
+     *
+     * @param target    a builder to append to
+     * @param arguments a writer of arguments
+     * @param source    a source of arguments, passed to writer
+     * @param <T>       a type of arguments source
+     */
+    <T> void appendHeadTo(StringBuilder target, Arguments<T> arguments, T source) {
+        int last = slots.length - 1;
+        for (int i = 0; i < last; i++) {
+            target.append(literals[i]);
+            arguments.appendArgument(source, slots[i], target);
+        }
+        target.append(literals[last]);
+    }
+
+    /**
+     * Gets a literal that trails the last slot of this template. Can be used only if {@link #isOnlyInLastSlot(int)}
+     * holds for some argument.
+     *
+     * @return a trailing literal
+     */
+    String getTail() {
+        return literals[slots.length];
+    }
+
+    /**
+     * Gets a summary length of all literal parts of this template, to be used to presize buffers
+     *
+     * @return a length of literals
+     */
+    int getLiteralsLength() {
+        return literalsLength;
+    }
+
+    private int estimateLength(String first, String second, String third) {
+        int length = literalsLength;
+        for (int slot : slots) {
+            length += argument(slot, first, second, third).length();
+        }
+        return length;
+    }
+
+    private void appendTo(StringBuilder sb, String first, String second, String third) {
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            sb.append(argument(slots[i], first, second, third));
+        }
+        sb.append(literals[slots.length]);
+    }
+
+    private static String argument(int index, String first, String second, String third) {
+        switch (index) {
+            case 0:
+                return first;
+            case 1:
+                return second;
+            default:
+                return third;
+        }
+    }
+
+    private void validate() {
+        for (int argument = 0; argument < numArguments; argument++) {
+            if (!isUsed(argument)) {
+                throw tooLittleSpecifiers(format, numArguments);
+            }
+        }
+    }
+
+    private boolean isUsed(int argument) {
+        for (int slot : slots) {
+            if (slot == argument) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static FormatTemplate parse(String format, int numArguments) {
+        List<String> literals = new ArrayList<String>();
+        List<Integer> slots = new ArrayList<Integer>();
+        StringBuilder literal = new StringBuilder();
+        int ordinary = 0;
+        int position = 0;
+        while (position < format.length()) {
+            char current = format.charAt(position);
+            if (current != SPECIFIER) {
+                literal.append(current);
+                position++;
+                continue;
+            }
+            int end = format.indexOf('s', position + 1);
+            String specifier = end < 0 ? "" : format.substring(position + 1, end);
+            char next = position + 1 < format.length() ? format.charAt(position + 1) : 0;
+            int index;
+            if (next == SPECIFIER) {
+                literal.append(SPECIFIER);
+                position += 2;
+                continue;
+            } else if (next == 'n') {
+                literal.append(LINE_SEPARATOR);
+                position += 2;
+                continue;
+            } else if (next == 's') {
+                index = ordinary++;
+            } else if (isExplicitIndex(specifier)) {
+                index = Integer.parseInt(specifier.substring(0, specifier.length() - 1)) - 1;
+            } else {
+                return null;
+            }
+            if (index >= numArguments) {
+                return null;
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(index);
+            position = end + 1;
+        }
+        literals.add(literal.toString());
+        int[] slotsArray = new int[slots.size()];
+        for (int i = 0; i < slotsArray.length; i++) {
+            slotsArray[i] = slots.get(i);
+        }
+        return new FormatTemplate(format, numArguments, literals.toArray(new String[literals.size()]), slotsArray);
+    }
+
+    private static boolean isExplicitIndex(String specifier) {
+        int dollar = specifier.length() - 1;
+        if (dollar < 1 || specifier.charAt(dollar) != '$' || specifier.charAt(0) == '0') {
+            return false;
+        }
+        for (int i = 0; i < dollar; i++) {
+            if (!Character.isDigit(specifier.charAt(i))) {
+                return false;
+            }
+        }
+        return dollar < String.valueOf(Integer.MAX_VALUE).length();
+    }
+
+    private static void validateWithFormatter(String format, int numSpecifiers) {
+        List<String> specifiers = new ArrayList<String>();
+        for (int i = 0; i < numSpecifiers; i++) {
+            specifiers.add(i + "-test-id");
+        }
+        String formatted = String.format(format, specifiers.toArray());
+        for (String specifier : specifiers) {
+            if (!formatted.contains(specifier)) {
+                throw tooLittleSpecifiers(format, numSpecifiers);
+            }
+        }
+    }
+
+    private static IllegalArgumentException tooLittleSpecifiers(String format, int numSpecifiers) {
+        return new IllegalArgumentException("Given format contains to little format specifiers, "
+            + "expected " + numSpecifiers + " but given \"" + format + "\"");
+    }
+
+    /**
+     * Writes arguments of a template, taken from a source object, directly into a builder
+     *
+     * @param <T> a type of arguments source
+     */
+    interface Arguments<T> {
+
+        /**
+         * Appends argument of given index
+         *
+         * @param source a source of arguments
+         * @param index  an index of argument
+         * @param target a builder to append to
+         */
+        void appendArgument(T source, int index, StringBuilder target);
+    }
+
+}
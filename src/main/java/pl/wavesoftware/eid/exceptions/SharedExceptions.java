@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Shared exceptions, kept per Eid id, ref and kind of exception. Definitions are compared by value, so Eids with
+ * refs, and those above {@link EidDefinition#MAX_INTERNED}, which aren't interned, share exceptions as well. Up to
+ * {@link #MAX_SHARED} definitions are kept, Eids of other ones get no shared exceptions.
+ * <p>
+ * On Java 7+ suppressed exceptions can be added to any exception, for ex.: by try-with-resources. A shared exception
+ * that got some is retired, and a new one is created in its place, so suppressed exceptions don't pile up, nor leak
+ * between unrelated occurrences.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+final class SharedExceptions {
+
+    /**
+     * Maximal number of definitions, that shared exceptions are kept for
+     */
+    static final int MAX_SHARED = 4096;
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    @Nullable
+    private static final Method GET_SUPPRESSED = getSuppressedMethod();
+
+    private final ConcurrentMap<EidDefinition, AtomicReferenceArray<EidRuntimeException>> exceptions =
+        new ConcurrentHashMap<EidDefinition, AtomicReferenceArray<EidRuntimeException>>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int kinds;
+
+    SharedExceptions(int kinds) {
+        this.kinds = kinds;
+    }
+
+    /**
+     * Gets slots of shared exceptions of given definition, one per kind
+     *
+     * @param definition a definition of Eid
+     * @return slots of shared exceptions, or null if too many definitions are kept already
+     */
+    @Nullable
+    AtomicReferenceArray<EidRuntimeException> slotsOf(EidDefinition definition) {
+        AtomicReferenceArray<EidRuntimeException> slots = exceptions.get(definition);
+        if (slots != null || size.get() >= MAX_SHARED) {
+            return slots;
+        }
+        AtomicReferenceArray<EidRuntimeException> created = new AtomicReferenceArray<EidRuntimeException>(kinds);
+        slots = exceptions.putIfAbsent(definition, created);
+        if (slots != null) {
+            return slots;
+        }
+        size.incrementAndGet();
+        return created;
+    }
+
+    /**
+     * Gets a shared exception of given kind, retiring it if it got suppressed exceptions
+     *
+     * @param slots slots of shared exceptions
+     * @param kind  a kind of exception
+     * @return a shared exception, or null if there's none
+     */
+    @Nullable
+    static EidRuntimeException get(AtomicReferenceArray<EidRuntimeException> slots, int kind) {
+        EidRuntimeException shared = slots.get(kind);
+        if (shared != null && hasSuppressed(shared)) {
+            slots.compareAndSet(kind, shared, null);
+            return null;
+        }
+        return shared;
+    }
+
+    private static boolean hasSuppressed(Throwable throwable) {
+        if (GET_SUPPRESSED == null) {
+            return false;
+        }
+        try {
+            return ((Throwable[]) GET_SUPPRESSED.invoke(throwable, NO_ARGUMENTS)).length > 0;
+        } catch (IllegalAccessException ex) {
+            return false;
+        } catch (InvocationTargetException ex) {
+            return false;
+        }
+    }
+
+    @Nullable
+    private static Method getSuppressedMethod() {
+        try {
+            // public since Java 7
+            return Throwable.class.getMethod("getSuppressed");
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+}
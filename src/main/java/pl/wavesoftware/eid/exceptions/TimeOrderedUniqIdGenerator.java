@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.exceptions;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A unique ID generator that packs a timestamp, a node ID and a sequence into 63 bits of a long, in the manner of
+ * Twitter Snowflake:
+ * <pre>
+ * | 41 bits: milliseconds since 2016-01-01T00:00:00Z | 10 bits: node ID | 12 bits: sequence |
+ * </pre>
+ * IDs generated by single instance are strictly increasing. IDs generated on different nodes are unique, as long as
+ * each node has its own node ID. Rendered IDs have fixed width of 13 characters, in lowercase Crockford's base 32, so
+ * they sort lexicographically in the same order as they were generated.
+ * <p>
+ * Generator never blocks. If more than 4096 IDs are requested within a single millisecond, or system clock goes
+ * backwards, generator borrows upcoming milliseconds, instead of waiting for them.
+ * <p>
+ * Example:
+ * <pre>
+ * Eid.setUniqIdGenerator(new TimeOrderedUniqIdGenerator(nodeId));
+ * </pre>
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class TimeOrderedUniqIdGenerator implements Eid.PrimitiveUniqIdGenerator {
+
+    /**
+     * Epoch of generated IDs: 2016-01-01T00:00:00Z
+     */
+    public static final long EPOCH = 1451606400000L;
+
+    /**
+     * Maximal node ID that can be used
+     */
+    public static final int MAX_NODE_ID = 1023;
+
+    /**
+     * Number of characters of rendered ID
+     */
+    public static final int RENDERED_LENGTH = 13;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final int NODE_BITS = 10;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int BASE32_BITS = 5;
+
+    private static final int BASE32_MASK = (1 << BASE32_BITS) - 1;
+
+    private static final char[] ALPHABET = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+
+    private final long node;
+
+    /**
+     * Last used timestamp and sequence, packed as: timestamp &lt;&lt; 12 | sequence
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param nodeId an ID of node, that must be unique in cluster, from 0 to {@link #MAX_NODE_ID}
+     * @throws IllegalArgumentException if node ID is out of range
+     */
+    public TimeOrderedUniqIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID
+                + ", but given " + nodeId);
+        }
+        this.node = nodeId;
+    }
+
+    @Override
+    public String generateUniqId() {
+        StringBuilder sb = new StringBuilder(RENDERED_LENGTH);
+        appendUniqId(generateUniqIdAsLong(), sb);
+        return sb.toString();
+    }
+
+    @Override
+    public void appendUniqId(long uniqId, StringBuilder target) {
+        for (int shift = (RENDERED_LENGTH - 1) * BASE32_BITS; shift >= 0; shift -= BASE32_BITS) {
+            target.append(ALPHABET[(int) ((uniqId >>> shift) & BASE32_MASK)]);
+        }
+    }
+
+    /**
+     * Generates next unique ID as a long value
+     *
+     * @return a unique ID, always positive
+     */
+    @Override
+    public long generateUniqIdAsLong() {
+        long now = Math.max(0L, currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = state.get();
+            next = now > previous ? now : previous + 1;
+        } while (!state.compareAndSet(previous, next));
+        long timestamp = next >>> SEQUENCE_BITS;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Extracts timestamp, in milliseconds since standard Java epoch, from a unique ID
+     *
+     * @param uniqId a unique ID generated by this class
+     * @return a timestamp of ID
+     */
+    public static long timestampOf(long uniqId) {
+        return (uniqId >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * Extracts node ID from a unique ID
+     *
+     * @param uniqId a unique ID generated by this class
+     * @return a node ID
+     */
+    public static int nodeOf(long uniqId) {
+        return (int) ((uniqId >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    /**
+     * Returns current time in milliseconds. Can be overridden for testing.
+     *
+     * @return a current time in milliseconds since standard Java epoch
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.metrics;
+
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A registry that counts occurrences of Eid exceptions, per Eid id, and keeps time of last occurrence of each of them.
+ * It counts all created Eid exceptions, including those thrown by {@link pl.wavesoftware.eid.utils.EidPreconditions}.
+ * <p>
+ * Registry is opt-in. To start counting, install it as an occurrence listener:
+ * <pre>
+ * EidOccurrenceRegistry registry = new EidOccurrenceRegistry();
+ * EidRuntimeException.setOccurrenceListener(registry);
+ * ...
+ * Map&lt;String, Long&gt; counts = registry.snapshotAndReset();
+ * </pre>
+ * Counting an id, that has already been seen, doesn't allocate and uses a {@link StripedCounter}, so it doesn't slow
+ * down when many threads throw exceptions with the same Eid. Time of last occurrence is taken from an Eid, so clock is
+ * read again only for shared exceptions, and it's written only if it has advanced, so threads throwing the same Eid
+ * within a millisecond don't write it over and over. Up to {@link #MAX_COUNTED_IDS} distinct ids are counted
+ * separately, all others are counted together as {@link #OTHER_IDS}.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class EidOccurrenceRegistry implements EidRuntimeException.OccurrenceListener {
+
+    /**
+     * Maximal number of distinct ids counted separately
+     */
+    public static final int MAX_COUNTED_IDS = 4096;
+
+    /**
+     * A key under which occurrences of ids above {@link #MAX_COUNTED_IDS} limit are counted
+     */
+    public static final String OTHER_IDS = "*";
+
+    private static final String NULL_ID = "null";
+
+    private final ConcurrentMap<String, Occurrences> occurrences =
+        new ConcurrentHashMap<String, Occurrences>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Occurrences others = new Occurrences();
+
+    @Override
+    public void occurred(EidRuntimeException exception) {
+        Eid eid = exception.getEid();
+        long timestamp = exception.isShared() ? System.currentTimeMillis() : eid.getTimestamp();
+        increment(eid.getId(), timestamp);
+    }
+
+    /**
+     * Counts an occurrence of given Eid id
+     *
+     * @param id an Eid id
+     */
+    public void increment(@Nullable String id) {
+        increment(id, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets number of occurrences of given Eid id
+     *
+     * @param id an Eid id
+     * @return number of occurrences since creation or last reset
+     */
+    public long getCount(String id) {
+        Occurrences entry = occurrences.get(id);
+        return entry == null ? 0L : entry.counter.sum();
+    }
+
+    /**
+     * Gets time of last occurrence of given Eid id
+     *
+     * @param id an Eid id
+     * @return time of last occurrence, in milliseconds since epoch, or 0 if it hasn't occurred yet
+     */
+    public long getLastSeen(String id) {
+        Occurrences entry = occurrences.get(id);
+        return entry == null ? 0L : entry.lastSeen;
+    }
+
+    /**
+     * Takes a snapshot of times of last occurrences. Resets don't clear them.
+     *
+     * @return an immutable map of times in milliseconds since epoch by Eid id, sorted by id
+     */
+    public SortedMap<String, Long> lastSeenSnapshot() {
+        SortedMap<String, Long> snapshot = new TreeMap<String, Long>();
+        for (Map.Entry<String, Occurrences> entry : occurrences.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().lastSeen);
+        }
+        return Collections.unmodifiableSortedMap(snapshot);
+    }
+
+    /**
+     * Takes a snapshot of all counts. Counts are not reset.
+     *
+     * @return an immutable map of counts by Eid id, sorted by id
+     */
+    public SortedMap<String, Long> snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Takes a snapshot of all counts and resets them. Occurrences counted concurrently are either included in returned
+     * snapshot or in next one, but never lost.
+     *
+     * @return an immutable map of counts by Eid id, sorted by id
+     */
+    public SortedMap<String, Long> snapshotAndReset() {
+        return snapshot(true);
+    }
+
+    /**
+     * Resets all counts to zero. Registered ids are kept.
+     */
+    public void reset() {
+        snapshot(true);
+    }
+
+    /**
+     * Resets count of given Eid id to zero
+     *
+     * @param id an Eid id
+     * @return number of occurrences before reset
+     */
+    public long reset(String id) {
+        Occurrences entry = occurrences.get(id);
+        return entry == null ? 0L : entry.counter.sumThenReset();
+    }
+
+    @Override
+    public String toString() {
+        return "EidOccurrenceRegistry" + snapshot();
+    }
+
+    private SortedMap<String, Long> snapshot(boolean reset) {
+        SortedMap<String, Long> snapshot = new TreeMap<String, Long>();
+        for (Map.Entry<String, Occurrences> entry : occurrences.entrySet()) {
+            StripedCounter counter = entry.getValue().counter;
+            snapshot.put(entry.getKey(), reset ? counter.sumThenReset() : counter.sum());
+        }
+        return Collections.unmodifiableSortedMap(snapshot);
+    }
+
+    private void increment(@Nullable String id, long timestamp) {
+        String key = id == null ? NULL_ID : id;
+        Occurrences entry = occurrences.get(key);
+        if (entry == null) {
+            entry = register(key);
+        }
+        entry.counter.increment();
+        if (entry.lastSeen < timestamp) {
+            entry.lastSeen = timestamp;
+        }
+    }
+
+    private Occurrences register(String key) {
+        if (size.get() >= MAX_COUNTED_IDS) {
+            Occurrences existing = occurrences.get(key);
+            return existing == null ? others : existing;
+        }
+        Occurrences created = new Occurrences();
+        Occurrences existing = occurrences.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (size.incrementAndGet() == MAX_COUNTED_IDS) {
+            occurrences.putIfAbsent(OTHER_IDS, others);
+        }
+        return created;
+    }
+
+    private static final class Occurrences {
+        private final StripedCounter counter = new StripedCounter();
+        private volatile long lastSeen;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.metrics;
+
+import java.beans.ConstructorProperties;
+import java.util.Locale;
+
+/**
+ * A rate of occurrences of an Eid id, measured over a window of time
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class EidRate {
+
+    private final String id;
+
+    private final long count;
+
+    private final double perSecond;
+
+    /**
+     * Constructor
+     *
+     * @param id        an Eid id
+     * @param count     number of occurrences in a window
+     * @param perSecond number of occurrences per second
+     */
+    @ConstructorProperties({"id", "count", "perSecond"})
+    public EidRate(String id, long count, double perSecond) {
+        this.id = id;
+        this.count = count;
+        this.perSecond = perSecond;
+    }
+
+    /**
+     * Gets an Eid id
+     *
+     * @return an Eid id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets number of occurrences in a window
+     *
+     * @return number of occurrences
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets number of occurrences per second
+     *
+     * @return a rate
+     */
+    public double getPerSecond() {
+        return perSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %.3f/s (%d)", id, perSecond, count);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.metrics;
+
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidConfiguration;
+
+import javax.annotation.Nullable;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A platform MBean, that exposes occurrences of Eid exceptions counted by an {@link EidOccurrenceRegistry}: counts,
+ * times of last occurrences and ids with highest rates, along with current formats and unique ID generator. Counts can
+ * be reset from JMX client.
+ * <p>
+ * It's opt-in. To expose statistics, install a registry as an occurrence listener, and register statistics:
+ * <pre>
+ * EidOccurrenceRegistry registry = new EidOccurrenceRegistry();
+ * EidRuntimeException.setOccurrenceListener(registry);
+ * EidStatistics statistics = new EidStatistics(registry).register();
+ * ...
+ * statistics.close();
+ * </pre>
+ * Statistics are read from a registry, that is lock-free, so JMX reads never block threads that create exceptions.
+ * Rates are measured against a sample of counts, taken on read, that is at least {@link #getRateWindowMillis()} old,
+ * but not older than two windows, if statistics are read regularly.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class EidStatistics implements EidStatisticsMXBean, Closeable {
+
+    /**
+     * A name under which statistics are registered
+     */
+    public static final String OBJECT_NAME = "pl.wavesoftware.eid:type=EidStatistics";
+
+    /**
+     * Default number of ids returned by {@link #getTopIdsByRate()}
+     */
+    public static final int DEFAULT_TOP_SIZE = 10;
+
+    /**
+     * Default minimal time over which rates are measured
+     */
+    public static final long DEFAULT_RATE_WINDOW_MILLIS = 60000L;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Comparator<EidRate> BY_RATE = new Comparator<EidRate>() {
+        @Override
+        public int compare(EidRate left, EidRate right) {
+            int byRate = Double.compare(right.getPerSecond(), left.getPerSecond());
+            return byRate != 0 ? byRate : left.getId().compareTo(right.getId());
+        }
+    };
+
+    private final EidOccurrenceRegistry registry;
+
+    private final int topSize;
+
+    private final long rateWindowNanos;
+
+    private Sample older;
+
+    private Sample newer;
+
+    @Nullable
+    private ObjectName registeredAs;
+
+    @Nullable
+    private MBeanServer server;
+
+    /**
+     * Creates statistics with {@link #DEFAULT_TOP_SIZE} and {@link #DEFAULT_RATE_WINDOW_MILLIS}
+     *
+     * @param registry a registry, that counts occurrences
+     */
+    public EidStatistics(EidOccurrenceRegistry registry) {
+        this(registry, DEFAULT_TOP_SIZE, DEFAULT_RATE_WINDOW_MILLIS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param registry         a registry, that counts occurrences
+     * @param topSize          number of ids returned by {@link #getTopIdsByRate()}
+     * @param rateWindowMillis a minimal time over which rates are measured, in milliseconds
+     * @throws IllegalArgumentException if registry was null, or top size or window weren't positive
+     */
+    public EidStatistics(EidOccurrenceRegistry registry, int topSize, long rateWindowMillis) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Registry can't be null, but given one");
+        }
+        if (topSize <= 0) {
+            throw new IllegalArgumentException("Top size must be positive, but given " + topSize);
+        }
+        if (rateWindowMillis <= 0) {
+            throw new IllegalArgumentException("Rate window must be positive, but given " + rateWindowMillis);
+        }
+        this.registry = registry;
+        this.topSize = topSize;
+        this.rateWindowNanos = TimeUnit.MILLISECONDS.toNanos(rateWindowMillis);
+        this.newer = new Sample(System.nanoTime(), registry.snapshot());
+        this.older = newer;
+    }
+
+    /**
+     * Registers statistics in platform MBean server, as {@link #OBJECT_NAME}
+     *
+     * @return this statistics
+     * @throws JMException if statistics can't be registered, for example if other ones have already been
+     */
+    public EidStatistics register() throws JMException {
+        return register(ManagementFactory.getPlatformMBeanServer(), new ObjectName(OBJECT_NAME));
+    }
+
+    /**
+     * Registers statistics in given MBean server
+     *
+     * @param server an MBean server
+     * @param name   a name to register as
+     * @return this statistics
+     * @throws JMException if statistics can't be registered
+     */
+    public synchronized EidStatistics register(MBeanServer server, ObjectName name) throws JMException {
+        if (registeredAs != null) {
+            throw new IllegalStateException("Statistics are already registered as: " + registeredAs);
+        }
+        registeredAs = server.registerMBean(this, name).getObjectName();
+        this.server = server;
+        return this;
+    }
+
+    /**
+     * Unregisters statistics from MBean server, if they were registered
+     */
+    @Override
+    public synchronized void close() {
+        ObjectName name = registeredAs;
+        MBeanServer current = server;
+        if (name == null || current == null) {
+            return;
+        }
+        try {
+            current.unregisterMBean(name);
+        } catch (InstanceNotFoundException ex) {
+            // already unregistered by other means
+        } catch (JMException ex) {
+            throw new IllegalStateException("Can't unregister: " + name, ex);
+        } finally {
+            registeredAs = null;
+            server = null;
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        return registry.snapshot();
+    }
+
+    @Override
+    public Map<String, Date> getLastSeen() {
+        SortedMap<String, Date> lastSeen = new TreeMap<String, Date>();
+        for (Map.Entry<String, Long> entry : registry.lastSeenSnapshot().entrySet()) {
+            if (entry.getValue() != 0L) {
+                lastSeen.put(entry.getKey(), new Date(entry.getValue()));
+            }
+        }
+        return Collections.unmodifiableSortedMap(lastSeen);
+    }
+
+    @Override
+    public EidRate[] getTopIdsByRate() {
+        return topIdsByRate(topSize);
+    }
+
+    @Override
+    public EidRate[] topIdsByRate(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive, but given " + size);
+        }
+        long now = System.nanoTime();
+        Sample base = baseline(now);
+        double seconds = Math.max(1L, now - base.nanos) / NANOS_PER_SECOND;
+        List<EidRate> rates = new ArrayList<EidRate>();
+        for (Map.Entry<String, Long> entry : registry.snapshot().entrySet()) {
+            long count = entry.getValue();
+            Long sampled = base.counts.get(entry.getKey());
+            long delta = sampled == null || sampled > count ? count : count - sampled;
+            if (delta > 0L) {
+                rates.add(new EidRate(entry.getKey(), delta, delta / seconds));
+            }
+        }
+        Collections.sort(rates, BY_RATE);
+        List<EidRate> top = rates.subList(0, Math.min(size, rates.size()));
+        return top.toArray(new EidRate[top.size()]);
+    }
+
+    @Override
+    public long getRateWindowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(rateWindowNanos);
+    }
+
+    @Override
+    public String getFormat() {
+        return Eid.getConfiguration().getFormat();
+    }
+
+    @Override
+    public String getRefFormat() {
+        return Eid.getConfiguration().getRefFormat();
+    }
+
+    @Override
+    public String getMessageFormat() {
+        return Eid.getConfiguration().getMessageFormat();
+    }
+
+    @Override
+    public String getUniqIdGenerator() {
+        EidConfiguration configuration = Eid.getConfiguration();
+        return configuration.getUniqIdGenerator().getClass().getName();
+    }
+
+    @Override
+    public void reset() {
+        registry.reset();
+    }
+
+    @Override
+    public long resetId(String id) {
+        return registry.reset(id);
+    }
+
+    @Override
+    public String toString() {
+        return "EidStatistics{registry=" + registry + ", registeredAs=" + registeredAs + '}';
+    }
+
+    private synchronized Sample baseline(long now) {
+        if (now - newer.nanos >= rateWindowNanos) {
+            older = newer;
+            newer = new Sample(now, registry.snapshot());
+        }
+        return older;
+    }
+
+    private static final class Sample {
+        private final long nanos;
+        private final Map<String, Long> counts;
+
+        private Sample(long nanos, Map<String, Long> counts) {
+            this.nanos = nanos;
+            this.counts = counts;
+        }
+    }
+}
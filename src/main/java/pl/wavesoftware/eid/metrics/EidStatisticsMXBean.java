@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.metrics;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A management interface of {@link EidStatistics}: occurrences of Eid exceptions, per Eid id, and current
+ * configuration of Eid. It's an MXBean, so it can be read by any JMX client, like JConsole or VisualVM, without
+ * classes of this library.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public interface EidStatisticsMXBean {
+
+    /**
+     * Gets numbers of occurrences since creation or last reset
+     *
+     * @return counts by Eid id
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Gets times of last occurrences
+     *
+     * @return times of last occurrences by Eid id
+     */
+    Map<String, Date> getLastSeen();
+
+    /**
+     * Gets Eid ids with highest rates of occurrences, as many as configured
+     *
+     * @return rates, from the highest one
+     */
+    EidRate[] getTopIdsByRate();
+
+    /**
+     * Gets given number of Eid ids with highest rates of occurrences
+     *
+     * @param size a maximal number of ids to return
+     * @return rates, from the highest one
+     */
+    EidRate[] topIdsByRate(int size);
+
+    /**
+     * Gets a minimal time over which rates are measured
+     *
+     * @return a time in milliseconds
+     */
+    long getRateWindowMillis();
+
+    /**
+     * Gets a format used to render Eids without ref
+     *
+     * @return a format
+     */
+    String getFormat();
+
+    /**
+     * Gets a format used to render Eids with ref
+     *
+     * @return a format
+     */
+    String getRefFormat();
+
+    /**
+     * Gets a format used to join Eid with a message
+     *
+     * @return a format
+     */
+    String getMessageFormat();
+
+    /**
+     * Gets a class name of current unique ID generator
+     *
+     * @return a class name
+     */
+    String getUniqIdGenerator();
+
+    /**
+     * Resets counts of all Eid ids to zero
+     */
+    void reset();
+
+    /**
+     * Resets count of given Eid id to zero
+     *
+     * @param id an Eid id
+     * @return number of occurrences before reset
+     */
+    long resetId(String id);
+
+}
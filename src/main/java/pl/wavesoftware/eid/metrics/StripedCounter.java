@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A counter that stays cheap to increment under heavy contention, in the manner of Java 8
+ * <code>java.util.concurrent.atomic.LongAdder</code>, but available on Java 6.
+ * <p>
+ * Uncontended counter is a single atomic long. When an increment loses a race for it, counter switches to cells striped
+ * by thread, each in its own cache line, so threads stop invalidating each other's caches. Reading a value sums all
+ * cells, so it's much more expensive than an increment, and it's not an atomic snapshot when increments are in
+ * progress.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class StripedCounter {
+
+    /**
+     * Maximal number of cells, enough for 64 threads to increment without sharing a cell
+     */
+    public static final int MAX_STRIPES = 64;
+
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Number of longs in a cache line of 64 bytes
+     */
+    private static final int PADDING = 8;
+
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private static final AtomicReferenceFieldUpdater<StripedCounter, AtomicLongArray> CELLS =
+        AtomicReferenceFieldUpdater.newUpdater(StripedCounter.class, AtomicLongArray.class, "cells");
+
+    private final AtomicLong base = new AtomicLong();
+
+    private volatile AtomicLongArray cells;
+
+    /**
+     * Increments this counter by one
+     */
+    public void increment() {
+        AtomicLongArray current = cells;
+        if (current == null) {
+            long value = base.get();
+            if (base.compareAndSet(value, value + 1)) {
+                return;
+            }
+            current = stripe();
+        }
+        current.getAndIncrement(cellIndex());
+    }
+
+    /**
+     * Returns current value of this counter
+     *
+     * @return a sum of all increments since creation or last reset
+     */
+    public long sum() {
+        long sum = base.get();
+        AtomicLongArray current = cells;
+        if (current != null) {
+            for (int stripe = 1; stripe <= STRIPES; stripe++) {
+                sum += current.get(stripe * PADDING);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns current value of this counter and resets it to zero. Increments made concurrently are either included
+     * in returned value or left for next reading, but never lost.
+     *
+     * @return a sum of all increments since creation or last reset
+     */
+    public long sumThenReset() {
+        long sum = base.getAndSet(0L);
+        AtomicLongArray current = cells;
+        if (current != null) {
+            for (int stripe = 1; stripe <= STRIPES; stripe++) {
+                sum += current.getAndSet(stripe * PADDING, 0L);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Resets this counter to zero
+     */
+    public void reset() {
+        sumThenReset();
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+
+    static int stripes(int processors) {
+        int stripes = 1;
+        while (stripes < 2 * processors && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    private AtomicLongArray stripe() {
+        // first and last cells are left empty, as they share cache lines with array header and other objects
+        CELLS.compareAndSet(this, null, new AtomicLongArray((STRIPES + 2) * PADDING));
+        return cells;
+    }
+
+    private static int cellIndex() {
+        // odd multiplier keeps consecutive thread IDs in distinct cells
+        int hash = (int) Thread.currentThread().getId() * HASH_MULTIPLIER;
+        return ((hash & (STRIPES - 1)) + 1) * PADDING;
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.prometheus;
+
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.metrics.StripedCounter;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An occurrence listener, that counts Eid exceptions per Eid id, ref and standard JDK class, and renders them in
+ * Prometheus text format:
+ * <pre>
+ * # TYPE eid_exceptions_total counter
+ * eid_exceptions_total{id="20181019:221005",ref="",exception="java.lang.RuntimeException"} 12
+ * # TYPE eid_exception_last_seen_seconds gauge
+ * eid_exception_last_seen_seconds{id="20181019:221005",ref="",exception="java.lang.RuntimeException"} 1539979805.125
+ * </pre>
+ * Rates are left to Prometheus, as <code>rate(eid_exceptions_total[1m])</code>.
+ * <p>
+ * Collector is opt-in. Install it as an occurrence listener, and serve it with a {@link PrometheusEidServer}:
+ * <pre>
+ * PrometheusEidCollector collector = new PrometheusEidCollector();
+ * EidRuntimeException.setOccurrenceListener(collector);
+ * </pre>
+ * Counting a series, that has already been seen, doesn't allocate and uses a {@link StripedCounter}. Labels of each
+ * series are escaped and rendered once, when a series is created, so rendering streams cached labels and counter
+ * values straight from a store, without copying it. Up to a limit of series are counted separately, all others are
+ * counted together, with id {@link #OTHER_IDS}.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class PrometheusEidCollector implements EidRuntimeException.OccurrenceListener {
+
+    /**
+     * Default maximal number of series counted separately
+     */
+    public static final int DEFAULT_MAX_SERIES = 16384;
+
+    /**
+     * An id under which occurrences above limit of series are counted
+     */
+    public static final String OTHER_IDS = "*";
+
+    /**
+     * A name of counter of occurrences
+     */
+    public static final String COUNTER_NAME = "eid_exceptions_total";
+
+    /**
+     * A name of gauge of last occurrence time
+     */
+    public static final String LAST_SEEN_NAME = "eid_exception_last_seen_seconds";
+
+    private static final String NULL_ID = "null";
+    private static final String EMPTY = "";
+    private static final int MILLIS_PER_SECOND = 1000;
+    private static final int DECIMAL = 10;
+    private static final int LINE_CAPACITY = 256;
+
+    private final ConcurrentMap<String, IdSeries> store = new ConcurrentHashMap<String, IdSeries>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int maxSeries;
+
+    private final Series others = new Series(EMPTY, null, labelsOf(OTHER_IDS, EMPTY, null));
+
+    /**
+     * Creates a collector with {@link #DEFAULT_MAX_SERIES}
+     */
+    public PrometheusEidCollector() {
+        this(DEFAULT_MAX_SERIES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxSeries a maximal number of series counted separately
+     * @throws IllegalArgumentException if given limit isn't positive
+     */
+    public PrometheusEidCollector(int maxSeries) {
+        if (maxSeries <= 0) {
+            throw new IllegalArgumentException("Maximal number of series must be positive, but given " + maxSeries);
+        }
+        this.maxSeries = maxSeries;
+    }
+
+    @Override
+    public void occurred(EidRuntimeException exception) {
+        Eid eid = exception.getEid();
+        long timestamp = exception.isShared() ? System.currentTimeMillis() : eid.getTimestamp();
+        Series series = seriesOf(eid.getId(), eid.getRef(), exception.getStandardJdkClass());
+        series.counter.increment();
+        if (series.lastSeen < timestamp) {
+            series.lastSeen = timestamp;
+        }
+    }
+
+    /**
+     * Gets number of occurrences of given series
+     *
+     * @param id               an Eid id
+     * @param ref              an Eid ref, empty if none
+     * @param standardJdkClass a standard JDK class of exception
+     * @return number of occurrences
+     */
+    public long getCount(String id, String ref, Class<? extends RuntimeException> standardJdkClass) {
+        IdSeries byId = store.get(id);
+        Series series = byId == null ? null : byId.find(ref, standardJdkClass);
+        return series == null ? 0L : series.counter.sum();
+    }
+
+    /**
+     * Gets number of series counted separately
+     *
+     * @return number of series
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Renders all series in Prometheus text format, version 0.0.4. Series are read straight from a store, so ones
+     * created concurrently may or may not be rendered.
+     *
+     * @param writer a writer to render to, it's neither flushed nor closed
+     * @throws IOException if writer fails
+     */
+    public void render(Writer writer) throws IOException {
+        Renderer renderer = new Renderer(writer);
+        writer.write("# HELP " + COUNTER_NAME + " Number of created Eid exceptions.\n");
+        writer.write("# TYPE " + COUNTER_NAME + " counter\n");
+        for (IdSeries byId : store.values()) {
+            for (Series series : byId.series) {
+                renderer.counter(series);
+            }
+        }
+        if (others.lastSeen != 0L) {
+            renderer.counter(others);
+        }
+        writer.write("# HELP " + LAST_SEEN_NAME + " Time of last Eid exception, in seconds since epoch.\n");
+        writer.write("# TYPE " + LAST_SEEN_NAME + " gauge\n");
+        for (IdSeries byId : store.values()) {
+            for (Series series : byId.series) {
+                renderer.lastSeen(series);
+            }
+        }
+        if (others.lastSeen != 0L) {
+            renderer.lastSeen(others);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PrometheusEidCollector{size=" + size + ", maxSeries=" + maxSeries + '}';
+    }
+
+    private Series seriesOf(@Nullable String id, String ref, Class<? extends RuntimeException> standardJdkClass) {
+        String key = id == null ? NULL_ID : id;
+        IdSeries byId = store.get(key);
+        if (byId == null) {
+            if (size.get() >= maxSeries) {
+                return others;
+            }
+            IdSeries created = new IdSeries(key);
+            byId = store.putIfAbsent(key, created);
+            if (byId == null) {
+                byId = created;
+            }
+        }
+        Series series = byId.find(ref, standardJdkClass);
+        return series != null ? series : register(byId, ref, standardJdkClass);
+    }
+
+    private Series register(IdSeries byId, String ref, Class<? extends RuntimeException> standardJdkClass) {
+        synchronized (byId) {
+            Series series = byId.find(ref, standardJdkClass);
+            if (series != null) {
+                return series;
+            }
+            if (size.incrementAndGet() > maxSeries) {
+                size.decrementAndGet();
+                return others;
+            }
+            series = new Series(ref, standardJdkClass, labelsOf(byId.id, ref, standardJdkClass));
+            Series[] current = byId.series;
+            Series[] next = new Series[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = series;
+            byId.series = next;
+            return series;
+        }
+    }
+
+    private static String labelsOf(String id, String ref, @Nullable Class<?> standardJdkClass) {
+        StringBuilder sb = new StringBuilder(LINE_CAPACITY);
+        sb.append("{id=\"");
+        escape(id, sb);
+        sb.append("\",ref=\"");
+        escape(ref, sb);
+        sb.append("\",exception=\"");
+        if (standardJdkClass != null) {
+            escape(standardJdkClass.getName(), sb);
+        }
+        sb.append("\"} ");
+        return sb.toString();
+    }
+
+    private static void escape(String value, StringBuilder target) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                target.append('\\').append(c);
+            } else if (c == '\n') {
+                target.append("\\n");
+            } else {
+                target.append(c);
+            }
+        }
+    }
+
+    /**
+     * All series of single Eid id. Array of series is replaced, not modified, so it can be read without locking.
+     */
+    private static final class IdSeries {
+        private final String id;
+        private volatile Series[] series = new Series[0];
+
+        private IdSeries(String id) {
+            this.id = id;
+        }
+
+        @Nullable
+        private Series find(String ref, Class<?> standardJdkClass) {
+            for (Series candidate : series) {
+                if (candidate.standardJdkClass == standardJdkClass && candidate.ref.equals(ref)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Series {
+        private final String ref;
+        @Nullable
+        private final Class<?> standardJdkClass;
+        private final String labels;
+        private final StripedCounter counter = new StripedCounter();
+        private volatile long lastSeen;
+
+        private Series(String ref, @Nullable Class<?> standardJdkClass, String labels) {
+            this.ref = ref;
+            this.standardJdkClass = standardJdkClass;
+            this.labels = labels;
+        }
+    }
+
+    /**
+     * Renders lines through a reused buffer, so numbers are formatted without allocation
+     */
+    private static final class Renderer {
+        private final Writer writer;
+        private final StringBuilder line = new StringBuilder(LINE_CAPACITY);
+        private char[] buffer = new char[LINE_CAPACITY];
+
+        private Renderer(Writer writer) {
+            this.writer = writer;
+        }
+
+        private void counter(Series series) throws IOException {
+            line.setLength(0);
+            line.append(COUNTER_NAME).append(series.labels).append(series.counter.sum()).append('\n');
+            flush();
+        }
+
+        private void lastSeen(Series series) throws IOException {
+            long millis = series.lastSeen;
+            line.setLength(0);
+            line.append(LAST_SEEN_NAME).append(series.labels).append(millis / MILLIS_PER_SECOND).append('.');
+            long fraction = millis % MILLIS_PER_SECOND;
+            for (long scale = MILLIS_PER_SECOND / DECIMAL; scale > 1 && fraction < scale; scale /= DECIMAL) {
+                line.append('0');
+            }
+            line.append(fraction).append('\n');
+            flush();
+        }
+
+        private void flush() throws IOException {
+            int length = line.length();
+            if (buffer.length < length) {
+                buffer = new char[Math.max(length, buffer.length * 2)];
+            }
+            line.getChars(0, length, buffer, 0);
+            writer.write(buffer, 0, length);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.prometheus;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A local HTTP endpoint, that serves a {@link PrometheusEidCollector} in Prometheus text format, under
+ * {@link #PATH}. It uses HTTP server built into JDK, so it needs no extra dependencies:
+ * <pre>
+ * PrometheusEidServer server = new PrometheusEidServer(collector, new InetSocketAddress("localhost", 9404));
+ * ...
+ * server.close();
+ * </pre>
+ * Scrapes are handled by a single daemon thread, and responses are streamed in chunks, as they are rendered.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class PrometheusEidServer implements Closeable {
+
+    /**
+     * A path metrics are served under
+     */
+    public static final String PATH = "/metrics";
+
+    /**
+     * A content type of Prometheus text format
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BUFFER_SIZE = 8192;
+    private static final int CHUNKED = 0;
+    private static final int NO_BODY = -1;
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    /**
+     * Starts a server
+     *
+     * @param collector a collector to serve
+     * @param address   an address to listen on, port 0 picks a free one
+     * @throws IOException              if server can't be bound to given address
+     * @throws IllegalArgumentException if collector or address was null
+     */
+    public PrometheusEidServer(PrometheusEidCollector collector, InetSocketAddress address) throws IOException {
+        if (collector == null) {
+            throw new IllegalArgumentException("Collector can't be null, but given one");
+        }
+        if (address == null) {
+            throw new IllegalArgumentException("Address can't be null, but given one");
+        }
+        server = HttpServer.create(address, 0);
+        server.createContext(PATH, new MetricsHandler(collector));
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "eid-prometheus");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Gets an address server listens on
+     *
+     * @return an address, with actual port
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops a server, without waiting for scrapes in progress
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return "PrometheusEidServer{address=" + getAddress() + '}';
+    }
+
+    private static final class MetricsHandler implements HttpHandler {
+
+        private final PrometheusEidCollector collector;
+
+        private MetricsHandler(PrometheusEidCollector collector) {
+            this.collector = collector;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                String method = exchange.getRequestMethod();
+                if ("HEAD".equals(method)) {
+                    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, NO_BODY);
+                } else if ("GET".equals(method)) {
+                    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, CHUNKED);
+                    Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(exchange.getResponseBody(), UTF_8), BUFFER_SIZE
+                    );
+                    collector.render(writer);
+                    writer.flush();
+                } else {
+                    exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                    exchange.sendResponseHeaders(HttpURLConnection.HTTP_BAD_METHOD, NO_BODY);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
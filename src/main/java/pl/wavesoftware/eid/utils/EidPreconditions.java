@@ -17,9 +17,11 @@ package pl.wavesoftware.eid.utils;
 
 
 import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidDefinition;
 import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
 import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
 import pl.wavesoftware.eid.exceptions.EidIndexOutOfBoundsException;
+import pl.wavesoftware.eid.exceptions.EidMessageSupplier;
 import pl.wavesoftware.eid.exceptions.EidNullPointerException;
 import pl.wavesoftware.eid.exceptions.EidRuntimeException;
 
@@ -99,6 +101,10 @@ import javax.annotation.Nullable;
  */
 public final class EidPreconditions {
 
+    private static final EidDefinition NULL_EID = Eid.of("20160329:132823", "EID-NULL");
+
+    private static final EidDefinition NULL_STRING_EID = Eid.of("20160329:133052", "EID-NULL");
+
     protected EidPreconditions() {
         throw new EidRuntimeException("20150718:083450", "This should not be accessed");
     }
@@ -113,7 +119,7 @@ public final class EidPreconditions {
      */
     public static void checkArgument(final boolean expression, final String eid) {
         if (!expression) {
-            throw new EidIllegalArgumentException(ensureEid(eid));
+            throw illegalArgument(ensureEid(eid));
         }
     }
 
@@ -130,7 +136,163 @@ public final class EidPreconditions {
     public static void checkArgument(final boolean expression, final String eid,
                                      final String messageFormat, final Object... parameters) {
         if (!expression) {
-            throw new EidIllegalArgumentException(ensureEid(eid), messageFormat, parameters);
+            throw illegalArgument(ensureEid(eid), messageFormat, parameters);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final Object param1) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param1);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final Object param1, final Object param2) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param1, param2);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final Object param1, final Object param2,
+                                     final Object param3) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param1, param2, param3);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final int param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final long param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final double param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final char param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final String messageFormat, final boolean param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression      a boolean expression
+     * @param eid             the exception ID to use if the check fails; will be converted to
+     *                        {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final String eid,
+                                     final EidMessageSupplier messageSupplier) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageSupplier);
         }
     }
 
@@ -144,7 +306,7 @@ public final class EidPreconditions {
      */
     public static void checkArgument(final boolean expression, final Eid eid) {
         if (!expression) {
-            throw new EidIllegalArgumentException(ensureEid(eid));
+            throw illegalArgument(ensureEid(eid));
         }
     }
 
@@ -161,7 +323,163 @@ public final class EidPreconditions {
     public static void checkArgument(final boolean expression, final Eid eid,
                                      final String messageFormat, final Object... parameters) {
         if (!expression) {
-            throw new EidIllegalArgumentException(ensureEid(eid), messageFormat, parameters);
+            throw illegalArgument(ensureEid(eid), messageFormat, parameters);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final Object param1) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param1);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final Object param1, final Object param2) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param1, param2);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final Object param1, final Object param2,
+                                     final Object param3) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param1, param2, param3);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final int param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final long param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final double param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final char param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception ID to use if the check fails; will be converted to
+     *                      {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final String messageFormat, final boolean param) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving one or more parameters to the calling method.
+     *
+     * @param expression      a boolean expression
+     * @param eid             the exception ID to use if the check fails; will be converted to
+     *                        {@link pl.wavesoftware.eid.exceptions.Eid}
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @throws EidIllegalArgumentException if {@code expression} is false
+     */
+    public static void checkArgument(final boolean expression, final Eid eid,
+                                     final EidMessageSupplier messageSupplier) {
+        if (!expression) {
+            throw illegalArgument(ensureEid(eid), messageSupplier);
         }
     }
 
@@ -174,155 +492,1216 @@ public final class EidPreconditions {
      *                   {@link String#valueOf(Object)}
      * @throws EidIllegalStateException if {@code expression} is false
      */
-    public static void checkState(final boolean expression, final String eid) {
-        if (!expression) {
-            throw new EidIllegalStateException(ensureEid(eid));
+    public static void checkState(final boolean expression, final String eid) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid));
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final Object... parameters) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, parameters);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final Object param1) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param1);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final Object param1, final Object param2) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param1, param2);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final Object param1, final Object param2,
+                                  final Object param3) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param1, param2, param3);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final int param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final long param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final double param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final char param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final String messageFormat, final boolean param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression      a boolean expression
+     * @param eid             the exception message to use if the check fails; will be converted to a string using
+     *                        {@link String#valueOf(Object)}
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final String eid,
+                                  final EidMessageSupplier messageSupplier) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageSupplier);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression a boolean expression
+     * @param eid        the exception message to use if the check fails; will be converted to a string using
+     *                   {@link String#valueOf(Object)}
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final Boolean expression, final Eid eid) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid));
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final Object... parameters) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, parameters);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final Object param1) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param1);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final Object param1, final Object param2) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param1, param2);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final Object param1, final Object param2,
+                                  final Object param3) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param1, param2, param3);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final int param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final long param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final double param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final char param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression    a boolean expression
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid,
+                                  final String messageFormat, final boolean param) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageFormat, param);
+        }
+    }
+
+    /**
+     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
+     * calling method.
+     *
+     * @param expression      a boolean expression
+     * @param eid             the exception message to use if the check fails; will be converted to a string using
+     *                        {@link String#valueOf(Object)}
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @throws EidIllegalStateException if {@code expression} is false
+     */
+    public static void checkState(final boolean expression, final Eid eid, final EidMessageSupplier messageSupplier) {
+        if (!expression) {
+            throw illegalState(ensureEid(eid), messageSupplier);
+        }
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>       type of object reference being checked
+     * @param reference an object reference
+     * @param eid       the exception message to use if the check fails; will be converted to a string using
+     *                  {@link String#valueOf(Object)}
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid));
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final Object... parameters) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, parameters);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final Object param1) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param1);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final Object param1, final Object param2) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param1, param2);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final Object param1, final Object param2,
+                                     final Object param3) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param1, param2, param3);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final int param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final long param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final double param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final char param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final String messageFormat, final boolean param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>             type of object reference being checked
+     * @param reference       an object reference
+     * @param eid             the exception message to use if the check fails; will be converted to a string using
+     *                        {@link String#valueOf(Object)}
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
+                                     final EidMessageSupplier messageSupplier) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageSupplier);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>       type of object reference being checked
+     * @param reference an object reference
+     * @param eid       the exception message to use if the check fails; will be converted to a string using
+     *                  {@link String#valueOf(Object)}
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid));
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final Object... parameters) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, parameters);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final Object param1) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param1);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final Object param1, final Object param2) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param1, param2);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final Object param1, final Object param2,
+                                     final Object param3) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param1, param2, param3);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final int param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final long param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final double param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final char param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>           type of object reference being checked
+     * @param reference     an object reference
+     * @param eid           the exception message to use if the check fails; will be converted to a string using
+     *                      {@link String#valueOf(Object)}
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final String messageFormat, final boolean param) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageFormat, param);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     *
+     * @param <T>             type of object reference being checked
+     * @param reference       an object reference
+     * @param eid             the exception message to use if the check fails; will be converted to a string using
+     *                        {@link String#valueOf(Object)}
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @return the non-null reference that was validated
+     * @throws EidNullPointerException if {@code reference} is null
+     */
+    @Nonnull
+    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
+                                     final EidMessageSupplier messageSupplier) {
+        if (reference == null) {
+            throw nullPointer(ensureEid(eid), messageSupplier);
+        }
+        return reference;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index a user-supplied index identifying an element of an array, list or string
+     * @param size  the size of that array, list or string
+     * @param eid   the text to use to describe this index in an error message
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid));
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final Object... parameters) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, parameters);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final Object param1) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param1);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final Object param1, final Object param2) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param1, param2);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final Object param1, final Object param2,
+                                        final Object param3) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param1, param2, param3);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final int param) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final long param) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final double param) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final char param) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final String messageFormat, final boolean param) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
         }
+        return index;
     }
 
     /**
-     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
-     * calling method.
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param expression    a boolean expression
-     * @param eid           the exception message to use if the check fails; will be converted to a string using
-     *                      {@link String#valueOf(Object)}
-     * @param messageFormat message format in form of {@link String#format(String, Object...)}
-     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
-     * @throws EidIllegalStateException if {@code expression} is false
+     * @param index           a user-supplied index identifying an element of an array, list or string
+     * @param size            the size of that array, list or string
+     * @param eid             the text to use to describe this index in an error message
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static void checkState(final boolean expression, final String eid,
-                                  final String messageFormat, final Object... parameters) {
-        if (!expression) {
-            throw new EidIllegalStateException(ensureEid(eid), messageFormat, parameters);
+    public static int checkElementIndex(int index, int size, final String eid,
+                                        final EidMessageSupplier messageSupplier) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageSupplier);
         }
+        return index;
     }
 
     /**
-     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
-     * calling method.
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param expression a boolean expression
-     * @param eid        the exception message to use if the check fails; will be converted to a string using
-     *                   {@link String#valueOf(Object)}
-     * @throws EidIllegalStateException if {@code expression} is false
+     * @param index a user-supplied index identifying an element of an array, list or string
+     * @param size  the size of that array, list or string
+     * @param eid   the text to use to describe this index in an error message
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static void checkState(final Boolean expression, final Eid eid) {
-        if (!expression) {
-            throw new EidIllegalStateException(ensureEid(eid));
+    public static int checkElementIndex(int index, int size, final Eid eid) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid));
         }
+        return index;
     }
 
     /**
-     * Ensures the truth of an expression involving the state of the calling instance, but not involving any parameters to the
-     * calling method.
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param expression    a boolean expression
-     * @param eid           the exception message to use if the check fails; will be converted to a string using
-     *                      {@link String#valueOf(Object)}
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
      * @param messageFormat message format in form of {@link String#format(String, Object...)}
      * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
-     * @throws EidIllegalStateException if {@code expression} is false
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static void checkState(final boolean expression, final Eid eid,
-                                  final String messageFormat, final Object... parameters) {
-        if (!expression) {
-            throw new EidIllegalStateException(ensureEid(eid), messageFormat, parameters);
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final Object... parameters) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, parameters);
         }
+        return index;
     }
 
     /**
-     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param <T>       type of object reference being checked
-     * @param reference an object reference
-     * @param eid       the exception message to use if the check fails; will be converted to a string using
-     *                  {@link String#valueOf(Object)}
-     * @return the non-null reference that was validated
-     * @throws EidNullPointerException if {@code reference} is null
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a parameter of message format
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static <T> T checkNotNull(@Nullable final T reference, final String eid) {
-        if (reference == null) {
-            throw new EidNullPointerException(ensureEid(eid));
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final Object param1) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param1);
         }
-        return reference;
+        return index;
     }
 
     /**
-     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param <T>           type of object reference being checked
-     * @param reference     an object reference
-     * @param eid           the exception message to use if the check fails; will be converted to a string using
-     *                      {@link String#valueOf(Object)}
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
      * @param messageFormat message format in form of {@link String#format(String, Object...)}
-     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
-     * @return the non-null reference that was validated
-     * @throws EidNullPointerException if {@code reference} is null
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static <T> T checkNotNull(@Nullable final T reference, final String eid,
-                                     final String messageFormat, final Object... parameters) {
-        if (reference == null) {
-            throw new EidNullPointerException(ensureEid(eid), messageFormat, parameters);
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final Object param1, final Object param2) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param1, param2);
         }
-        return reference;
+        return index;
     }
 
     /**
-     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param <T>       type of object reference being checked
-     * @param reference an object reference
-     * @param eid       the exception message to use if the check fails; will be converted to a string using
-     *                  {@link String#valueOf(Object)}
-     * @return the non-null reference that was validated
-     * @throws EidNullPointerException if {@code reference} is null
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param1        a first parameter of message format
+     * @param param2        a second parameter of message format
+     * @param param3        a third parameter of message format
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid) {
-        if (reference == null) {
-            throw new EidNullPointerException(ensureEid(eid));
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final Object param1, final Object param2, final Object param3) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param1, param2, param3);
         }
-        return reference;
+        return index;
     }
 
     /**
-     * Ensures that an object reference passed as a parameter to the calling method is not null.
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param <T>           type of object reference being checked
-     * @param reference     an object reference
-     * @param eid           the exception message to use if the check fails; will be converted to a string using
-     *                      {@link String#valueOf(Object)}
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
      * @param messageFormat message format in form of {@link String#format(String, Object...)}
-     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
-     * @return the non-null reference that was validated
-     * @throws EidNullPointerException if {@code reference} is null
+     * @param param         a parameter of message format, boxed only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    @Nonnull
-    public static <T> T checkNotNull(@Nullable final T reference, final Eid eid,
-                                     final String messageFormat, final Object... parameters) {
-        if (reference == null) {
-            throw new EidNullPointerException(ensureEid(eid), messageFormat, parameters);
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final int param) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
         }
-        return reference;
+        return index;
     }
 
     /**
      * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
      * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param index a user-supplied index identifying an element of an array, list or string
-     * @param size  the size of that array, list or string
-     * @param eid   the text to use to describe this index in an error message
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
      * @return the value of {@code index}
      * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
      * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static int checkElementIndex(int index, int size, final String eid) {
-        if (isSizeIllegal(size)) {
-            throw new EidIllegalArgumentException(ensureEid(eid));
-        }
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final long param) {
         if (isIndexAndSizeIllegal(index, size)) {
-            throw new EidIndexOutOfBoundsException(ensureEid(eid));
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
         }
         return index;
     }
@@ -335,18 +1714,15 @@ public final class EidPreconditions {
      * @param size          the size of that array, list or string
      * @param eid           the text to use to describe this index in an error message
      * @param messageFormat message format in form of {@link String#format(String, Object...)}
-     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
      * @return the value of {@code index}
      * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
      * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static int checkElementIndex(int index, int size, final String eid,
-                                        final String messageFormat, final Object... parameters) {
-        if (isSizeIllegal(size)) {
-            throw new EidIllegalArgumentException(ensureEid(eid), messageFormat, parameters);
-        }
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final double param) {
         if (isIndexAndSizeIllegal(index, size)) {
-            throw new EidIndexOutOfBoundsException(ensureEid(eid), messageFormat, parameters);
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
         }
         return index;
     }
@@ -355,19 +1731,19 @@ public final class EidPreconditions {
      * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
      * index may range from zero, inclusive, to {@code size}, exclusive.
      *
-     * @param index a user-supplied index identifying an element of an array, list or string
-     * @param size  the size of that array, list or string
-     * @param eid   the text to use to describe this index in an error message
+     * @param index         a user-supplied index identifying an element of an array, list or string
+     * @param size          the size of that array, list or string
+     * @param eid           the text to use to describe this index in an error message
+     * @param messageFormat message format in form of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
      * @return the value of {@code index}
      * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
      * @throws EidIllegalArgumentException  if {@code size} is negative
      */
-    public static int checkElementIndex(int index, int size, final Eid eid) {
-        if (isSizeIllegal(size)) {
-            throw new EidIllegalArgumentException(ensureEid(eid));
-        }
+    public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
+                                        final char param) {
         if (isIndexAndSizeIllegal(index, size)) {
-            throw new EidIndexOutOfBoundsException(ensureEid(eid));
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
         }
         return index;
     }
@@ -380,18 +1756,34 @@ public final class EidPreconditions {
      * @param size          the size of that array, list or string
      * @param eid           the text to use to describe this index in an error message
      * @param messageFormat message format in form of {@link String#format(String, Object...)}
-     * @param parameters    parameters fo message format in for of {@link String#format(String, Object...)}
+     * @param param         a parameter of message format, boxed only if the check fails
      * @return the value of {@code index}
      * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
      * @throws EidIllegalArgumentException  if {@code size} is negative
      */
     public static int checkElementIndex(int index, int size, final Eid eid, final String messageFormat,
-                                        final Object... parameters) {
-        if (isSizeIllegal(size)) {
-            throw new EidIllegalArgumentException(ensureEid(eid), messageFormat, parameters);
+                                        final boolean param) {
+        if (isIndexAndSizeIllegal(index, size)) {
+            throw invalidElementIndex(size, ensureEid(eid), messageFormat, param);
         }
+        return index;
+    }
+
+    /**
+     * Ensures that {@code index} specifies a valid <i>element</i> in an array, list or string of size {@code size}. An element
+     * index may range from zero, inclusive, to {@code size}, exclusive.
+     *
+     * @param index           a user-supplied index identifying an element of an array, list or string
+     * @param size            the size of that array, list or string
+     * @param eid             the text to use to describe this index in an error message
+     * @param messageSupplier a supplier of message, called only if the check fails
+     * @return the value of {@code index}
+     * @throws EidIndexOutOfBoundsException if {@code index} is negative or is not less than {@code size}
+     * @throws EidIllegalArgumentException  if {@code size} is negative
+     */
+    public static int checkElementIndex(int index, int size, final Eid eid, final EidMessageSupplier messageSupplier) {
         if (isIndexAndSizeIllegal(index, size)) {
-            throw new EidIndexOutOfBoundsException(ensureEid(eid), messageFormat, parameters);
+            throw invalidElementIndex(size, ensureEid(eid), messageSupplier);
         }
         return index;
     }
@@ -526,17 +1918,164 @@ public final class EidPreconditions {
         void execute() throws Exception;
     }
 
+    /*
+     * Failure paths below are kept out of check methods, so that each check compiles to a compare, a branch and
+     * a single call. That keeps checks well under HotSpot inlining limits (MaxInlineSize and FreqInlineSize), while
+     * building of exception, boxing and parameter arrays happen only here, when a check has already failed. Here is
+     * also the place where a shared exception can be thrown instead of a new one, if a fast throw policy allows it.
+     */
+
+    private static EidIllegalArgumentException illegalArgument(final Eid eid) {
+        EidIllegalArgumentException reused = EidRuntimeException.reusable(eid, EidIllegalArgumentException.class);
+        return reused != null ? reused : new EidIllegalArgumentException(eid);
+    }
+
+    private static EidIllegalArgumentException illegalArgument(final Eid eid, final String messageFormat,
+                                                               final Object[] parameters) {
+        EidIllegalArgumentException reused = EidRuntimeException.reusable(eid, EidIllegalArgumentException.class);
+        return reused != null ? reused : new EidIllegalArgumentException(eid, messageFormat, parameters);
+    }
+
+    private static EidIllegalArgumentException illegalArgument(final Eid eid, final String messageFormat,
+                                                               final Object param1) {
+        return illegalArgument(eid, messageFormat, new Object[]{param1});
+    }
+
+    private static EidIllegalArgumentException illegalArgument(final Eid eid, final String messageFormat,
+                                                               final Object param1, final Object param2) {
+        return illegalArgument(eid, messageFormat, new Object[]{param1, param2});
+    }
+
+    private static EidIllegalArgumentException illegalArgument(final Eid eid, final String messageFormat,
+                                                               final Object param1, final Object param2,
+                                                               final Object param3) {
+        return illegalArgument(eid, messageFormat, new Object[]{param1, param2, param3});
+    }
+
+    private static EidIllegalArgumentException illegalArgument(final Eid eid,
+                                                               final EidMessageSupplier messageSupplier) {
+        EidIllegalArgumentException reused = EidRuntimeException.reusable(eid, EidIllegalArgumentException.class);
+        return reused != null ? reused : new EidIllegalArgumentException(eid, messageSupplier);
+    }
+
+    private static EidIllegalStateException illegalState(final Eid eid) {
+        EidIllegalStateException reused = EidRuntimeException.reusable(eid, EidIllegalStateException.class);
+        return reused != null ? reused : new EidIllegalStateException(eid);
+    }
+
+    private static EidIllegalStateException illegalState(final Eid eid, final String messageFormat,
+                                                         final Object[] parameters) {
+        EidIllegalStateException reused = EidRuntimeException.reusable(eid, EidIllegalStateException.class);
+        return reused != null ? reused : new EidIllegalStateException(eid, messageFormat, parameters);
+    }
+
+    private static EidIllegalStateException illegalState(final Eid eid, final String messageFormat,
+                                                         final Object param1) {
+        return illegalState(eid, messageFormat, new Object[]{param1});
+    }
+
+    private static EidIllegalStateException illegalState(final Eid eid, final String messageFormat,
+                                                         final Object param1, final Object param2) {
+        return illegalState(eid, messageFormat, new Object[]{param1, param2});
+    }
+
+    private static EidIllegalStateException illegalState(final Eid eid, final String messageFormat,
+                                                         final Object param1, final Object param2,
+                                                         final Object param3) {
+        return illegalState(eid, messageFormat, new Object[]{param1, param2, param3});
+    }
+
+    private static EidIllegalStateException illegalState(final Eid eid, final EidMessageSupplier messageSupplier) {
+        EidIllegalStateException reused = EidRuntimeException.reusable(eid, EidIllegalStateException.class);
+        return reused != null ? reused : new EidIllegalStateException(eid, messageSupplier);
+    }
+
+    private static EidNullPointerException nullPointer(final Eid eid) {
+        EidNullPointerException reused = EidRuntimeException.reusable(eid, EidNullPointerException.class);
+        return reused != null ? reused : new EidNullPointerException(eid);
+    }
+
+    private static EidNullPointerException nullPointer(final Eid eid, final String messageFormat,
+                                                       final Object[] parameters) {
+        EidNullPointerException reused = EidRuntimeException.reusable(eid, EidNullPointerException.class);
+        return reused != null ? reused : new EidNullPointerException(eid, messageFormat, parameters);
+    }
+
+    private static EidNullPointerException nullPointer(final Eid eid, final String messageFormat, final Object param1) {
+        return nullPointer(eid, messageFormat, new Object[]{param1});
+    }
+
+    private static EidNullPointerException nullPointer(final Eid eid, final String messageFormat, final Object param1,
+                                                       final Object param2) {
+        return nullPointer(eid, messageFormat, new Object[]{param1, param2});
+    }
+
+    private static EidNullPointerException nullPointer(final Eid eid, final String messageFormat, final Object param1,
+                                                       final Object param2, final Object param3) {
+        return nullPointer(eid, messageFormat, new Object[]{param1, param2, param3});
+    }
+
+    private static EidNullPointerException nullPointer(final Eid eid, final EidMessageSupplier messageSupplier) {
+        EidNullPointerException reused = EidRuntimeException.reusable(eid, EidNullPointerException.class);
+        return reused != null ? reused : new EidNullPointerException(eid, messageSupplier);
+    }
+
+    private static EidRuntimeException invalidElementIndex(final int size, final Eid eid) {
+        if (isSizeIllegal(size)) {
+            EidIllegalArgumentException reused = EidRuntimeException.reusable(eid, EidIllegalArgumentException.class);
+            return reused != null ? reused : new EidIllegalArgumentException(eid);
+        }
+        EidIndexOutOfBoundsException reused = EidRuntimeException.reusable(eid, EidIndexOutOfBoundsException.class);
+        return reused != null ? reused : new EidIndexOutOfBoundsException(eid);
+    }
+
+    private static EidRuntimeException invalidElementIndex(final int size, final Eid eid, final String messageFormat,
+                                                           final Object[] parameters) {
+        if (isSizeIllegal(size)) {
+            EidIllegalArgumentException reused = EidRuntimeException.reusable(eid, EidIllegalArgumentException.class);
+            return reused != null ? reused : new EidIllegalArgumentException(eid, messageFormat, parameters);
+        }
+        EidIndexOutOfBoundsException reused = EidRuntimeException.reusable(eid, EidIndexOutOfBoundsException.class);
+        return reused != null ? reused : new EidIndexOutOfBoundsException(eid, messageFormat, parameters);
+    }
+
+    private static EidRuntimeException invalidElementIndex(final int size, final Eid eid, final String messageFormat,
+                                                           final Object param1) {
+        return invalidElementIndex(size, eid, messageFormat, new Object[]{param1});
+    }
+
+    private static EidRuntimeException invalidElementIndex(final int size, final Eid eid, final String messageFormat,
+                                                           final Object param1, final Object param2) {
+        return invalidElementIndex(size, eid, messageFormat, new Object[]{param1, param2});
+    }
+
+    private static EidRuntimeException invalidElementIndex(final int size, final Eid eid, final String messageFormat,
+                                                           final Object param1, final Object param2,
+                                                           final Object param3) {
+        return invalidElementIndex(size, eid, messageFormat, new Object[]{param1, param2, param3});
+    }
+
+    private static EidRuntimeException invalidElementIndex(final int size, final Eid eid,
+                                                           final EidMessageSupplier messageSupplier) {
+        if (isSizeIllegal(size)) {
+            EidIllegalArgumentException reused = EidRuntimeException.reusable(eid, EidIllegalArgumentException.class);
+            return reused != null ? reused : new EidIllegalArgumentException(eid, messageSupplier);
+        }
+        EidIndexOutOfBoundsException reused = EidRuntimeException.reusable(eid, EidIndexOutOfBoundsException.class);
+        return reused != null ? reused : new EidIndexOutOfBoundsException(eid, messageSupplier);
+    }
+
     private static Eid ensureEid(@Nullable Eid eid) {
         if (eid == null) {
-            return new Eid("20160329:132823", "EID-NULL");
+            return NULL_EID.newEid();
         }
         return eid;
     }
 
     private static Eid ensureEid(@Nullable String eid) {
         if (eid == null) {
-            return new Eid("20160329:133052", "EID-NULL");
+            return NULL_STRING_EID.newEid();
         }
-        return new Eid(eid);
+        return Eid.of(eid).newEid();
     }
 }
@@ -0,0 +1,568 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.utils;
+
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidConfiguration;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidIndexOutOfBoundsException;
+import pl.wavesoftware.eid.exceptions.EidMessageSupplier;
+import pl.wavesoftware.eid.exceptions.EidNullPointerException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+import java.io.IOException;
+
+/**
+ * Warms up failure paths of Eid exceptions, so the first real failure doesn't pay for loading and initialization of
+ * classes, nor for running interpreted code. Each iteration fails every overload of {@link EidPreconditions} checks,
+ * wraps checked exceptions with each of <code>tryToExecute</code> methods, calls every
+ * constructor of each Eid exception, and renders messages of all of them, with current configuration.
+ * <p>
+ * Call it at startup, off the request path:
+ * <pre>
+ * EidWarmup.warmUpInBackground();
+ * </pre>
+ * Exceptions created by warm-up are neither reported to an occurrence listener, nor counted by a fast throw policy.
+ * A unique ID generator of current configuration is initialized, but thread local state of a generator is
+ * initialized only for a warming thread.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class EidWarmup {
+
+    /**
+     * Default number of iterations. It's enough for most of methods to be compiled by C1, with tiered compilation.
+     */
+    public static final int DEFAULT_ITERATIONS = 200;
+
+    private static final String ID = "20181019:180000";
+    private static final String REF = "WARMUP";
+    private static final String FORMAT = "Warm-up %s";
+    private static final Object PARAMETER = "parameter";
+    private static final Object[] PARAMETERS = {PARAMETER};
+    private static final int INT_PARAMETER = 1;
+    private static final long LONG_PARAMETER = 2L;
+    private static final double DOUBLE_PARAMETER = 3.0d;
+    private static final char CHAR_PARAMETER = '4';
+    private static final boolean BOOLEAN_PARAMETER = true;
+    private static final Throwable CAUSE = new IOException("Warm-up");
+    private static final EidMessageSupplier SUPPLIER = new EidMessageSupplier() {
+        @Override
+        public String get() {
+            return "Warm-up";
+        }
+    };
+    private static final EidPreconditions.UnsafeSupplier<Object> FAILING_SUPPLIER =
+        new EidPreconditions.UnsafeSupplier<Object>() {
+            @Override
+            public Object get() throws IOException {
+                throw new IOException("Warm-up");
+            }
+        };
+    private static final EidPreconditions.UnsafeProcedure FAILING_PROCEDURE = new EidPreconditions.UnsafeProcedure() {
+        @Override
+        public void execute() throws IOException {
+            throw new IOException("Warm-up");
+        }
+    };
+    private static final int OVERLOADS = 22;
+    private static final int CHECKS = 4;
+    private static final int KINDS = 5;
+    private static final int CONSTRUCTORS = 7;
+
+    private static volatile int sink;
+
+    private EidWarmup() {
+        // utility class
+    }
+
+    /**
+     * Warms up failure paths with {@link #DEFAULT_ITERATIONS}, in current thread
+     */
+    public static void warmUp() {
+        warmUp(DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * Warms up failure paths, in current thread
+     *
+     * @param iterations a number of iterations
+     * @throws IllegalArgumentException if number of iterations isn't positive
+     */
+    public static void warmUp(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Number of iterations must be positive, but given " + iterations);
+        }
+        EidConfiguration configuration = Eid.getConfiguration()
+            .withOccurrenceListener(EidRuntimeException.NO_OCCURRENCE_LISTENER)
+            .withFastThrowPolicy(EidRuntimeException.NO_FAST_THROW_POLICY);
+        Eid.ConfigurationScope scope = Eid.overrideConfiguration(configuration);
+        try {
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                runIteration();
+            }
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Warms up failure paths with {@link #DEFAULT_ITERATIONS}, in a new daemon thread
+     *
+     * @return a started thread, that can be joined to wait for warm-up to complete
+     */
+    public static Thread warmUpInBackground() {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                warmUp();
+            }
+        }, "eid-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void runIteration() {
+        for (int check = 0; check < CHECKS; check++) {
+            for (int overload = 0; overload < OVERLOADS; overload++) {
+                try {
+                    fail(check, overload);
+                } catch (EidRuntimeException ex) {
+                    consume(ex);
+                }
+            }
+        }
+        try {
+            EidPreconditions.tryToExecute(FAILING_SUPPLIER, ID);
+        } catch (EidRuntimeException ex) {
+            consume(ex);
+        }
+        try {
+            EidPreconditions.tryToExecute(FAILING_SUPPLIER, new Eid(ID));
+        } catch (EidRuntimeException ex) {
+            consume(ex);
+        }
+        try {
+            EidPreconditions.tryToExecute(FAILING_PROCEDURE, ID);
+        } catch (EidRuntimeException ex) {
+            consume(ex);
+        }
+        try {
+            EidPreconditions.tryToExecute(FAILING_PROCEDURE, new Eid(ID));
+        } catch (EidRuntimeException ex) {
+            consume(ex);
+        }
+        for (int kind = 0; kind < KINDS; kind++) {
+            for (int constructor = 0; constructor < CONSTRUCTORS; constructor++) {
+                consume(construct(kind, constructor));
+            }
+        }
+    }
+
+    private static void consume(EidRuntimeException exception) {
+        sink += exception.getMessage().length() + exception.getEid().getUniq().length()
+            + exception.getStandardJdkClass().hashCode();
+    }
+
+    private static void fail(int check, int overload) {
+        switch (check) {
+            case 0:
+                checkArgument(overload);
+                break;
+            case 1:
+                checkState(overload);
+                break;
+            case 2:
+                checkNotNull(overload);
+                break;
+            default:
+                checkElementIndex(overload);
+                break;
+        }
+    }
+
+    private static void checkArgument(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkArgument(false, ID);
+                break;
+            case 1:
+                EidPreconditions.checkArgument(false, ID, FORMAT, PARAMETERS);
+                break;
+            case 2:
+                EidPreconditions.checkArgument(false, ID, FORMAT, PARAMETER);
+                break;
+            case 3:
+                EidPreconditions.checkArgument(false, ID, FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 4:
+                EidPreconditions.checkArgument(false, ID, FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 5:
+                EidPreconditions.checkArgument(false, ID, FORMAT, INT_PARAMETER);
+                break;
+            case 6:
+                EidPreconditions.checkArgument(false, ID, FORMAT, LONG_PARAMETER);
+                break;
+            case 7:
+                EidPreconditions.checkArgument(false, ID, FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 8:
+                EidPreconditions.checkArgument(false, ID, FORMAT, CHAR_PARAMETER);
+                break;
+            case 9:
+                EidPreconditions.checkArgument(false, ID, FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 10:
+                EidPreconditions.checkArgument(false, ID, SUPPLIER);
+                break;
+            case 11:
+                EidPreconditions.checkArgument(false, new Eid(ID));
+                break;
+            case 12:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, PARAMETERS);
+                break;
+            case 13:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, PARAMETER);
+                break;
+            case 14:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 15:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 16:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, INT_PARAMETER);
+                break;
+            case 17:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, LONG_PARAMETER);
+                break;
+            case 18:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 19:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, CHAR_PARAMETER);
+                break;
+            case 20:
+                EidPreconditions.checkArgument(false, new Eid(ID), FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 21:
+                EidPreconditions.checkArgument(false, new Eid(ID), SUPPLIER);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown overload: " + overload);
+        }
+    }
+
+    private static void checkState(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkState(false, ID);
+                break;
+            case 1:
+                EidPreconditions.checkState(false, ID, FORMAT, PARAMETERS);
+                break;
+            case 2:
+                EidPreconditions.checkState(false, ID, FORMAT, PARAMETER);
+                break;
+            case 3:
+                EidPreconditions.checkState(false, ID, FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 4:
+                EidPreconditions.checkState(false, ID, FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 5:
+                EidPreconditions.checkState(false, ID, FORMAT, INT_PARAMETER);
+                break;
+            case 6:
+                EidPreconditions.checkState(false, ID, FORMAT, LONG_PARAMETER);
+                break;
+            case 7:
+                EidPreconditions.checkState(false, ID, FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 8:
+                EidPreconditions.checkState(false, ID, FORMAT, CHAR_PARAMETER);
+                break;
+            case 9:
+                EidPreconditions.checkState(false, ID, FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 10:
+                EidPreconditions.checkState(false, ID, SUPPLIER);
+                break;
+            case 11:
+                EidPreconditions.checkState(false, new Eid(ID));
+                break;
+            case 12:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, PARAMETERS);
+                break;
+            case 13:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, PARAMETER);
+                break;
+            case 14:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 15:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 16:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, INT_PARAMETER);
+                break;
+            case 17:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, LONG_PARAMETER);
+                break;
+            case 18:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 19:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, CHAR_PARAMETER);
+                break;
+            case 20:
+                EidPreconditions.checkState(false, new Eid(ID), FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 21:
+                EidPreconditions.checkState(false, new Eid(ID), SUPPLIER);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown overload: " + overload);
+        }
+    }
+
+    private static void checkNotNull(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkNotNull(null, ID);
+                break;
+            case 1:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, PARAMETERS);
+                break;
+            case 2:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, PARAMETER);
+                break;
+            case 3:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 4:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 5:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, INT_PARAMETER);
+                break;
+            case 6:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, LONG_PARAMETER);
+                break;
+            case 7:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 8:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, CHAR_PARAMETER);
+                break;
+            case 9:
+                EidPreconditions.checkNotNull(null, ID, FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 10:
+                EidPreconditions.checkNotNull(null, ID, SUPPLIER);
+                break;
+            case 11:
+                EidPreconditions.checkNotNull(null, new Eid(ID));
+                break;
+            case 12:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, PARAMETERS);
+                break;
+            case 13:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, PARAMETER);
+                break;
+            case 14:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 15:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 16:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, INT_PARAMETER);
+                break;
+            case 17:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, LONG_PARAMETER);
+                break;
+            case 18:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 19:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, CHAR_PARAMETER);
+                break;
+            case 20:
+                EidPreconditions.checkNotNull(null, new Eid(ID), FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 21:
+                EidPreconditions.checkNotNull(null, new Eid(ID), SUPPLIER);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown overload: " + overload);
+        }
+    }
+
+    private static void checkElementIndex(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkElementIndex(0, 0, ID);
+                break;
+            case 1:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, PARAMETERS);
+                break;
+            case 2:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, PARAMETER);
+                break;
+            case 3:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 4:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 5:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, INT_PARAMETER);
+                break;
+            case 6:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, LONG_PARAMETER);
+                break;
+            case 7:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 8:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, CHAR_PARAMETER);
+                break;
+            case 9:
+                EidPreconditions.checkElementIndex(0, 0, ID, FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 10:
+                EidPreconditions.checkElementIndex(0, 0, ID, SUPPLIER);
+                break;
+            case 11:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID));
+                break;
+            case 12:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, PARAMETERS);
+                break;
+            case 13:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, PARAMETER);
+                break;
+            case 14:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, PARAMETER, PARAMETER);
+                break;
+            case 15:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, PARAMETER, PARAMETER, PARAMETER);
+                break;
+            case 16:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, INT_PARAMETER);
+                break;
+            case 17:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, LONG_PARAMETER);
+                break;
+            case 18:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, DOUBLE_PARAMETER);
+                break;
+            case 19:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, CHAR_PARAMETER);
+                break;
+            case 20:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), FORMAT, BOOLEAN_PARAMETER);
+                break;
+            case 21:
+                EidPreconditions.checkElementIndex(0, 0, new Eid(ID), SUPPLIER);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown overload: " + overload);
+        }
+    }
+
+    private static EidRuntimeException construct(int kind, int constructor) {
+        switch (kind * CONSTRUCTORS + constructor) {
+            case 0:
+                return new EidRuntimeException(ID, REF);
+            case 1:
+                return new EidRuntimeException(ID, CAUSE);
+            case 2:
+                return new EidRuntimeException(ID, REF, CAUSE);
+            case 3:
+                return new EidRuntimeException(new Eid(ID));
+            case 4:
+                return new EidRuntimeException(new Eid(ID), CAUSE);
+            case 5:
+                return new EidRuntimeException(new Eid(ID), FORMAT, PARAMETERS);
+            case 6:
+                return new EidRuntimeException(new Eid(ID), SUPPLIER);
+            case 7:
+                return new EidIllegalArgumentException(ID, REF);
+            case 8:
+                return new EidIllegalArgumentException(ID, CAUSE);
+            case 9:
+                return new EidIllegalArgumentException(ID, REF, CAUSE);
+            case 10:
+                return new EidIllegalArgumentException(new Eid(ID));
+            case 11:
+                return new EidIllegalArgumentException(new Eid(ID), CAUSE);
+            case 12:
+                return new EidIllegalArgumentException(new Eid(ID), FORMAT, PARAMETERS);
+            case 13:
+                return new EidIllegalArgumentException(new Eid(ID), SUPPLIER);
+            case 14:
+                return new EidIllegalStateException(ID, REF);
+            case 15:
+                return new EidIllegalStateException(ID, CAUSE);
+            case 16:
+                return new EidIllegalStateException(ID, REF, CAUSE);
+            case 17:
+                return new EidIllegalStateException(new Eid(ID));
+            case 18:
+                return new EidIllegalStateException(new Eid(ID), CAUSE);
+            case 19:
+                return new EidIllegalStateException(new Eid(ID), FORMAT, PARAMETERS);
+            case 20:
+                return new EidIllegalStateException(new Eid(ID), SUPPLIER);
+            case 21:
+                return new EidNullPointerException(ID, REF);
+            case 22:
+                return new EidNullPointerException(ID, CAUSE);
+            case 23:
+                return new EidNullPointerException(ID, REF, CAUSE);
+            case 24:
+                return new EidNullPointerException(new Eid(ID));
+            case 25:
+                return new EidNullPointerException(new Eid(ID), CAUSE);
+            case 26:
+                return new EidNullPointerException(new Eid(ID), FORMAT, PARAMETERS);
+            case 27:
+                return new EidNullPointerException(new Eid(ID), SUPPLIER);
+            case 28:
+                return new EidIndexOutOfBoundsException(ID, REF);
+            case 29:
+                return new EidIndexOutOfBoundsException(ID, CAUSE);
+            case 30:
+                return new EidIndexOutOfBoundsException(ID, REF, CAUSE);
+            case 31:
+                return new EidIndexOutOfBoundsException(new Eid(ID));
+            case 32:
+                return new EidIndexOutOfBoundsException(new Eid(ID), CAUSE);
+            case 33:
+                return new EidIndexOutOfBoundsException(new Eid(ID), FORMAT, PARAMETERS);
+            case 34:
+                return new EidIndexOutOfBoundsException(new Eid(ID), SUPPLIER);
+            default:
+                throw new IllegalArgumentException("Unknown constructor: " + constructor + " of kind: " + kind);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nullable;
+
+/**
+ * A Flight Recorder event of an Eid exception, that has been created or is about to be thrown again as a shared one.
+ * It's an instant event, recorded with a stack trace of a thread that created an exception. It can be enabled,
+ * disabled, and recorded with or without stack trace, with standard JFR settings, for example:
+ * <pre>
+ * pl.wavesoftware.eid.EidException#enabled=true
+ * pl.wavesoftware.eid.EidException#stackTrace=false
+ * </pre>
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@Name(EidExceptionEvent.NAME)
+@Label("Eid Exception")
+@Category({"Java Application", "Eid"})
+@Description("An Eid exception, that has been created or is about to be thrown again as a shared one")
+@StackTrace
+public final class EidExceptionEvent extends Event {
+
+    /**
+     * A name of event, used in JFR settings and recordings
+     */
+    public static final String NAME = "pl.wavesoftware.eid.EidException";
+
+    @Label("Id")
+    @Description("A constant exception ID, written by developer")
+    @Nullable
+    String id;
+
+    @Label("Ref")
+    @Description("An optional reference of exception ID")
+    String ref;
+
+    @Label("Unique ID")
+    @Description("A unique ID of exception occurrence")
+    String uniq;
+
+    @Label("Exception Class")
+    Class<?> exceptionClass;
+
+    @Label("Standard JDK Class")
+    @Description("A standard JDK exception class, that Eid exception is in place of")
+    Class<?> standardJdkClass;
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Krzysztof Suszyński <krzysztof.suszynski@wavesoftware.pl>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pl.wavesoftware.eid.jfr;
+
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+/**
+ * An occurrence listener, that emits {@link EidExceptionEvent} to Java Flight Recorder for each created Eid exception,
+ * including those thrown by {@link pl.wavesoftware.eid.utils.EidPreconditions}, and for each shared exception thrown
+ * again:
+ * <pre>
+ * EidRuntimeException.setOccurrenceListener(new JfrOccurrenceListener());
+ * </pre>
+ * When event isn't enabled in any running recording, the only cost of listener is a single branch. Events are filled,
+ * and unique IDs are generated, only for enabled events. Another listener can be given, to be notified after an event
+ * is emitted, so JFR events can be used along with metrics or event sinks.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class JfrOccurrenceListener implements EidRuntimeException.OccurrenceListener {
+
+    private final EidRuntimeException.OccurrenceListener next;
+
+    /**
+     * Creates a listener, that only emits JFR events
+     */
+    public JfrOccurrenceListener() {
+        this(EidRuntimeException.NO_OCCURRENCE_LISTENER);
+    }
+
+    /**
+     * Creates a listener, that emits JFR events and then notifies given listener
+     *
+     * @param next a listener to notify after an event is emitted
+     * @throws IllegalArgumentException if given listener was null
+     */
+    public JfrOccurrenceListener(EidRuntimeException.OccurrenceListener next) {
+        if (next == null) {
+            throw new IllegalArgumentException("Occurrence listener can't be null, but given one");
+        }
+        this.next = next;
+    }
+
+    @Override
+    public void occurred(EidRuntimeException exception) {
+        EidExceptionEvent event = new EidExceptionEvent();
+        if (event.isEnabled()) {
+            emit(event, exception);
+        }
+        next.occurred(exception);
+    }
+
+    private static void emit(EidExceptionEvent event, EidRuntimeException exception) {
+        Eid eid = exception.getEid();
+        event.id = eid.getId();
+        event.ref = eid.getRef();
+        event.uniq = eid.getUniq();
+        event.exceptionClass = exception.getClass();
+        event.standardJdkClass = exception.getStandardJdkClass();
+        event.commit();
+    }
+
+    @Override
+    public String toString() {
+        return "JfrOccurrenceListener{next=" + next + '}';
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Integration with Java Flight Recorder. Classes of this package need <code>jdk.jfr</code> API, available since
+ * JDK 8u262 and JDK 11, and are compiled only if a build runs on such JDK.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@javax.annotation.ParametersAreNonnullByDefault
+@pl.wavesoftware.eid.ReturnTypesAreNonnullByDefault
+package pl.wavesoftware.eid.jfr;
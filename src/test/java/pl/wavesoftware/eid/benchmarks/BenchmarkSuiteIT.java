@@ -0,0 +1,130 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.testing.BenchmarkBaseline;
+import pl.wavesoftware.testing.BenchmarkResults;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs all benchmarks of failure paths, from this package, and compares Eid ones with plain JDK exceptions and Guava
+ * preconditions. Each result is also compared with its {@link BenchmarkBaseline}.
+ * <p>
+ * Benchmarks run with GC profiler, so passing checks of {@link PassingCheckBenchmark} are verified to allocate nothing,
+ * and allocations of failure paths are reported per type of exception.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class BenchmarkSuiteIT {
+
+    private static final int BENCHMARKS = 47;
+    private static final int PERCENT = 100;
+    private static final double THROW_CATCH_THRESHOLD = 0.75d;
+    private static final double ALLOCATION_THRESHOLD = 1.0d;
+    private static final String[] PASSING_CHECKS = {
+        "checkArgument", "checkState", "checkNotNull", "checkElementIndex"
+    };
+    private static final String[] ID_KINDS = {"WithStringId", "WithEid"};
+    private static final String EID = ".eid";
+    private static final String[] BASELINES = {".jdk", ".guava"};
+    private static final String[] TYPES = {
+        "RuntimeException", "IllegalArgumentException", "IllegalStateException", "NullPointerException",
+        "IndexOutOfBoundsException"
+    };
+    private static final Logger LOG = LoggerFactory.getLogger(BenchmarkSuiteIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(BenchmarkSuiteIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Options opt = BenchmarkBaseline.configure(new OptionsBuilder()
+                .include(BenchmarkSuiteIT.class.getPackage().getName() + "\\.\\w+Benchmark\\.")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .addProfiler(GCProfiler.class)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .result(BenchmarkBaseline.resultsFileOf(BenchmarkSuiteIT.class))
+                .resultFormat(ResultFormatType.JSON))
+                .build();
+
+        BenchmarkResults results = new BenchmarkResults(new Runner(opt).run());
+        LOG.info("Results:{}", results.toTable());
+        BenchmarkBaseline.of(BenchmarkSuiteIT.class).verify(results);
+        LOG.info("Eid to baseline quotients:{}", quotients(results));
+        LOG.info("Allocations of failure paths:{}", failureAllocations(results));
+        assertThat(results.size()).isEqualTo(BENCHMARKS);
+
+        for (String check : PASSING_CHECKS) {
+            for (String idKind : ID_KINDS) {
+                double allocated = results.allocation(PassingCheckBenchmark.class, check + idKind);
+                String title = String.format("each of %d passing overloads of %s, with %s, should allocate less "
+                    + "than %.2f bytes / op", PassingCheckBenchmark.OVERLOADS, check, idKind,
+                    ALLOCATION_THRESHOLD);
+                assertThat(allocated).as(title).isLessThan(ALLOCATION_THRESHOLD);
+            }
+        }
+
+        for (String type : TYPES) {
+            double eid = results.score(ThrowCatchBenchmark.class, "eid", "type=" + type);
+            double jdk = results.score(ThrowCatchBenchmark.class, "jdk", "type=" + type);
+            String title = String.format("throw and catch speed quotient of Eid exception to JDK %s should be at "
+                + "least %.2f%%", type, THROW_CATCH_THRESHOLD * PERCENT);
+            assertThat(eid / jdk).as(title).isGreaterThanOrEqualTo(THROW_CATCH_THRESHOLD);
+        }
+    }
+
+    private static String failureAllocations(BenchmarkResults results) {
+        StringBuilder sb = new StringBuilder();
+        for (String type : TYPES) {
+            double eid = results.allocation(ThrowCatchBenchmark.class, "eid", "type=" + type);
+            double jdk = results.allocation(ThrowCatchBenchmark.class, "jdk", "type=" + type);
+            sb.append(String.format("%n%-28s Eid %8.2f B/op, JDK %8.2f B/op, extra %8.2f B/op",
+                type, eid, jdk, eid - jdk));
+        }
+        return sb.toString();
+    }
+
+    private static String quotients(BenchmarkResults results) {
+        StringBuilder sb = new StringBuilder();
+        for (String key : results.asMap().keySet()) {
+            if (!key.contains(EID + "(") && !key.endsWith(EID)) {
+                continue;
+            }
+            for (String baseline : BASELINES) {
+                String baselineKey = key.replace(EID, baseline);
+                if (results.asMap().containsKey(baselineKey)) {
+                    sb.append(String.format("%n%-70s %8.2f%% of %s", key,
+                        results.score(key) / results.score(baselineKey) * PERCENT, baseline.substring(1)));
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.wavesoftware.eid.exceptions.Eid;
+
+/**
+ * Renders a new Eid, with and without ref, and compares it with formatting of the same values with
+ * {@link String#format(String, Object...)}.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class EidToStringBenchmark {
+
+    private static final String ID = "20181019:161315";
+    private static final String REF = "PL-1234";
+
+    @Param({"false", "true"})
+    public boolean withRef;
+
+    private String ref;
+
+    private String uniq;
+
+    @Setup
+    public void setup() {
+        ref = withRef ? REF : null;
+        uniq = new Eid(ID).getUniq();
+    }
+
+    @Benchmark
+    public String eid() {
+        return new Eid(ID, ref).toString();
+    }
+
+    @Benchmark
+    public String jdk() {
+        if (ref == null) {
+            return String.format(Eid.DEFAULT_FORMAT, ID, uniq);
+        }
+        return String.format(Eid.DEFAULT_REF_FORMAT, ID, ref, uniq);
+    }
+}
@@ -0,0 +1,66 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+/**
+ * Measures cost of {@link EidRuntimeException#getMessage()}: on first call, when it's rendered, and on following
+ * calls, when it's cached. Exceptions are stackless here, so a difference between {@link #construct()} and
+ * {@link #firstCall()} is a cost of rendering.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class GetMessageBenchmark {
+
+    private static final String ID = "20181019:161020";
+    private static final String FORMAT = "Invalid state %s of %s";
+    private static final String STATE = "CLOSED";
+    private static final Integer ORDER = 42;
+
+    private EidRuntimeException.StackTracePolicy previous;
+
+    private EidRuntimeException eidException;
+
+    private RuntimeException jdkException;
+
+    @Setup
+    public void setup() {
+        previous = EidRuntimeException.setStackTracePolicy(EidRuntimeException.STACKLESS_STACK_TRACE_POLICY);
+        eidException = new EidIllegalStateException(new Eid(ID), FORMAT, STATE, ORDER);
+        eidException.getMessage();
+        jdkException = new IllegalStateException(String.format(FORMAT, STATE, ORDER));
+    }
+
+    @TearDown
+    public void tearDown() {
+        EidRuntimeException.setStackTracePolicy(previous);
+    }
+
+    @Benchmark
+    public Object construct() {
+        return new EidIllegalStateException(new Eid(ID), FORMAT, STATE, ORDER);
+    }
+
+    @Benchmark
+    public String firstCall() {
+        return new EidIllegalStateException(new Eid(ID), FORMAT, STATE, ORDER).getMessage();
+    }
+
+    @Benchmark
+    public String cachedCall() {
+        return eidException.getMessage();
+    }
+
+    @Benchmark
+    public String jdkCall() {
+        return jdkException.getMessage();
+    }
+}
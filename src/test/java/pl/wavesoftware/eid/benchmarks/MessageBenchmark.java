@@ -0,0 +1,70 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import com.google.common.base.Preconditions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+/**
+ * Fails an argument check with a message of growing number of parameters, and renders that message. Compares
+ * {@link EidPreconditions} with Guava {@link Preconditions} and with a plain JDK exception, formatted eagerly.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class MessageBenchmark {
+
+    private static final String ID = "20181019:160455";
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int parameters;
+
+    private String format;
+
+    private Object[] values;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("Invalid values:");
+        values = new Object[parameters];
+        for (int i = 0; i < parameters; i++) {
+            sb.append(" %s");
+            values[i] = "value-" + i;
+        }
+        format = sb.toString();
+    }
+
+    @Benchmark
+    public String eid() {
+        try {
+            EidPreconditions.checkArgument(false, ID, format, values);
+            throw new IllegalStateException("unreachable");
+        } catch (EidIllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String guava() {
+        try {
+            Preconditions.checkArgument(false, format, values);
+            throw new IllegalStateException("unreachable");
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String jdk() {
+        try {
+            throw new IllegalArgumentException(String.format(format, values));
+        } catch (IllegalArgumentException ex) {
+            return ex.getMessage();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidMessageSupplier;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+/**
+ * Calls every overload of passing checks of {@link EidPreconditions}, a benchmark per check and a kind of exception
+ * ID. Passing checks should be free, so each of benchmarks is expected to allocate nothing: no boxing of primitive
+ * parameters, nor arrays of variable arguments, that can't be eliminated.
+ * <p>
+ * Each overload is called from its own call site, in a method that isn't inlined into a benchmark, so checks can't be
+ * folded together nor removed as dead code. The overload with variable arguments is given an array held by the
+ * benchmark, as an array created at a call site is a caller's allocation, and its elimination depends on whether
+ * a failure branch was profiled before a caller was compiled.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class PassingCheckBenchmark {
+
+    static final int OVERLOADS = 11;
+
+    private static final String ID = "20181019:170412";
+    private static final String FORMAT = "Invalid values: %s, %s, %s";
+
+    private Eid eid = new Eid(ID);
+    private boolean valid = true;
+    private Object reference = new Object();
+    private int index = 1;
+    private int size = 3;
+    private Object first = "first";
+    private Object second = 2;
+    private Object third = 3L;
+    private Object[] parameters = {first, second, third};
+    private int intValue = 4;
+    private long longValue = 5L;
+    private double doubleValue = 6.0d;
+    private char charValue = '7';
+    private boolean booleanValue = false;
+    private EidMessageSupplier supplier = new EidMessageSupplier() {
+        @Override
+        public String get() {
+            return "Invalid value: " + first;
+        }
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkArgumentWithStringId(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckArgumentWithStringId(overload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkArgumentWithEid(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckArgumentWithEid(overload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkStateWithStringId(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckStateWithStringId(overload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkStateWithEid(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckStateWithEid(overload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkNotNullWithStringId(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckNotNullWithStringId(overload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkNotNullWithEid(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckNotNullWithEid(overload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkElementIndexWithStringId(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckElementIndexWithStringId(overload));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OVERLOADS)
+    public void checkElementIndexWithEid(Blackhole bh) {
+        for (int overload = 0; overload < OVERLOADS; overload++) {
+            bh.consume(callCheckElementIndexWithEid(overload));
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private boolean callCheckArgumentWithStringId(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkArgument(valid, ID);
+                return valid;
+            case 1:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, parameters);
+                return valid;
+            case 2:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, first);
+                return valid;
+            case 3:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, first, second);
+                return valid;
+            case 4:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, first, second, third);
+                return valid;
+            case 5:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, intValue);
+                return valid;
+            case 6:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, longValue);
+                return valid;
+            case 7:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, doubleValue);
+                return valid;
+            case 8:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, charValue);
+                return valid;
+            case 9:
+                EidPreconditions.checkArgument(valid, ID, FORMAT, booleanValue);
+                return valid;
+            default:
+                EidPreconditions.checkArgument(valid, ID, supplier);
+                return valid;
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private boolean callCheckArgumentWithEid(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkArgument(valid, eid);
+                return valid;
+            case 1:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, parameters);
+                return valid;
+            case 2:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, first);
+                return valid;
+            case 3:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, first, second);
+                return valid;
+            case 4:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, first, second, third);
+                return valid;
+            case 5:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, intValue);
+                return valid;
+            case 6:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, longValue);
+                return valid;
+            case 7:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, doubleValue);
+                return valid;
+            case 8:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, charValue);
+                return valid;
+            case 9:
+                EidPreconditions.checkArgument(valid, eid, FORMAT, booleanValue);
+                return valid;
+            default:
+                EidPreconditions.checkArgument(valid, eid, supplier);
+                return valid;
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private boolean callCheckStateWithStringId(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkState(valid, ID);
+                return valid;
+            case 1:
+                EidPreconditions.checkState(valid, ID, FORMAT, parameters);
+                return valid;
+            case 2:
+                EidPreconditions.checkState(valid, ID, FORMAT, first);
+                return valid;
+            case 3:
+                EidPreconditions.checkState(valid, ID, FORMAT, first, second);
+                return valid;
+            case 4:
+                EidPreconditions.checkState(valid, ID, FORMAT, first, second, third);
+                return valid;
+            case 5:
+                EidPreconditions.checkState(valid, ID, FORMAT, intValue);
+                return valid;
+            case 6:
+                EidPreconditions.checkState(valid, ID, FORMAT, longValue);
+                return valid;
+            case 7:
+                EidPreconditions.checkState(valid, ID, FORMAT, doubleValue);
+                return valid;
+            case 8:
+                EidPreconditions.checkState(valid, ID, FORMAT, charValue);
+                return valid;
+            case 9:
+                EidPreconditions.checkState(valid, ID, FORMAT, booleanValue);
+                return valid;
+            default:
+                EidPreconditions.checkState(valid, ID, supplier);
+                return valid;
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private boolean callCheckStateWithEid(int overload) {
+        switch (overload) {
+            case 0:
+                EidPreconditions.checkState(valid, eid);
+                return valid;
+            case 1:
+                EidPreconditions.checkState(valid, eid, FORMAT, parameters);
+                return valid;
+            case 2:
+                EidPreconditions.checkState(valid, eid, FORMAT, first);
+                return valid;
+            case 3:
+                EidPreconditions.checkState(valid, eid, FORMAT, first, second);
+                return valid;
+            case 4:
+                EidPreconditions.checkState(valid, eid, FORMAT, first, second, third);
+                return valid;
+            case 5:
+                EidPreconditions.checkState(valid, eid, FORMAT, intValue);
+                return valid;
+            case 6:
+                EidPreconditions.checkState(valid, eid, FORMAT, longValue);
+                return valid;
+            case 7:
+                EidPreconditions.checkState(valid, eid, FORMAT, doubleValue);
+                return valid;
+            case 8:
+                EidPreconditions.checkState(valid, eid, FORMAT, charValue);
+                return valid;
+            case 9:
+                EidPreconditions.checkState(valid, eid, FORMAT, booleanValue);
+                return valid;
+            default:
+                EidPreconditions.checkState(valid, eid, supplier);
+                return valid;
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private Object callCheckNotNullWithStringId(int overload) {
+        switch (overload) {
+            case 0:
+                return EidPreconditions.checkNotNull(reference, ID);
+            case 1:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, parameters);
+            case 2:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, first);
+            case 3:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, first, second);
+            case 4:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, first, second, third);
+            case 5:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, intValue);
+            case 6:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, longValue);
+            case 7:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, doubleValue);
+            case 8:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, charValue);
+            case 9:
+                return EidPreconditions.checkNotNull(reference, ID, FORMAT, booleanValue);
+            default:
+                return EidPreconditions.checkNotNull(reference, ID, supplier);
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private Object callCheckNotNullWithEid(int overload) {
+        switch (overload) {
+            case 0:
+                return EidPreconditions.checkNotNull(reference, eid);
+            case 1:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, parameters);
+            case 2:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, first);
+            case 3:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, first, second);
+            case 4:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, first, second, third);
+            case 5:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, intValue);
+            case 6:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, longValue);
+            case 7:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, doubleValue);
+            case 8:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, charValue);
+            case 9:
+                return EidPreconditions.checkNotNull(reference, eid, FORMAT, booleanValue);
+            default:
+                return EidPreconditions.checkNotNull(reference, eid, supplier);
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private int callCheckElementIndexWithStringId(int overload) {
+        switch (overload) {
+            case 0:
+                return EidPreconditions.checkElementIndex(index, size, ID);
+            case 1:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, parameters);
+            case 2:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, first);
+            case 3:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, first, second);
+            case 4:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, first, second, third);
+            case 5:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, intValue);
+            case 6:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, longValue);
+            case 7:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, doubleValue);
+            case 8:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, charValue);
+            case 9:
+                return EidPreconditions.checkElementIndex(index, size, ID, FORMAT, booleanValue);
+            default:
+                return EidPreconditions.checkElementIndex(index, size, ID, supplier);
+        }
+    }
+
+    @CompilerControl(CompilerControl.Mode.DONT_INLINE)
+    private int callCheckElementIndexWithEid(int overload) {
+        switch (overload) {
+            case 0:
+                return EidPreconditions.checkElementIndex(index, size, eid);
+            case 1:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, parameters);
+            case 2:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, first);
+            case 3:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, first, second);
+            case 4:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, first, second, third);
+            case 5:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, intValue);
+            case 6:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, longValue);
+            case 7:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, doubleValue);
+            case 8:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, charValue);
+            case 9:
+                return EidPreconditions.checkElementIndex(index, size, eid, FORMAT, booleanValue);
+            default:
+                return EidPreconditions.checkElementIndex(index, size, eid, supplier);
+        }
+    }
+}
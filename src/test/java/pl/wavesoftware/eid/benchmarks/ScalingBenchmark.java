@@ -0,0 +1,37 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+
+/**
+ * Operations, that are run on growing number of threads by {@link ThreadScalingIT}: all of them touch state shared
+ * between threads, like configuration, unique ID generator and interned definitions.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class ScalingBenchmark {
+
+    private static final String ID = "20181019:173516";
+
+    @Benchmark
+    public Object newEid() {
+        return new Eid(ID);
+    }
+
+    @Benchmark
+    public String getUniq() {
+        return new Eid(ID).getUniq();
+    }
+
+    @Benchmark
+    public String eidToString() {
+        return new Eid(ID).toString();
+    }
+
+    @Benchmark
+    public Object newException() {
+        return new EidIllegalArgumentException(new Eid(ID));
+    }
+}
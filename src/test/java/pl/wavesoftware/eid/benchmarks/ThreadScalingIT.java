@@ -0,0 +1,106 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.testing.BenchmarkResults;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link ScalingBenchmark} on 1, 2, 4, ... threads, up to the number of available processors, and reports
+ * throughput per thread and scaling efficiency: throughput per thread relative to a single thread one. With perfect
+ * scaling, and no contention on shared state, efficiency stays at 100%.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class ThreadScalingIT {
+
+    private static final int PERCENT = 100;
+    private static final double EFFICIENCY_THRESHOLD = 0.5d;
+    private static final String[] BENCHMARKS = {"newEid", "getUniq", "eidToString", "newException"};
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadScalingIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(ThreadScalingIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        List<Integer> threadCounts = threadCounts(Runtime.getRuntime().availableProcessors());
+        Map<Integer, BenchmarkResults> results = new LinkedHashMap<Integer, BenchmarkResults>();
+        for (int threads : threadCounts) {
+            results.put(threads, runWith(threads));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (String benchmark : BENCHMARKS) {
+            double single = results.get(1).score(ScalingBenchmark.class, benchmark);
+            for (Map.Entry<Integer, BenchmarkResults> entry : results.entrySet()) {
+                int threads = entry.getKey();
+                double perThread = entry.getValue().score(ScalingBenchmark.class, benchmark) / threads;
+                double efficiency = perThread / single;
+                sb.append(String.format("%n%-14s %3d threads: %10.4f ops / µsec / thread, efficiency %7.2f%%",
+                    benchmark, threads, perThread, efficiency * PERCENT));
+            }
+        }
+        LOG.info("Scaling:{}", sb);
+
+        int maxThreads = threadCounts.get(threadCounts.size() - 1);
+        for (String benchmark : BENCHMARKS) {
+            double single = results.get(1).score(ScalingBenchmark.class, benchmark);
+            double efficiency = results.get(maxThreads).score(ScalingBenchmark.class, benchmark)
+                / maxThreads / single;
+            String title = String.format("scaling efficiency of %s on %d threads should be at least %.2f%%",
+                benchmark, maxThreads, EFFICIENCY_THRESHOLD * PERCENT);
+            assertThat(efficiency).as(title).isGreaterThanOrEqualTo(EFFICIENCY_THRESHOLD);
+        }
+    }
+
+    static List<Integer> threadCounts(int processors) {
+        List<Integer> counts = new ArrayList<Integer>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(processors);
+        return counts;
+    }
+
+    private static BenchmarkResults runWith(int threads) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(ScalingBenchmark.class.getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(threads)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        BenchmarkResults results = new BenchmarkResults(new Runner(opt).run());
+        assertThat(results.size()).isEqualTo(BENCHMARKS.length);
+        return results;
+    }
+}
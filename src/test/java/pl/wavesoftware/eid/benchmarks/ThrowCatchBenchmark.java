@@ -0,0 +1,118 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidIndexOutOfBoundsException;
+import pl.wavesoftware.eid.exceptions.EidNullPointerException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+/**
+ * Throws and catches each of Eid exceptions, and a plain JDK exception it's based on.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class ThrowCatchBenchmark {
+
+    private static final String ID = "20181019:160112";
+
+    @Param({
+        "RuntimeException", "IllegalArgumentException", "IllegalStateException", "NullPointerException",
+        "IndexOutOfBoundsException"
+    })
+    public String type;
+
+    private Kind kind;
+
+    @Setup
+    public void setup() {
+        kind = Kind.valueOf(type);
+    }
+
+    @Benchmark
+    public RuntimeException eid() {
+        try {
+            throw kind.eid(new Eid(ID));
+        } catch (EidRuntimeException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public RuntimeException jdk() {
+        try {
+            throw kind.jdk();
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+    private enum Kind {
+        RuntimeException {
+            @Override
+            EidRuntimeException eid(Eid eid) {
+                return new EidRuntimeException(eid);
+            }
+
+            @Override
+            RuntimeException jdk() {
+                return new RuntimeException();
+            }
+        },
+        IllegalArgumentException {
+            @Override
+            EidRuntimeException eid(Eid eid) {
+                return new EidIllegalArgumentException(eid);
+            }
+
+            @Override
+            RuntimeException jdk() {
+                return new IllegalArgumentException();
+            }
+        },
+        IllegalStateException {
+            @Override
+            EidRuntimeException eid(Eid eid) {
+                return new EidIllegalStateException(eid);
+            }
+
+            @Override
+            RuntimeException jdk() {
+                return new IllegalStateException();
+            }
+        },
+        NullPointerException {
+            @Override
+            EidRuntimeException eid(Eid eid) {
+                return new EidNullPointerException(eid);
+            }
+
+            @Override
+            RuntimeException jdk() {
+                return new NullPointerException();
+            }
+        },
+        IndexOutOfBoundsException {
+            @Override
+            EidRuntimeException eid(Eid eid) {
+                return new EidIndexOutOfBoundsException(eid);
+            }
+
+            @Override
+            RuntimeException jdk() {
+                return new IndexOutOfBoundsException();
+            }
+        };
+
+        abstract EidRuntimeException eid(Eid eid);
+
+        abstract RuntimeException jdk();
+    }
+}
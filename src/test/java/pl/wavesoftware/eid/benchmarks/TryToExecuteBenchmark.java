@@ -0,0 +1,67 @@
+package pl.wavesoftware.eid.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+import java.io.IOException;
+
+/**
+ * Wraps a checked exception, with a chain of causes of given depth, with
+ * {@link EidPreconditions#tryToExecute(EidPreconditions.UnsafeSupplier, String)} and with a plain JDK exception. A
+ * chain of causes is built once, so only wrapping and rendering of message is measured.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class TryToExecuteBenchmark {
+
+    private static final String ID = "20181019:160738";
+
+    @Param({"1", "4", "16"})
+    public int causeDepth;
+
+    private EidPreconditions.UnsafeSupplier<Object> supplier;
+
+    @Setup
+    public void setup() {
+        IOException cause = new IOException("Cause at depth 1");
+        for (int depth = 2; depth <= causeDepth; depth++) {
+            cause = new IOException("Cause at depth " + depth, cause);
+        }
+        final IOException thrown = cause;
+        supplier = new EidPreconditions.UnsafeSupplier<Object>() {
+            @Override
+            public Object get() throws IOException {
+                throw thrown;
+            }
+        };
+    }
+
+    @Benchmark
+    public String eid() {
+        try {
+            return String.valueOf(EidPreconditions.tryToExecute(supplier, ID));
+        } catch (EidRuntimeException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String jdk() {
+        try {
+            try {
+                return String.valueOf(supplier.get());
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        } catch (RuntimeException ex) {
+            return ex.getMessage();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package pl.wavesoftware.eid.events;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures latency of publishing an Eid exception occurrence on throwing threads, under contention of 4 threads. An
+ * {@link AsyncEidDispatcher} with a file sink is compared with the same file sink called synchronously.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class AsyncEidDispatcherIT {
+
+    private static final int PERCENT = 100;
+    private static final int THREADS = 4;
+    private static final double P99 = 99d;
+    private static final double LATENCY_THRESHOLD = 0.5d;
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEidDispatcherIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(AsyncEidDispatcherIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(THREADS)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        Collection<RunResult> results = new Runner(opt).run();
+        assertThat(results).hasSize(2);
+
+        Statistics sync = getRunResultByName(results, "publishSynchronously").getPrimaryResult().getStatistics();
+        Statistics async = getRunResultByName(results, "publishAsynchronously").getPrimaryResult().getStatistics();
+        double quotient = async.getMean() / sync.getMean();
+        String title = String.format("mean latency of asynchronous publishing to synchronous one on %d threads "
+            + "should be at most %.2f%%", THREADS, LATENCY_THRESHOLD * PERCENT);
+
+        LOG.info(String.format("synchronous:  mean %10.2f ns, p99 %10.2f ns", sync.getMean(), sync.getPercentile(P99)));
+        LOG.info(String.format("asynchronous: mean %10.2f ns, p99 %10.2f ns", async.getMean(),
+            async.getPercentile(P99)));
+        LOG.info(String.format("%s and is %.2f%%", title, quotient * PERCENT));
+
+        assertThat(quotient).as(title).isLessThanOrEqualTo(LATENCY_THRESHOLD);
+    }
+
+    @Benchmark
+    public void publishSynchronously(Synchronous synchronous, Occurrence occurrence) throws IOException {
+        synchronous.sink.accept(Collections.singletonList(occurrence.event));
+    }
+
+    @Benchmark
+    public void publishAsynchronously(Asynchronous asynchronous, Occurrence occurrence) {
+        asynchronous.dispatcher.occurred(occurrence.exception);
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", AsyncEidDispatcherIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181019:134108", "Invalid name: " + name);
+    }
+
+    private static File newFile() throws IOException {
+        File file = File.createTempFile("eid-events", ".log");
+        file.deleteOnExit();
+        return file;
+    }
+
+    @State(Scope.Thread)
+    public static class Occurrence {
+        private EidRuntimeException exception;
+        private EidEvent event;
+
+        @Setup
+        public void setup() {
+            exception = new EidIllegalStateException(new Eid("20181019:134125"));
+            Eid eid = exception.getEid();
+            Thread thread = Thread.currentThread();
+            event = new EidEvent(eid.getId(), eid.getRef(), eid.getUniq(), eid.getTimestamp(), exception.getClass(),
+                thread.getName(), thread.getId());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Synchronous {
+        private FileEidEventSink sink;
+
+        @Setup
+        public void setup() throws IOException {
+            sink = new FileEidEventSink(newFile());
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            sink.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Asynchronous {
+        private FileEidEventSink sink;
+        private AsyncEidDispatcher dispatcher;
+
+        @Setup
+        public void setup() throws IOException {
+            sink = new FileEidEventSink(newFile());
+            dispatcher = new AsyncEidDispatcher(AsyncEidDispatcher.OverflowPolicy.COUNT, sink).start();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            dispatcher.close();
+            sink.close();
+            LOG.info("Asynchronous: {}", dispatcher);
+        }
+    }
+}
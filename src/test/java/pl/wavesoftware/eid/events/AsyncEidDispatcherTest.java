@@ -0,0 +1,279 @@
+package pl.wavesoftware.eid.events;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class AsyncEidDispatcherTest {
+
+    private static final long TIMEOUT = 10L;
+    private static final long BLOCKED_MILLIS = 200L;
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private EidRuntimeException.OccurrenceListener previous;
+
+    @Before
+    public void before() {
+        previous = EidRuntimeException.NO_OCCURRENCE_LISTENER;
+    }
+
+    @After
+    public void after() {
+        EidRuntimeException.setOccurrenceListener(previous);
+    }
+
+    @Test
+    public void testOccurred() throws InterruptedException {
+        // given
+        InMemoryEidEventSink sink = new InMemoryEidEventSink();
+        AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(AsyncEidDispatcher.OverflowPolicy.COUNT, sink).start();
+        previous = EidRuntimeException.setOccurrenceListener(dispatcher);
+
+        // when
+        EidRuntimeException first = new EidRuntimeException("20181019:132101", "REF");
+        EidRuntimeException second = null;
+        try {
+            EidPreconditions.checkArgument(false, "20181019:132112", "Invalid: %s", "value");
+        } catch (EidIllegalArgumentException ex) {
+            second = ex;
+        }
+        boolean received = sink.awaitEvents(2, TIMEOUT, TimeUnit.SECONDS);
+        dispatcher.close();
+
+        // then
+        assertThat(received).isTrue();
+        List<EidEvent> events = sink.getEvents();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getId()).isEqualTo("20181019:132101");
+        assertThat(events.get(0).getRef()).isEqualTo("REF");
+        assertThat(events.get(0).getExceptionType()).isEqualTo(EidRuntimeException.class);
+        assertThat(events.get(1).getId()).isEqualTo("20181019:132112");
+        assertThat(events.get(1).getExceptionType()).isEqualTo(EidIllegalArgumentException.class);
+        assertThat(events.get(1).getThreadName()).isEqualTo(Thread.currentThread().getName());
+        assertThat(second).isNotNull();
+        assertThat(first.getEid().getUniq()).isEqualTo(events.get(0).getUniq());
+        assertThat(second.getEid().getUniq()).isEqualTo(events.get(1).getUniq());
+        assertThat(dispatcher.getDispatchedCount()).isEqualTo(2L);
+        assertThat(dispatcher.toString()).contains("dispatched=2");
+    }
+
+    @Test
+    public void testOccurred_OverflowCount() {
+        // given
+        InMemoryEidEventSink sink = new InMemoryEidEventSink();
+        AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(2, 1, AsyncEidDispatcher.OverflowPolicy.COUNT, sink);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            dispatcher.occurred(new EidRuntimeException(new Eid("20181019:132406")));
+        }
+        dispatcher.start().close();
+
+        // then
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(3L);
+        assertThat(sink.getEvents()).hasSize(2);
+    }
+
+    @Test
+    public void testOccurred_OverflowDrop() {
+        // given
+        InMemoryEidEventSink sink = new InMemoryEidEventSink();
+        AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(2, 1, AsyncEidDispatcher.OverflowPolicy.DROP, sink);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            dispatcher.occurred(new EidRuntimeException(new Eid("20181019:132512")));
+        }
+        dispatcher.start().close();
+
+        // then
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(0L);
+        assertThat(sink.getEvents()).hasSize(2);
+    }
+
+    @Test
+    public void testOccurred_OverflowBlock() throws InterruptedException {
+        // given
+        final CountDownLatch release = new CountDownLatch(1);
+        final InMemoryEidEventSink sink = new InMemoryEidEventSink();
+        final AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(2, 1, AsyncEidDispatcher.OverflowPolicy.BLOCK,
+            new EidEventSink() {
+                @Override
+                public void accept(List<EidEvent> events) throws IOException {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        throw new IOException(ex);
+                    }
+                    sink.accept(events);
+                }
+            }
+        ).start();
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 10; i++) {
+                    dispatcher.occurred(new EidRuntimeException(new Eid("20181019:132623")));
+                }
+            }
+        });
+
+        // when
+        producer.start();
+        producer.join(BLOCKED_MILLIS);
+        boolean blocked = producer.isAlive();
+        release.countDown();
+        producer.join();
+        dispatcher.close();
+
+        // then
+        assertThat(blocked).isTrue();
+        assertThat(sink.getEvents()).hasSize(10);
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testOccurred_OverflowBlockOnConsumer() throws InterruptedException {
+        // given
+        final CountDownLatch filled = new CountDownLatch(1);
+        final InMemoryEidEventSink sink = new InMemoryEidEventSink();
+        AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(2, 1, AsyncEidDispatcher.OverflowPolicy.BLOCK,
+            new EidEventSink() {
+                private boolean failed;
+
+                @Override
+                public void accept(List<EidEvent> events) throws IOException {
+                    sink.accept(events);
+                    if (!failed) {
+                        failed = true;
+                        try {
+                            filled.await();
+                        } catch (InterruptedException ex) {
+                            throw new IOException(ex);
+                        }
+                        new EidIllegalStateException(new Eid("20181019:132715"));
+                    }
+                }
+            }
+        );
+        EidRuntimeException[] exceptions = new EidRuntimeException[3];
+        for (int i = 0; i < exceptions.length; i++) {
+            exceptions[i] = new EidRuntimeException(new Eid("20181019:132710"));
+        }
+        previous = EidRuntimeException.setOccurrenceListener(dispatcher);
+        dispatcher.occurred(exceptions[0]);
+        dispatcher.occurred(exceptions[1]);
+        dispatcher.start();
+
+        // when
+        dispatcher.occurred(exceptions[2]);
+        filled.countDown();
+        boolean received = sink.awaitEvents(3, TIMEOUT, TimeUnit.SECONDS);
+        dispatcher.close();
+
+        // then
+        assertThat(received).isTrue();
+        assertThat(sink.getEvents()).hasSize(3);
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testOccurred_FailingSink() throws InterruptedException {
+        // given
+        InMemoryEidEventSink sink = new InMemoryEidEventSink();
+        AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(AsyncEidDispatcher.OverflowPolicy.COUNT,
+            new EidEventSink() {
+                @Override
+                public void accept(List<EidEvent> events) throws IOException {
+                    throw new IOException("disk full");
+                }
+            }, sink
+        ).start();
+
+        // when
+        dispatcher.occurred(new EidRuntimeException(new Eid("20181019:132809")));
+        boolean received = sink.awaitEvents(1, TIMEOUT, TimeUnit.SECONDS);
+        dispatcher.close();
+
+        // then
+        assertThat(received).isTrue();
+        assertThat(dispatcher.getFailedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testFileSink() throws IOException {
+        // given
+        File file = folder.newFile("eids.log");
+        FileEidEventSink fileSink = new FileEidEventSink(file);
+        AsyncEidDispatcher dispatcher = new AsyncEidDispatcher(AsyncEidDispatcher.OverflowPolicy.BLOCK, fileSink)
+            .start();
+        EidRuntimeException exception = new EidIllegalArgumentException(new Eid("20181019:132917", "REF"));
+
+        // when
+        dispatcher.occurred(exception);
+        dispatcher.close();
+        fileSink.close();
+
+        // then
+        List<String> lines = FileUtils.readLines(file, "UTF-8");
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0).split("\t")).containsExactly(
+            lines.get(0).substring(0, 24), "20181019:132917", "REF", exception.getEid().getUniq(),
+            EidIllegalArgumentException.class.getName(), Thread.currentThread().getName()
+        );
+        assertThat(lines.get(0)).matches("^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z\t.*");
+    }
+
+    @Test
+    public void testConstructor_NoSinks() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("At least one sink must be given, but given none");
+        // when
+        new AsyncEidDispatcher(AsyncEidDispatcher.OverflowPolicy.DROP);
+    }
+
+    @Test
+    public void testConstructor_InvalidCapacity() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Capacity must be between 1 and 1073741824, but given 0");
+        // when
+        new AsyncEidDispatcher(0, 1, AsyncEidDispatcher.OverflowPolicy.DROP, new InMemoryEidEventSink());
+    }
+
+    @Test
+    public void testConstructor_InvalidBatchSize() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Batch size must be positive, but given 0");
+        // when
+        new AsyncEidDispatcher(1, 0, AsyncEidDispatcher.OverflowPolicy.DROP, new InMemoryEidEventSink());
+    }
+}
@@ -0,0 +1,167 @@
+package pl.wavesoftware.eid.events;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.testing.BenchmarkBaseline;
+import pl.wavesoftware.testing.BenchmarkResults;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proves that {@link EidDeduplicator} has a bounded cost per occurrence: a suppressed repetition costs the same with a
+ * shallow and with a deep stack, as only first frames are read, and it adds little to a creation of an exception
+ * thrown from a deep stack, as in an application server.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidDeduplicatorIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EidDeduplicatorIT.class);
+    private static final double DEPTH_TOLERANCE = 0.5d;
+    private static final double CREATION_TOLERANCE = 0.5d;
+    private static final String ID = "20181019:231010";
+    private static final int DEEP = 512;
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(EidDeduplicatorIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(EidDeduplicatorIT.class.getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .forks(1)
+            .shouldFailOnError(true)
+            .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+            .result(BenchmarkBaseline.resultsFileOf(EidDeduplicatorIT.class))
+            .resultFormat(ResultFormatType.JSON)
+            .build();
+
+        Collection<RunResult> runResults = new Runner(opt).run();
+        BenchmarkResults results = new BenchmarkResults(runResults);
+        assertThat(results.size()).isEqualTo(4);
+        LOG.info("Deduplication of repeated failures:\n{}", results.toTable());
+
+        String shallow = BenchmarkResults.keyOf(EidDeduplicatorIT.class, "occurred", "depth=16");
+        String deep = BenchmarkResults.keyOf(EidDeduplicatorIT.class, "occurred", "depth=512");
+        String created = BenchmarkResults.keyOf(EidDeduplicatorIT.class, "create");
+        String deduplicated = BenchmarkResults.keyOf(EidDeduplicatorIT.class, "createDeduplicated");
+        LOG.info(String.format("Suppressed repetition: %.1f ns with shallow vs %.1f ns with deep stack, "
+                + "creation in deep stack: %.1f ns vs %.1f ns without listener", results.score(shallow),
+            results.score(deep), results.score(deduplicated), results.score(created)));
+        assertThat(lowerBound(results, deep))
+            .as("%s vs %s", deep, shallow)
+            .isLessThanOrEqualTo(upperBound(results, shallow) * (1d + DEPTH_TOLERANCE));
+        assertThat(lowerBound(results, deduplicated))
+            .as("%s vs %s", deduplicated, created)
+            .isLessThanOrEqualTo(upperBound(results, created) * (1d + CREATION_TOLERANCE));
+    }
+
+    private static double lowerBound(BenchmarkResults results, String key) {
+        return results.score(key) - errorOf(results, key);
+    }
+
+    private static double upperBound(BenchmarkResults results, String key) {
+        return results.score(key) + errorOf(results, key);
+    }
+
+    private static double errorOf(BenchmarkResults results, String key) {
+        double error = results.get(key).getPrimaryResult().getScoreError();
+        return Double.isNaN(error) ? 0d : error;
+    }
+
+    @Benchmark
+    public void occurred(Repetition state) {
+        state.deduplicator.occurred(state.exception);
+    }
+
+    @Benchmark
+    public EidRuntimeException create(NoListener state) {
+        return createAt(DEEP);
+    }
+
+    @Benchmark
+    public EidRuntimeException createDeduplicated(Deduplicated state) {
+        return createAt(DEEP);
+    }
+
+    private static EidRuntimeException createAt(int depth) {
+        if (depth <= 1) {
+            return new EidIllegalStateException(new Eid(ID));
+        }
+        return createAt(depth - 1);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Repetition {
+        @Param({"16", "512"})
+        int depth;
+        EidDeduplicator deduplicator;
+        EidRuntimeException exception;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            EidRuntimeException.setOccurrenceListener(EidRuntimeException.NO_OCCURRENCE_LISTENER);
+            deduplicator = new EidDeduplicator(EidRuntimeException.NO_OCCURRENCE_LISTENER, new NoRepetitions());
+            exception = createAt(depth);
+            deduplicator.occurred(exception);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class NoListener {
+        @Setup(Level.Trial)
+        public void setup() {
+            EidRuntimeException.setOccurrenceListener(EidRuntimeException.NO_OCCURRENCE_LISTENER);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Deduplicated {
+        @Setup(Level.Trial)
+        public void setup() {
+            EidRuntimeException.setOccurrenceListener(new EidDeduplicator(
+                EidRuntimeException.NO_OCCURRENCE_LISTENER, new NoRepetitions()));
+        }
+    }
+
+    private static final class NoRepetitions implements EidDeduplicator.RepetitionListener {
+        @Override
+        public void repeated(Eid eid, long count, long since, long until) {
+            // nothing to report
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package pl.wavesoftware.eid.events;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidDeduplicatorTest {
+
+    private static final long INTERVAL = 1000L;
+    // frame of failure() method, but not of its callers
+    private static final int FRAMES = 1;
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private final List<EidRuntimeException> reported = new ArrayList<EidRuntimeException>();
+
+    private final List<String> summaries = new ArrayList<String>();
+
+    private ManualDeduplicator deduplicator;
+
+    @Before
+    public void before() {
+        deduplicator = new ManualDeduplicator(new EidRuntimeException.OccurrenceListener() {
+            @Override
+            public void occurred(EidRuntimeException exception) {
+                reported.add(exception);
+            }
+        }, new EidDeduplicator.RepetitionListener() {
+            @Override
+            public void repeated(Eid eid, long count, long since, long until) {
+                summaries.add(eid.getId() + " x" + count + " " + since + "-" + until);
+            }
+        });
+        deduplicator.now = 5 * INTERVAL;
+    }
+
+    @Test
+    public void testOccurred_Repeated() {
+        // when
+        for (int i = 0; i < 3; i++) {
+            deduplicator.occurred(failure("20181019:230101", null));
+        }
+
+        // then
+        assertThat(reported).hasSize(1);
+        assertThat(summaries).isEmpty();
+        assertThat(deduplicator.getSuppressedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void testOccurred_OngoingFailure() {
+        // when
+        for (int i = 0; i < 3; i++) {
+            deduplicator.occurred(failure("20181019:230202", null));
+        }
+        deduplicator.now += INTERVAL;
+        for (int i = 0; i < 4; i++) {
+            deduplicator.occurred(failure("20181019:230202", null));
+        }
+        deduplicator.now += INTERVAL;
+        deduplicator.occurred(failure("20181019:230202", null));
+
+        // then
+        assertThat(reported).hasSize(1);
+        assertThat(summaries).containsExactly(
+            "20181019:230202 x2 5000-6000",
+            "20181019:230202 x4 6000-7000"
+        );
+        assertThat(deduplicator.getSuppressedCount()).isEqualTo(7L);
+    }
+
+    @Test
+    public void testOccurred_AfterSilence() {
+        // when
+        for (int i = 0; i < 2; i++) {
+            deduplicator.occurred(failure("20181019:230303", null));
+        }
+        deduplicator.now += 3 * INTERVAL;
+        deduplicator.occurred(failure("20181019:230303", null));
+        deduplicator.now += 3 * INTERVAL;
+        deduplicator.occurred(failure("20181019:230303", null));
+
+        // then
+        assertThat(reported).hasSize(3);
+        assertThat(summaries).containsExactly("20181019:230303 x1 5000-6000");
+        assertThat(deduplicator.getSuppressedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testOccurred_DistinctFailures() {
+        // when
+        deduplicator.occurred(failure("20181019:230404", null));
+        deduplicator.occurred(failure("20181019:230405", null));
+        deduplicator.occurred(failure("20181019:230404", null));
+        deduplicator.occurred(failure("20181019:230404", new IOException()));
+        deduplicator.occurred(failure("20181019:230404", new IOException()));
+        deduplicator.occurred(failure("20181019:230404", new IllegalArgumentException()));
+
+        // then
+        assertThat(reported).hasSize(4);
+        assertThat(deduplicator.getSuppressedCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void testFingerprintOf() {
+        // given
+        List<EidRuntimeException> sameLine = new ArrayList<EidRuntimeException>();
+        for (int i = 0; i < 2; i++) {
+            sameLine.add(new EidIllegalStateException(new Eid("20181019:230505")));
+        }
+        EidRuntimeException otherLine = new EidIllegalStateException(new Eid("20181019:230505"));
+        EidDeduplicator topFrameOnly = new EidDeduplicator(EidRuntimeException.NO_OCCURRENCE_LISTENER,
+            new NoRepetitionListener(), 0, 1L, TimeUnit.SECONDS, 2);
+
+        // when
+        long first = deduplicator.fingerprintOf(sameLine.get(0));
+        long second = deduplicator.fingerprintOf(sameLine.get(1));
+        long other = deduplicator.fingerprintOf(otherLine);
+
+        // then
+        assertThat(first).isEqualTo(second);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(topFrameOnly.fingerprintOf(otherLine)).isEqualTo(topFrameOnly.fingerprintOf(sameLine.get(0)));
+    }
+
+    @Test
+    public void testFingerprintOf_PreconditionCallSites() {
+        // given
+        EidDeduplicator callerOnly = new EidDeduplicator(EidRuntimeException.NO_OCCURRENCE_LISTENER,
+            new NoRepetitionListener(), 1, 1L, TimeUnit.SECONDS, 2);
+        EidRuntimeException first = null;
+        EidRuntimeException second = null;
+
+        // when
+        try {
+            EidPreconditions.checkArgument(false, "20181019:230606");
+        } catch (EidIllegalArgumentException ex) {
+            first = ex;
+        }
+        try {
+            EidPreconditions.checkArgument(false, "20181019:230606");
+        } catch (EidIllegalArgumentException ex) {
+            second = ex;
+        }
+
+        // then
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(callerOnly.fingerprintOf(first)).isNotEqualTo(callerOnly.fingerprintOf(second));
+    }
+
+    @Test
+    public void testConstructor_InvalidFrames() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Frames can't be negative, but given -1");
+        // when
+        new EidDeduplicator(EidRuntimeException.NO_OCCURRENCE_LISTENER, new NoRepetitionListener(),
+            -1, 1L, TimeUnit.SECONDS, 2);
+    }
+
+    @Test
+    public void testConstructor_InvalidInterval() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Interval must be at least a millisecond, but given 10 MICROSECONDS");
+        // when
+        new EidDeduplicator(EidRuntimeException.NO_OCCURRENCE_LISTENER, new NoRepetitionListener(),
+            1, 10L, TimeUnit.MICROSECONDS, 2);
+    }
+
+    @Test
+    public void testConstructor_InvalidWidth() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Width must be a positive power of two, but given 3");
+        // when
+        new EidDeduplicator(EidRuntimeException.NO_OCCURRENCE_LISTENER, new NoRepetitionListener(),
+            1, 1L, TimeUnit.SECONDS, 3);
+    }
+
+    private static EidRuntimeException failure(String id, @Nullable Throwable cause) {
+        return new EidIllegalStateException(new Eid(id), cause);
+    }
+
+    private static final class ManualDeduplicator extends EidDeduplicator {
+        private long now;
+
+        private ManualDeduplicator(EidRuntimeException.OccurrenceListener next, RepetitionListener repetitions) {
+            super(next, repetitions, FRAMES, INTERVAL, TimeUnit.MILLISECONDS, 64);
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    }
+
+    private static final class NoRepetitionListener implements EidDeduplicator.RepetitionListener {
+        @Override
+        public void repeated(Eid eid, long count, long since, long until) {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package pl.wavesoftware.eid.events;
+
+import org.junit.Test;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EventRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 20000;
+
+    @Test
+    public void testOfferAndDrain() {
+        // given
+        EventRingBuffer buffer = new EventRingBuffer(3);
+        Eid eid = new Eid("20181019:131202", "REF");
+        List<EidEvent> events = new ArrayList<EidEvent>();
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(eid, EidIllegalStateException.class, Thread.currentThread())).isTrue();
+        }
+        boolean overflown = buffer.offer(eid, EidIllegalStateException.class, Thread.currentThread());
+        int drained = buffer.drainTo(events, 3);
+
+        // then
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(overflown).isFalse();
+        assertThat(drained).isEqualTo(3);
+        assertThat(buffer.isEmpty()).isFalse();
+        EidEvent event = events.get(0);
+        assertThat(event.getId()).isEqualTo("20181019:131202");
+        assertThat(event.getRef()).isEqualTo("REF");
+        assertThat(event.getUniq()).isEqualTo(eid.getUniq());
+        assertThat(event.getTimestamp()).isEqualTo(eid.getTimestamp());
+        assertThat(event.getExceptionType()).isEqualTo(EidIllegalStateException.class);
+        assertThat(event.getThreadName()).isEqualTo(Thread.currentThread().getName());
+        assertThat(event.getThreadId()).isEqualTo(Thread.currentThread().getId());
+        assertThat(event.toString()).contains("20181019:131202", "EidIllegalStateException");
+        assertThat(buffer.offer(eid, EidIllegalStateException.class, Thread.currentThread())).isTrue();
+        assertThat(buffer.drainTo(events, 10)).isEqualTo(2);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testOffer_ManyProducers() throws InterruptedException {
+        // given
+        final EventRingBuffer buffer = new EventRingBuffer(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            final Eid eid = new Eid("20181019:13130" + p);
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        while (!buffer.offer(eid, EidIllegalStateException.class, Thread.currentThread())) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+
+        // when
+        start.countDown();
+        Map<String, Integer> counts = new HashMap<String, Integer>();
+        List<EidEvent> events = new ArrayList<EidEvent>();
+        int total = 0;
+        while (total < PRODUCERS * PER_PRODUCER) {
+            events.clear();
+            total += buffer.drainTo(events, 32);
+            for (EidEvent event : events) {
+                Integer count = counts.get(event.getId());
+                counts.put(event.getId(), count == null ? 1 : count + 1);
+            }
+            Thread.yield();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        // then
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(counts).hasSize(PRODUCERS);
+        for (Integer count : counts.values()) {
+            assertThat(count).isEqualTo(PER_PRODUCER);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package pl.wavesoftware.eid.events;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class FingerprintTableTest {
+
+    private static final long FINGERPRINT = 0x0123456789ABCDEFL;
+
+    @Test
+    public void testRecord() {
+        // given
+        FingerprintTable table = new FingerprintTable(16);
+
+        // when
+        long first = table.record(FINGERPRINT, 7L);
+        long second = table.record(FINGERPRINT, 7L);
+        long third = table.record(FINGERPRINT, 7L);
+        table.markFull(FINGERPRINT, 7L);
+        long next = table.record(FINGERPRINT, 8L);
+
+        // then
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(FingerprintTable.REPEATED);
+        assertThat(third).isEqualTo(FingerprintTable.REPEATED);
+        assertThat(FingerprintTable.slotOf(next)).isEqualTo(7L);
+        assertThat(FingerprintTable.countOf(next)).isEqualTo(3L);
+        assertThat(FingerprintTable.isFull(next)).isTrue();
+    }
+
+    @Test
+    public void testRecord_Collisions() {
+        // given
+        FingerprintTable table = new FingerprintTable(1);
+
+        // when
+        long first = table.record(FINGERPRINT, 1L);
+        long other = table.record(~FINGERPRINT, 1L);
+        long newer = table.record(~FINGERPRINT, 2L);
+
+        // then
+        assertThat(first).isZero();
+        assertThat(other).isEqualTo(FingerprintTable.REPEATED);
+        assertThat(FingerprintTable.countOf(newer)).isEqualTo(2L);
+        assertThat(FingerprintTable.isFull(newer)).isFalse();
+    }
+}
@@ -0,0 +1,127 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulates an error storm: a single failing precondition, with a formatted message, thrown over and over. Compares
+ * throughput of that storm with {@link AdaptiveFastThrowPolicy} turned on and off.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class AdaptiveFastThrowPolicyIT {
+
+    private static final int PERCENT = 100;
+    private static final int MAX_OCCURRENCES_PER_SECOND = 1000;
+    private static final double SPEED_THRESHOLD = 3.0d;
+    private static final String STORM_EID = "20181019:124512";
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveFastThrowPolicyIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(AdaptiveFastThrowPolicyIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        Collection<RunResult> results = new Runner(opt).run();
+        assertThat(results).hasSize(2);
+
+        double off = getRunResultByName(results, "stormWithoutPolicy").getPrimaryResult().getScore();
+        double on = getRunResultByName(results, "stormWithPolicy").getPrimaryResult().getScore();
+        double quotient = on / off;
+        String title = String.format("error storm speed quotient with adaptive fast throw policy to one without it "
+            + "should be at least %.2f%%", SPEED_THRESHOLD * PERCENT);
+
+        LOG.info(String.format("without policy: %.4f ops / µsec", off));
+        LOG.info(String.format("with policy:    %.4f ops / µsec", on));
+        LOG.info(String.format("%s and is %.2f%%", title, quotient * PERCENT));
+
+        assertThat(quotient).as(title).isGreaterThanOrEqualTo(SPEED_THRESHOLD);
+    }
+
+    @Benchmark
+    public void stormWithoutPolicy(Blackhole bh) {
+        bh.consume(fail());
+    }
+
+    @Benchmark
+    public void stormWithPolicy(Adaptive adaptive, Blackhole bh) {
+        bh.consume(fail());
+    }
+
+    private static EidRuntimeException fail() {
+        try {
+            EidPreconditions.checkArgument(false, STORM_EID, "Invalid value: %s", STORM_EID);
+            throw new IllegalStateException("unreachable");
+        } catch (EidIllegalArgumentException ex) {
+            return ex;
+        }
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", AdaptiveFastThrowPolicyIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181019:124538", "Invalid name: " + name);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Adaptive {
+        private final AdaptiveFastThrowPolicy policy = new AdaptiveFastThrowPolicy(MAX_OCCURRENCES_PER_SECOND);
+        private EidRuntimeException.FastThrowPolicy previous;
+
+        @Setup
+        public void setup() {
+            previous = EidRuntimeException.setFastThrowPolicy(policy);
+        }
+
+        @TearDown
+        public void tearDown() {
+            EidRuntimeException.setFastThrowPolicy(previous);
+            LOG.info("Collapsed occurrences: {}", policy.getCollapsedCount(STORM_EID));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class AdaptiveFastThrowPolicyTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1L);
+    private static final String ID = "20181019:121502";
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private final long[] clock = {SECOND};
+
+    private AdaptiveFastThrowPolicy policy;
+
+    private EidRuntimeException.FastThrowPolicy previous;
+
+    @Before
+    public void before() {
+        policy = new AdaptiveFastThrowPolicy(3) {
+            @Override
+            protected long nanoTime() {
+                return clock[0];
+            }
+        };
+        previous = EidRuntimeException.setFastThrowPolicy(policy);
+    }
+
+    @After
+    public void after() {
+        EidRuntimeException.setFastThrowPolicy(previous);
+    }
+
+    @Test
+    public void testIsReusable() {
+        // when
+        boolean[] reusable = new boolean[5];
+        for (int i = 0; i < reusable.length; i++) {
+            reusable[i] = policy.isReusable(new Eid(ID));
+        }
+
+        // then
+        assertThat(reusable).containsExactly(false, false, false, true, true);
+        assertThat(policy.isCollapsing(ID)).isTrue();
+        assertThat(policy.getCollapsedCount(ID)).isEqualTo(2L);
+        assertThat(policy.getCollapsedCount()).isEqualTo(2L);
+        assertThat(policy.getCollapsedCount("20181019:121811")).isEqualTo(0L);
+    }
+
+    @Test
+    public void testIsReusable_SwitchesBack() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            policy.isReusable(new Eid(ID));
+        }
+
+        // when
+        clock[0] += SECOND;
+        boolean stillCollapsing = policy.isReusable(new Eid(ID));
+        clock[0] += SECOND;
+        boolean calm = policy.isReusable(new Eid(ID));
+
+        // then
+        assertThat(stillCollapsing).isTrue();
+        assertThat(calm).isFalse();
+        assertThat(policy.isCollapsing(ID)).isFalse();
+        assertThat(policy.getCollapsedCount(ID)).isEqualTo(3L);
+    }
+
+    @Test
+    public void testIsReusable_SwitchesBackAfterIdle() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            policy.isReusable(new Eid(ID));
+        }
+
+        // when
+        clock[0] += 5 * SECOND;
+        boolean reusable = policy.isReusable(new Eid(ID));
+
+        // then
+        assertThat(reusable).isFalse();
+    }
+
+    @Test
+    public void testCheckArgument() {
+        // given
+        EidIllegalArgumentException[] thrownExceptions = new EidIllegalArgumentException[5];
+        for (int i = 0; i < thrownExceptions.length; i++) {
+            try {
+                // when
+                EidPreconditions.checkArgument(false, ID, "Invalid: %d", i);
+            } catch (EidIllegalArgumentException ex) {
+                thrownExceptions[i] = ex;
+            }
+        }
+
+        // then
+        assertThat(thrownExceptions[2].getMessage()).contains(ID, "Invalid: 2");
+        assertThat(thrownExceptions[2].getStackTrace()).isNotEmpty();
+        assertThat(thrownExceptions[3]).isSameAs(thrownExceptions[4]);
+        assertThat(thrownExceptions[3].getMessage()).contains(ID, EidRuntimeException.SHARED_MESSAGE);
+        assertThat(thrownExceptions[3].getStackTrace()).isEmpty();
+        assertThat(policy.getCollapsedCount(ID)).isEqualTo(2L);
+    }
+
+    @Test
+    public void testCheckArgument_WithRef() {
+        // given
+        Set<EidIllegalArgumentException> distinct = Collections.newSetFromMap(
+            new IdentityHashMap<EidIllegalArgumentException, Boolean>());
+        for (int i = 0; i < 100; i++) {
+            try {
+                // when
+                EidPreconditions.checkArgument(false, new Eid(ID, "REF"));
+            } catch (EidIllegalArgumentException ex) {
+                distinct.add(ex);
+            }
+        }
+
+        // then
+        assertThat(distinct).hasSize(4);
+        assertThat(policy.getCollapsedCount(ID)).isEqualTo(97L);
+    }
+
+    @Test
+    public void testConstructor_InvalidMaxOccurrences() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Max occurrences must be positive, but given 0");
+        // when
+        new AdaptiveFastThrowPolicy(0);
+    }
+
+    @Test
+    public void testConstructor_InvalidWindow() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Window must be positive, but given -1");
+        // when
+        new AdaptiveFastThrowPolicy(1, -1, TimeUnit.SECONDS);
+    }
+}
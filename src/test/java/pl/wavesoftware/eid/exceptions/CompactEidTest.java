@@ -0,0 +1,297 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class CompactEidTest {
+
+    private static final int BATCH = 100;
+    private static final double SINGLE_SIZE_RATIO = 0.65d;
+    private static final double BATCH_SIZE_RATIO = 0.9d;
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testRoundTrip_UniqNotMaterialized() throws Exception {
+        // given
+        Eid eid = new Eid("20181019:141812", "REF");
+
+        // when
+        Eid read = roundTrip(eid);
+
+        // then
+        assertThat(read.getUniq()).isEqualTo(eid.getUniq());
+        assertThat(read.getId()).isEqualTo("20181019:141812");
+        assertThat(read.getRef()).isEqualTo("REF");
+        assertThat(read.getTimestamp()).isEqualTo(eid.getTimestamp());
+        assertThat(read.toString()).isEqualTo(eid.toString());
+    }
+
+    @Test
+    public void testRoundTrip_TimeOrdered() throws Exception {
+        // given
+        EidConfiguration configuration = Eid.getConfiguration()
+            .withUniqIdGenerator(new TimeOrderedUniqIdGenerator(7));
+        Eid eid;
+        Eid.ConfigurationScope scope = Eid.overrideConfiguration(configuration);
+        try {
+            eid = new Eid("20181019:141915");
+            eid.getUniq();
+        } finally {
+            scope.close();
+        }
+
+        // when
+        Eid read = roundTrip(eid);
+
+        // then
+        assertThat(read.getUniq())
+            .isEqualTo(eid.getUniq())
+            .hasSize(TimeOrderedUniqIdGenerator.RENDERED_LENGTH);
+    }
+
+    @Test
+    public void testRoundTrip_StringUniq() throws Exception {
+        // given
+        Eid.UniqIdGenerator previous = Eid.setUniqIdGenerator(new Eid.UniqIdGenerator() {
+            @Override
+            public String generateUniqId() {
+                return "zażółć";
+            }
+        });
+        Eid eid;
+        try {
+            eid = new Eid((String) null);
+            eid.getUniq();
+        } finally {
+            Eid.setUniqIdGenerator(previous);
+        }
+
+        // when
+        Eid read = roundTrip(eid);
+
+        // then
+        assertThat(read.getUniq()).isEqualTo("zażółć");
+        assertThat(read.getId()).isNull();
+    }
+
+    @Test
+    public void testRoundTrip_Exceptions() throws Exception {
+        // given
+        List<EidRuntimeException> exceptions = new ArrayList<EidRuntimeException>();
+        exceptions.add(new EidRuntimeException(new Eid("20181019:142101"), "Value: %d", 1));
+        exceptions.add(new EidIllegalArgumentException("20181019:142102", new IOException("broken")));
+        exceptions.add(new EidIllegalStateException(new Eid("20181019:142103", "REF")));
+        exceptions.add(new EidNullPointerException(new Eid("20181019:142104"), "Null: %s", "x"));
+        exceptions.add(new EidIndexOutOfBoundsException(new Eid("20181019:142105"), "Index: %d", 3));
+
+        for (EidRuntimeException exception : exceptions) {
+            // when
+            EidRuntimeException read = roundTrip(exception);
+
+            // then
+            assertThat(read).isExactlyInstanceOf(exception.getClass());
+            assertThat(read.getMessage()).isEqualTo(exception.getMessage());
+            assertThat(read.getEid().getUniq()).isEqualTo(exception.getEid().getUniq());
+            assertThat(read.getStackTrace()).isEqualTo(exception.getStackTrace());
+            if (exception.getCause() == null) {
+                assertThat(read.getCause()).isNull();
+            } else {
+                assertThat(read.getCause()).isInstanceOf(IOException.class).hasMessage("broken");
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip_NotReportedAsOccurrence() throws Exception {
+        // given
+        EidRuntimeException exception = new EidIllegalStateException(new Eid("20181019:142313"));
+        final List<EidRuntimeException> occurred = new ArrayList<EidRuntimeException>();
+        EidRuntimeException.OccurrenceListener previous = EidRuntimeException.setOccurrenceListener(
+            new EidRuntimeException.OccurrenceListener() {
+                @Override
+                public void occurred(EidRuntimeException exception) {
+                    occurred.add(exception);
+                }
+            }
+        );
+        try {
+            // when
+            roundTrip(exception);
+        } finally {
+            EidRuntimeException.setOccurrenceListener(previous);
+        }
+
+        // then
+        assertThat(occurred).isEmpty();
+    }
+
+    @Test
+    public void testRoundTrip_Stackless() throws Exception {
+        // given
+        EidRuntimeException.StackTracePolicy previous = EidRuntimeException.setStackTracePolicy(
+            EidRuntimeException.STACKLESS_STACK_TRACE_POLICY
+        );
+        EidRuntimeException exception;
+        try {
+            exception = new EidIllegalArgumentException(new Eid("20181019:142428"));
+        } finally {
+            EidRuntimeException.setStackTracePolicy(previous);
+        }
+
+        // when
+        EidRuntimeException read = roundTrip(exception);
+
+        // then
+        assertThat(read.getStackTrace()).isEmpty();
+        assertThat(read.getMessage()).isEqualTo(exception.getMessage());
+    }
+
+    @Test
+    public void testSize_Single() throws Exception {
+        // given
+        EidRuntimeException exception = new EidIllegalArgumentException(new Eid("20181019:142544"), "Value: %d", 7);
+        LegacyEid legacy = new LegacyEid(exception.getEid());
+
+        // when
+        double eidRatio = sizeRatio(exception.getEid(), legacy);
+        double exceptionRatio = sizeRatio(exception, new LegacyEidException(legacy, exception));
+
+        // then
+        assertThat(eidRatio).isLessThan(SINGLE_SIZE_RATIO);
+        assertThat(exceptionRatio).isLessThan(SINGLE_SIZE_RATIO);
+    }
+
+    @Test
+    public void testSize_Batch() throws Exception {
+        // given
+        List<Eid> eids = new ArrayList<Eid>();
+        List<LegacyEid> legacyEids = new ArrayList<LegacyEid>();
+        List<EidRuntimeException> exceptions = new ArrayList<EidRuntimeException>();
+        List<LegacyEidException> legacyExceptions = new ArrayList<LegacyEidException>();
+        for (int i = 0; i < BATCH; i++) {
+            EidRuntimeException exception = new EidIllegalArgumentException(
+                new Eid("20181019:142544"), "Value: %d", i
+            );
+            LegacyEid legacy = new LegacyEid(exception.getEid());
+            eids.add(exception.getEid());
+            legacyEids.add(legacy);
+            exceptions.add(exception);
+            legacyExceptions.add(new LegacyEidException(legacy, exception));
+        }
+
+        // when
+        double eidRatio = sizeRatio(eids, legacyEids);
+        double exceptionRatio = sizeRatio(exceptions, legacyExceptions);
+
+        // then
+        assertThat(eidRatio).isLessThan(BATCH_SIZE_RATIO);
+        assertThat(exceptionRatio).isLessThan(BATCH_SIZE_RATIO);
+    }
+
+    @Test
+    public void testVarLong() throws IOException {
+        // given
+        long[] values = {0L, 1L, 127L, 128L, Integer.MAX_VALUE, Long.MAX_VALUE, -1L};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        // when
+        for (long value : values) {
+            CompactEid.writeVarLong(out, value);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+
+        // then
+        for (long value : values) {
+            assertThat(CompactEid.readVarLong(in)).isEqualTo(value);
+        }
+        assertThat(bytes.size()).isEqualTo(1 + 1 + 1 + 2 + 5 + 9 + 10);
+    }
+
+    @Test
+    public void testCheckVersion() throws InvalidObjectException {
+        // then
+        thrown.expect(InvalidObjectException.class);
+        thrown.expectMessage("Unsupported version of serial form: 2");
+        // when
+        CompactEid.checkVersion(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T object) throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(object)));
+        return (T) in.readObject();
+    }
+
+    private static double sizeRatio(Object compact, Object legacy) throws IOException {
+        return (double) serialize(compact).length / serialize(legacy).length;
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Has the same fields as default serial form of Eid, used before compact form was introduced
+     */
+    static final class LegacyEid implements Serializable {
+        private static final long serialVersionUID = -9876432123423401L;
+        private final String id;
+        private final String ref;
+        private final String uniqueId;
+        private final long timestamp;
+
+        LegacyEid(Eid eid) {
+            id = eid.getId();
+            ref = eid.getRef();
+            uniqueId = eid.getUniq();
+            timestamp = eid.getTimestamp();
+        }
+    }
+
+    /**
+     * Has the same fields as default serial form of Eid exception, used before compact form was introduced
+     */
+    static final class LegacyEidException extends RuntimeException {
+        private static final long serialVersionUID = -9876432123423587L;
+        private final LegacyEid eid;
+        private final String message;
+
+        LegacyEidException(LegacyEid eid, EidRuntimeException original) {
+            super((String) null);
+            this.eid = eid;
+            this.message = original.getMessage();
+            setStackTrace(original.getStackTrace());
+        }
+
+        @Override
+        public String getMessage() {
+            return message + eid.id;
+        }
+    }
+}
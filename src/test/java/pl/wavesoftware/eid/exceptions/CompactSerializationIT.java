@@ -0,0 +1,133 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares size and speed of a serialization round trip of Eid exception, in compact form, with a round trip of an
+ * exception carrying the same data in default serial form, used before compact form was introduced.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class CompactSerializationIT {
+
+    private static final int PERCENT = 100;
+    private static final double SPEED_THRESHOLD = 2.0d;
+    private static final double SIZE_THRESHOLD = 0.75d;
+    private static final Logger LOG = LoggerFactory.getLogger(CompactSerializationIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(CompactSerializationIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Exceptions exceptions = new Exceptions();
+        int compactSize = serialize(exceptions.compact).length;
+        int defaultSize = serialize(exceptions.legacy).length;
+        double sizeQuotient = (double) compactSize / defaultSize;
+
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        Collection<RunResult> results = new Runner(opt).run();
+        assertThat(results).hasSize(2);
+
+        double compact = getRunResultByName(results, "compactRoundTrip").getPrimaryResult().getScore();
+        double legacy = getRunResultByName(results, "defaultRoundTrip").getPrimaryResult().getScore();
+        double speedQuotient = compact / legacy;
+        String speedTitle = String.format("round trip speed quotient of compact form to default one should be at "
+            + "least %.2f%%", SPEED_THRESHOLD * PERCENT);
+        String sizeTitle = String.format("size quotient of compact form to default one should be at most %.2f%%",
+            SIZE_THRESHOLD * PERCENT);
+
+        LOG.info(String.format("default form: %5d bytes, %.4f round trips / µsec", defaultSize, legacy));
+        LOG.info(String.format("compact form: %5d bytes, %.4f round trips / µsec", compactSize, compact));
+        LOG.info(String.format("%s and is %.2f%%", speedTitle, speedQuotient * PERCENT));
+        LOG.info(String.format("%s and is %.2f%%", sizeTitle, sizeQuotient * PERCENT));
+
+        assertThat(speedQuotient).as(speedTitle).isGreaterThanOrEqualTo(SPEED_THRESHOLD);
+        assertThat(sizeQuotient).as(sizeTitle).isLessThanOrEqualTo(SIZE_THRESHOLD);
+    }
+
+    @Benchmark
+    public Object compactRoundTrip(Exceptions exceptions) throws IOException, ClassNotFoundException {
+        return deserialize(serialize(exceptions.compact));
+    }
+
+    @Benchmark
+    public Object defaultRoundTrip(Exceptions exceptions) throws IOException, ClassNotFoundException {
+        return deserialize(serialize(exceptions.legacy));
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        return in.readObject();
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", CompactSerializationIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181019:151203", "Invalid name: " + name);
+    }
+
+    @State(Scope.Thread)
+    public static class Exceptions {
+        private final EidRuntimeException compact = new EidIllegalArgumentException(
+            new Eid("20181019:151145"), "Invalid value: %d", 42
+        );
+        private final CompactEidTest.LegacyEidException legacy = new CompactEidTest.LegacyEidException(
+            new CompactEidTest.LegacyEid(compact.getEid()), compact
+        );
+    }
+}
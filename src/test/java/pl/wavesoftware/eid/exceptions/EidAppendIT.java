@@ -0,0 +1,137 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures, with JMH GC profiler, allocation of rendering an Eid and an Eid exception message into a reusable
+ * {@link StringBuilder}, once unique ID has been generated. Rendering with <code>toString()</code> is measured for
+ * comparison.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class EidAppendIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EidAppendIT.class);
+    private static final String ALLOC_RATE_NORM = "·gc.alloc.rate.norm";
+    private static final double ALLOCATION_THRESHOLD = 1.0d;
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(EidAppendIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    private final StringBuilder buffer = new StringBuilder(256);
+
+    private Eid eid;
+
+    private Eid refEid;
+
+    private EidRuntimeException exception;
+
+    @Setup
+    public void setup() {
+        eid = new Eid("20181018:232012");
+        refEid = new Eid("20181018:232012", "ORA-38101");
+        exception = new EidRuntimeException(new Eid("20181018:232105"), new IllegalStateException("cause"));
+        eid.getUniq();
+        refEid.getUniq();
+        exception.getEid().getUniq();
+    }
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .addProfiler(GCProfiler.class)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        Collection<RunResult> results = new Runner(opt).run();
+        assertThat(results).hasSize(4);
+
+        for (String name : new String[]{"toStringEid", "appendEid", "appendRefEid", "appendMessage"}) {
+            double allocated = allocatedPerOperation(results, name);
+            LOG.info(String.format("#%s() allocates %.2f bytes / op", name, allocated));
+        }
+        for (String name : new String[]{"appendEid", "appendRefEid", "appendMessage"}) {
+            String title = String.format("#%s() should allocate less than %.2f bytes / op", name,
+                ALLOCATION_THRESHOLD);
+            assertThat(allocatedPerOperation(results, name)).as(title).isLessThan(ALLOCATION_THRESHOLD);
+        }
+    }
+
+    @Benchmark
+    public void toStringEid(Blackhole bh) {
+        bh.consume(eid.toString());
+    }
+
+    @Benchmark
+    public void appendEid(Blackhole bh) {
+        buffer.setLength(0);
+        bh.consume(eid.appendTo(buffer));
+    }
+
+    @Benchmark
+    public void appendRefEid(Blackhole bh) {
+        buffer.setLength(0);
+        bh.consume(refEid.appendTo(buffer));
+    }
+
+    @Benchmark
+    public void appendMessage(Blackhole bh) {
+        buffer.setLength(0);
+        bh.consume(exception.appendMessageTo(buffer));
+    }
+
+    private static double allocatedPerOperation(Collection<RunResult> results, String name) {
+        Result result = getRunResultByName(results, name).getSecondaryResults().get(ALLOC_RATE_NORM);
+        assertThat(result).as("GC profiler result for #%s()", name).isNotNull();
+        return result.getScore();
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", EidAppendIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181018:232240", "Invalid name: " + name);
+    }
+}
@@ -0,0 +1,233 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidConfigurationTest {
+
+    private static final int READERS = 4;
+    private static final int READS = 20000;
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private EidConfiguration previous;
+
+    @Before
+    public void before() {
+        previous = Eid.getConfiguration();
+    }
+
+    @After
+    public void after() {
+        Eid.setConfiguration(previous);
+    }
+
+    @Test
+    public void testDefaults() {
+        // when
+        EidConfiguration configuration = EidConfiguration.defaults();
+        // then
+        assertThat(configuration.getFormat()).isEqualTo(Eid.DEFAULT_FORMAT);
+        assertThat(configuration.getRefFormat()).isEqualTo(Eid.DEFAULT_REF_FORMAT);
+        assertThat(configuration.getMessageFormat()).isEqualTo(Eid.DEFAULT_MESSAGE_FORMAT);
+        assertThat(configuration.getUniqIdGenerator()).isSameAs(Eid.DEFAULT_UNIQ_ID_GENERATOR);
+        assertThat(configuration.getStackTracePolicy())
+            .isSameAs(EidRuntimeException.DEFAULT_STACK_TRACE_POLICY);
+        assertThat(configuration.getOccurrenceListener())
+            .isSameAs(EidRuntimeException.NO_OCCURRENCE_LISTENER);
+        assertThat(configuration.getFastThrowPolicy())
+            .isSameAs(EidRuntimeException.NO_FAST_THROW_POLICY);
+    }
+
+    @Test
+    public void testWithFormat_Immutable() {
+        // given
+        EidConfiguration configuration = EidConfiguration.defaults();
+        // when
+        EidConfiguration changed = configuration.withFormat("%s/%s").withRefFormat("%s/%s/%s");
+        // then
+        assertThat(changed).isNotSameAs(configuration);
+        assertThat(configuration.getFormat()).isEqualTo(Eid.DEFAULT_FORMAT);
+        assertThat(changed.getFormat()).isEqualTo("%s/%s");
+        assertThat(changed.getRefFormat()).isEqualTo("%s/%s/%s");
+    }
+
+    @Test
+    public void testSetConfiguration() {
+        // given
+        EidConfiguration configuration = EidConfiguration.defaults()
+            .withFormat("%s/%s")
+            .withUniqIdGenerator(new ConstantGenerator("fixed"));
+        // when
+        EidConfiguration old = Eid.setConfiguration(configuration);
+        // then
+        assertThat(old).isSameAs(previous);
+        assertThat(Eid.getConfiguration()).isSameAs(configuration);
+        assertThat(new Eid("20181018:212431").toString()).isEqualTo("20181018:212431/fixed");
+    }
+
+    @Test
+    public void testStaticSetters_UpdateConfiguration() {
+        // when
+        Eid.setFormat("%s!%s");
+        Eid.setMessageFormat("%s => %s");
+        // then
+        EidConfiguration configuration = Eid.getConfiguration();
+        assertThat(configuration).isNotSameAs(previous);
+        assertThat(configuration.getFormat()).isEqualTo("%s!%s");
+        assertThat(configuration.getMessageFormat()).isEqualTo("%s => %s");
+        assertThat(configuration.getRefFormat()).isEqualTo(previous.getRefFormat());
+    }
+
+    @Test
+    public void testOverrideConfiguration() {
+        // given
+        EidConfiguration first = EidConfiguration.defaults().withFormat("first-%s-%s");
+        EidConfiguration second = EidConfiguration.defaults().withFormat("second-%s-%s");
+        // when
+        Eid.ConfigurationScope outer = Eid.overrideConfiguration(first);
+        try {
+            Eid.ConfigurationScope inner = Eid.overrideConfiguration(second);
+            try {
+                // then
+                assertThat(Eid.getConfiguration()).isSameAs(second);
+            } finally {
+                inner.close();
+            }
+            assertThat(Eid.getConfiguration()).isSameAs(first);
+        } finally {
+            outer.close();
+        }
+        assertThat(Eid.getConfiguration()).isSameAs(previous);
+    }
+
+    @Test
+    public void testOverrideConfiguration_OtherThreadUnaffected() throws Exception {
+        // given
+        EidConfiguration overridden = EidConfiguration.defaults().withFormat("other-%s-%s");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Eid.ConfigurationScope scope = Eid.overrideConfiguration(overridden);
+        try {
+            // when
+            EidConfiguration seen = executor.submit(new Callable<EidConfiguration>() {
+                @Override
+                public EidConfiguration call() {
+                    return Eid.getConfiguration();
+                }
+            }).get();
+            // then
+            assertThat(seen).isSameAs(previous);
+            assertThat(Eid.getConfiguration()).isSameAs(overridden);
+        } finally {
+            scope.close();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSetConfiguration_Null() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Configuration can't be null, but given one");
+        // when
+        Eid.setConfiguration(null);
+    }
+
+    @Test
+    public void testNoTornConfiguration() throws Exception {
+        // given
+        final EidConfiguration first = EidConfiguration.defaults()
+            .withFormat("A[%s|%s]")
+            .withMessageFormat("A%s A%s")
+            .withUniqIdGenerator(new ConstantGenerator("a"));
+        final EidConfiguration second = EidConfiguration.defaults()
+            .withFormat("B[%s|%s]")
+            .withMessageFormat("B%s B%s")
+            .withUniqIdGenerator(new ConstantGenerator("b"));
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final CountDownLatch started = new CountDownLatch(READERS);
+        ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+        List<Future<Integer>> readers = new ArrayList<Future<Integer>>();
+        try {
+            Future<?> writer = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    boolean flip = false;
+                    while (running.get()) {
+                        Eid.setConfiguration(flip ? first : second);
+                        flip = !flip;
+                        Thread.yield();
+                    }
+                }
+            });
+            for (int t = 0; t < READERS; t++) {
+                readers.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        started.countDown();
+                        int torn = 0;
+                        for (int i = 0; i < READS; i++) {
+                            String message = new EidRuntimeException(new Eid("20181018:212939"), "%s", "msg")
+                                .getMessage();
+                            if (!isConsistent(message)) {
+                                torn++;
+                            }
+                        }
+                        return torn;
+                    }
+                }));
+            }
+            // when
+            started.await();
+            int torn = 0;
+            for (Future<Integer> reader : readers) {
+                torn += reader.get();
+            }
+            running.set(false);
+            writer.get();
+            // then
+            assertThat(torn).isEqualTo(0);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean isConsistent(String message) {
+        return "AA[20181018:212939|a] Amsg".equals(message)
+            || "BB[20181018:212939|b] Bmsg".equals(message)
+            || message.startsWith("[20181018:212939]<") && message.endsWith("> msg");
+    }
+
+    private static final class ConstantGenerator implements Eid.UniqIdGenerator {
+        private final String value;
+
+        private ConstantGenerator(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String generateUniqId() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidDefinitionTest {
+
+    private EidConfiguration previous;
+
+    @Before
+    public void before() {
+        previous = Eid.setConfiguration(
+            EidConfiguration.defaults().withUniqIdGenerator(new Eid.UniqIdGenerator() {
+                @Override
+                public String generateUniqId() {
+                    return "deadbeef";
+                }
+            })
+        );
+    }
+
+    @After
+    public void after() {
+        Eid.setConfiguration(previous);
+    }
+
+    @Test
+    public void testOf_Interned() {
+        // when
+        EidDefinition first = Eid.of("20181018:222510");
+        EidDefinition second = Eid.of(new String("20181018:222510"));
+        EidDefinition withRef = Eid.of("20181018:222510", "ORA-38101");
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(Eid.of("20181018:222510", "ORA-38101")).isSameAs(withRef);
+        assertThat(Eid.of("20181018:222510", "")).isSameAs(first);
+        assertThat(withRef).isNotEqualTo(first);
+    }
+
+    @Test
+    public void testConstructor_SharesDefinition() {
+        // when
+        Eid first = new Eid("20181018:222748");
+        Eid second = new Eid("20181018:222748");
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getDefinition()).isSameAs(first.getDefinition());
+        assertThat(first.getDefinition()).isSameAs(Eid.of("20181018:222748"));
+    }
+
+    @Test
+    public void testNewEid() {
+        // given
+        long before = System.currentTimeMillis();
+        EidDefinition definition = Eid.of("20181018:222900", "EX-1");
+        // when
+        Eid eid = definition.newEid();
+        // then
+        assertThat(eid.getDefinition()).isSameAs(definition);
+        assertThat(eid.getId()).isEqualTo("20181018:222900");
+        assertThat(eid.getRef()).isEqualTo("EX-1");
+        assertThat(eid.getTimestamp()).isBetween(before, System.currentTimeMillis());
+        assertThat(eid.toString()).isEqualTo("[20181018:222900|EX-1]<deadbeef>");
+    }
+
+    @Test
+    public void testToString_FormatChanges() {
+        // given
+        EidDefinition definition = Eid.of("20181018:223145");
+        assertThat(definition.newEid().toString()).isEqualTo("[20181018:223145]<deadbeef>");
+        // when
+        Eid.setFormat("%2$s@%1$s");
+        String uniqFirst = definition.newEid().toString();
+        Eid.setFormat("{%s %s}");
+        String uniqLast = definition.newEid().toString();
+        // then
+        assertThat(uniqFirst).isEqualTo("deadbeef@20181018:223145");
+        assertThat(uniqLast).isEqualTo("{20181018:223145 deadbeef}");
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        // given
+        EidDefinition definition = Eid.of("20181018:223400", "SER");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        // when
+        out.writeObject(definition);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Object read = in.readObject();
+        // then
+        assertThat(read).isSameAs(definition);
+    }
+
+    @Test
+    public void testToString() {
+        // expect
+        assertThat(Eid.of("20181018:223512").toString()).isEqualTo("20181018:223512");
+        assertThat(Eid.of("20181018:223512", "R").toString()).isEqualTo("20181018:223512|R");
+    }
+}
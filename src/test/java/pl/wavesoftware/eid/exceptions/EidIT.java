@@ -7,12 +7,15 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.wavesoftware.testing.BenchmarkBaseline;
+import pl.wavesoftware.testing.BenchmarkResults;
 import pl.wavesoftware.testing.JavaAgentSkip;
 import pl.wavesoftware.testing.JmhCleaner;
 
@@ -40,7 +43,7 @@ public class EidIT {
 
     @Test
     public void doBenckmarking() throws Exception {
-        Options opt = new OptionsBuilder()
+        Options opt = BenchmarkBaseline.configure(new OptionsBuilder()
                 .include(this.getClass().getName() + ".*")
                 .mode(Mode.Throughput)
                 .timeUnit(TimeUnit.MICROSECONDS)
@@ -54,11 +57,14 @@ public class EidIT {
                 .shouldFailOnError(true)
                 .shouldDoGC(true)
                 .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:PermSize=128m", "-XX:MaxPermSize=128m", "-XX:+UseParallelGC")
+                .result(BenchmarkBaseline.resultsFileOf(EidIT.class))
+                .resultFormat(ResultFormatType.JSON))
                 .build();
 
         Runner runner = new Runner(opt);
         Collection<RunResult> results = runner.run();
         assertThat(results).hasSize(2);
+        BenchmarkBaseline.of(EidIT.class).verify(new BenchmarkResults(results));
 
         RunResult control = getRunResultByName(results, "control");
         RunResult eid = getRunResultByName(results, "eid");
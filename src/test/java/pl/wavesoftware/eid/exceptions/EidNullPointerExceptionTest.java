@@ -1,11 +1,11 @@
 package pl.wavesoftware.eid.exceptions;
 
 import org.hamcrest.CoreMatchers;
-import org.junit.After;
-import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.ExternalResource;
+import org.junit.rules.RuleChain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
@@ -17,7 +17,6 @@ import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
  */
 public class EidNullPointerExceptionTest {
 
-    @Rule
     public ExpectedException thrown = ExpectedException.none();
 
     private String constUniq = "cafedead";
@@ -26,20 +25,24 @@ public class EidNullPointerExceptionTest {
     private Throwable cause = new UnsupportedOperationException(causeString);
     private Eid.UniqIdGenerator original;
 
-    @Before
-    public void before() {
-        original = Eid.setUniqIdGenerator(new Eid.UniqIdGenerator() {
-            @Override
-            public String generateUniqId() {
-                return constUniq;
-            }
-        });
-    }
-
-    @After
-    public void after() {
-        Eid.setUniqIdGenerator(original);
-    }
+    // unique ID is generated lazily, while expected message is verified, so generator must outlive that check
+    @Rule
+    public RuleChain chain = RuleChain.outerRule(new ExternalResource() {
+        @Override
+        protected void before() {
+            original = Eid.setUniqIdGenerator(new Eid.UniqIdGenerator() {
+                @Override
+                public String generateUniqId() {
+                    return constUniq;
+                }
+            });
+        }
+
+        @Override
+        protected void after() {
+            Eid.setUniqIdGenerator(original);
+        }
+    }).around(thrown);
 
     @Test
     public void testGetStandardJdkClass() throws Exception {
@@ -0,0 +1,122 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throw-and-catch cost of Eid exceptions with lazily rendered message against eagerly rendered one, as it was
+ * done before message rendering was deferred.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidRuntimeExceptionIT {
+
+    private static final int PERCENT = 100;
+    private static final int OPERATIONS = 100;
+    private static final Logger LOG = LoggerFactory.getLogger(EidRuntimeExceptionIT.class);
+    private static final double SPEED_THRESHOLD = 1.25d;
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(EidRuntimeExceptionIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .operationsPerInvocation(OPERATIONS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .threads(4)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:PermSize=128m", "-XX:MaxPermSize=128m", "-XX:+UseParallelGC")
+                .build();
+
+        Runner runner = new Runner(opt);
+        Collection<RunResult> results = runner.run();
+        assertThat(results).hasSize(2);
+
+        double eagerScore = getRunResultByName(results, "eager").getPrimaryResult().getScore();
+        double lazyScore = getRunResultByName(results, "lazy").getPrimaryResult().getScore();
+
+        String title = String.format("#lazy() throw and catch speed quotient to #eager() should be at least %.2f%%",
+            SPEED_THRESHOLD * PERCENT);
+        double lazyTimes = lazyScore / eagerScore;
+
+        LOG.info(String.format("#eager() throw and catch: %.2f ops / µsec", eagerScore));
+        LOG.info(String.format("#lazy() throw and catch:  %.2f ops / µsec", lazyScore));
+        LOG.info(String.format("%s and is %.2f%%", title, lazyTimes * PERCENT));
+
+        assertThat(lazyTimes).as(title).isGreaterThanOrEqualTo(SPEED_THRESHOLD);
+    }
+
+    @Benchmark
+    public void eager(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            try {
+                throw new EagerEidIllegalArgumentException(new Eid("20181018:123014"), "Invalid value: %d", i);
+            } catch (EidIllegalArgumentException ex) {
+                bh.consume(ex);
+            }
+        }
+    }
+
+    @Benchmark
+    public void lazy(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            try {
+                throw new EidIllegalArgumentException(new Eid("20181018:123014"), "Invalid value: %d", i);
+            } catch (EidIllegalArgumentException ex) {
+                bh.consume(ex);
+            }
+        }
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", EidRuntimeExceptionIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181018:123230", "Invalid name: " + name);
+    }
+
+    /**
+     * Renders message in constructor, the same way all Eid exceptions did before rendering was made lazy.
+     */
+    private static final class EagerEidIllegalArgumentException extends EidIllegalArgumentException {
+        private static final long serialVersionUID = 20181018123014L;
+
+        EagerEidIllegalArgumentException(Eid id, String messageFormat, Object... parameters) {
+            super(id, messageFormat, parameters);
+            getMessage();
+        }
+    }
+}
@@ -6,8 +6,18 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UnknownFormatConversionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
@@ -40,4 +50,302 @@ public class EidRuntimeExceptionTest {
         throw new EidRuntimeException("20151007:212217", cause);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetMessage_Lazy() {
+        // given
+        final AtomicInteger generated = new AtomicInteger();
+        Eid.UniqIdGenerator original = Eid.setUniqIdGenerator(new Eid.UniqIdGenerator() {
+            @Override
+            public String generateUniqId() {
+                generated.incrementAndGet();
+                return "cafedead";
+            }
+        });
+        try {
+            // when
+            EidRuntimeException ex = new EidRuntimeException(new Eid("20181018:120714"), "Value: %d", 42);
+
+            // then
+            assertThat(generated.get()).isEqualTo(0);
+            String message = ex.getMessage();
+            assertThat(message).isEqualTo("[20181018:120714]<cafedead> => Value: 42");
+            assertThat(ex.getMessage()).isSameAs(message);
+            assertThat(ex.getLocalizedMessage()).isSameAs(message);
+            assertThat(ex.toString()).isEqualTo(EidRuntimeException.class.getName() + ": " + message);
+            assertThat(generated.get()).isEqualTo(1);
+        } finally {
+            Eid.setUniqIdGenerator(original);
+        }
+    }
+
+    @Test
+    public void testGetMessage_Supplier() {
+        // given
+        final AtomicInteger supplied = new AtomicInteger();
+        EidMessageSupplier supplier = new EidMessageSupplier() {
+            @Override
+            public String get() {
+                return "Payload #" + supplied.incrementAndGet();
+            }
+        };
+
+        // when
+        EidRuntimeException ex = new EidRuntimeException(new Eid("20181019:093014"), supplier);
+
+        // then
+        assertThat(supplied.get()).isEqualTo(0);
+        assertThat(ex.getMessage()).startsWith("[20181019:093014]<").endsWith("> => Payload #1");
+        assertThat(ex.getMessage()).endsWith("> => Payload #1");
+        assertThat(supplied.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAppendMessageTo() throws IOException {
+        // given
+        Eid.UniqIdGenerator original = Eid.setUniqIdGenerator(new Eid.UniqIdGenerator() {
+            @Override
+            public String generateUniqId() {
+                return "beefcafe";
+            }
+        });
+        try {
+            EidRuntimeException ex = new EidRuntimeException(new Eid("20181018:231530"), "Value: %d", 7);
+            EidRuntimeException plain = new EidRuntimeException(new Eid("20181018:231530"));
+            StringBuilder sb = new StringBuilder();
+            StringWriter writer = new StringWriter();
+
+            // when
+            ex.appendMessageTo(sb.append('>'));
+            ex.appendMessageTo(writer);
+            plain.appendMessageTo(writer.append(';'));
+
+            // then
+            assertThat(sb.toString()).isEqualTo(">[20181018:231530]<beefcafe> => Value: 7");
+            assertThat(writer.toString())
+                .isEqualTo("[20181018:231530]<beefcafe> => Value: 7;[20181018:231530]<beefcafe>");
+            assertThat(ex.getMessage()).isEqualTo("[20181018:231530]<beefcafe> => Value: 7");
+        } finally {
+            Eid.setUniqIdGenerator(original);
+        }
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        // given
+        EidRuntimeException ex = new EidRuntimeException(new Eid("20181018:121530"), "Value: %s", new Object());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+
+        // when
+        out.writeObject(ex);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        EidRuntimeException read = (EidRuntimeException) in.readObject();
+
+        // then
+        assertThat(read.getMessage()).isEqualTo(ex.getMessage());
+        assertThat(read.getEid().getUniq()).isEqualTo(ex.getEid().getUniq());
+    }
+
+    @Test
+    public void testStackTrace() {
+        // when
+        EidRuntimeException ex = new EidIllegalStateException(new Eid("20181018:131601"));
+
+        // then
+        StackTraceElement[] stackTrace = ex.getStackTrace();
+        assertThat(stackTrace).isNotEmpty();
+        assertThat(stackTrace[0].getClassName()).isEqualTo(EidRuntimeExceptionTest.class.getName());
+        assertThat(stackTrace[0].getMethodName()).isEqualTo("testStackTrace");
+    }
+
+    @Test
+    public void testStackTrace_StacklessForPrefix() {
+        // given
+        EidRuntimeException.StackTracePolicy previous = EidRuntimeException.setStackTracePolicy(
+            EidRuntimeException.stacklessFor("20181018:", "20181019:")
+        );
+        try {
+            // when
+            EidRuntimeException stackless = new EidIllegalStateException(new Eid("20181018:132044"), "Value: %d", 1);
+            EidRuntimeException withStackTrace = new EidIllegalStateException(new Eid("20181020:132050"));
+
+            // then
+            assertThat(stackless.getStackTrace()).isEmpty();
+            assertThat(stackless.getMessage()).contains("20181018:132044", "Value: 1");
+            assertThat(withStackTrace.getStackTrace()).isNotEmpty();
+        } finally {
+            EidRuntimeException.setStackTracePolicy(previous);
+        }
+    }
+
+    @Test
+    public void testStackTrace_Stackless() {
+        // given
+        EidRuntimeException.StackTracePolicy previous = EidRuntimeException.setStackTracePolicy(
+            EidRuntimeException.STACKLESS_STACK_TRACE_POLICY
+        );
+        try {
+            // when
+            EidRuntimeException ex = new EidNullPointerException("20181018:132412", new IllegalStateException());
+
+            // then
+            assertThat(ex.getStackTrace()).isEmpty();
+            assertThat(previous).isSameAs(EidRuntimeException.DEFAULT_STACK_TRACE_POLICY);
+        } finally {
+            EidRuntimeException.setStackTracePolicy(previous);
+        }
+    }
+
+    @Test
+    public void testSetStackTracePolicy_Null() {
+        // given
+        EidRuntimeException.StackTracePolicy policy = null;
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Stack trace policy can't be null, but given one");
+        // when
+        EidRuntimeException.setStackTracePolicy(policy);
+    }
+
+    @Test
+    public void testSetOccurrenceListener() {
+        // given
+        final List<EidRuntimeException> occurred = new ArrayList<EidRuntimeException>();
+        EidRuntimeException.OccurrenceListener previous = EidRuntimeException.setOccurrenceListener(
+            new EidRuntimeException.OccurrenceListener() {
+                @Override
+                public void occurred(EidRuntimeException exception) {
+                    occurred.add(exception);
+                }
+            }
+        );
+        try {
+            // when
+            EidRuntimeException first = new EidIllegalStateException(new Eid("20181019:112203"), "Value: %d", 1);
+            EidRuntimeException second = new EidRuntimeException("20181019:112210", new IllegalStateException());
+
+            // then
+            assertThat(occurred).containsExactly(first, second);
+            assertThat(previous).isSameAs(EidRuntimeException.NO_OCCURRENCE_LISTENER);
+        } finally {
+            EidRuntimeException.setOccurrenceListener(previous);
+        }
+    }
+
+    @Test
+    public void testSetOccurrenceListener_Null() {
+        // given
+        EidRuntimeException.OccurrenceListener listener = null;
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Occurrence listener can't be null, but given one");
+        // when
+        EidRuntimeException.setOccurrenceListener(listener);
+    }
+
+    @Test
+    public void testReusable() {
+        // given
+        final List<EidRuntimeException> occurred = new ArrayList<EidRuntimeException>();
+        EidRuntimeException.OccurrenceListener previousListener = EidRuntimeException.setOccurrenceListener(
+            new EidRuntimeException.OccurrenceListener() {
+                @Override
+                public void occurred(EidRuntimeException exception) {
+                    occurred.add(exception);
+                }
+            }
+        );
+        EidRuntimeException.FastThrowPolicy previous = EidRuntimeException.setFastThrowPolicy(
+            new EidRuntimeException.FastThrowPolicy() {
+                @Override
+                public boolean isReusable(Eid eid) {
+                    return true;
+                }
+            }
+        );
+        try {
+            // when
+            EidIllegalStateException first = EidRuntimeException.reusable(
+                new Eid("20181019:123410"), EidIllegalStateException.class
+            );
+            EidIllegalStateException second = EidRuntimeException.reusable(
+                new Eid("20181019:123410"), EidIllegalStateException.class
+            );
+            EidRuntimeException unknown = EidRuntimeException.reusable(
+                new Eid("20181019:123410"), CustomEidException.class
+            );
+
+            // then
+            assertThat(first).isNotNull().isSameAs(second);
+            assertThat(unknown).isNull();
+            assertThat(first.isShared()).isTrue();
+            assertThat(first.getStackTrace()).isEmpty();
+            assertThat(first.getMessage()).contains("20181019:123410", EidRuntimeException.SHARED_MESSAGE);
+            assertThat(occurred).containsExactly(first, first);
+            first.setStackTrace(new Throwable().getStackTrace());
+            assertThat(first.fillInStackTrace().getStackTrace()).isEmpty();
+            assertThat(previous).isSameAs(EidRuntimeException.NO_FAST_THROW_POLICY);
+            thrown.expect(IllegalStateException.class);
+            thrown.expectMessage("Can't overwrite cause of shared exception");
+            first.initCause(new IllegalArgumentException());
+        } finally {
+            EidRuntimeException.setFastThrowPolicy(previous);
+            EidRuntimeException.setOccurrenceListener(previousListener);
+        }
+    }
+
+    @Test
+    public void testReusable_Suppressed() {
+        // given
+        EidRuntimeException.FastThrowPolicy previous = EidRuntimeException.setFastThrowPolicy(
+            new EidRuntimeException.FastThrowPolicy() {
+                @Override
+                public boolean isReusable(Eid eid) {
+                    return true;
+                }
+            }
+        );
+        try {
+            EidIllegalStateException first = EidRuntimeException.reusable(
+                new Eid("20181019:123512", "REF"), EidIllegalStateException.class
+            );
+            first.addSuppressed(new IllegalStateException("closing failed"));
+
+            // when
+            EidIllegalStateException second = EidRuntimeException.reusable(
+                new Eid("20181019:123512", "REF"), EidIllegalStateException.class
+            );
+            EidIllegalStateException third = EidRuntimeException.reusable(
+                new Eid("20181019:123512", "REF"), EidIllegalStateException.class
+            );
+
+            // then
+            assertThat(second).isNotNull().isNotSameAs(first).isSameAs(third);
+            assertThat(second.isShared()).isTrue();
+            assertThat(second.getSuppressed()).isEmpty();
+            assertThat(second.getStackTrace()).isEmpty();
+        } finally {
+            EidRuntimeException.setFastThrowPolicy(previous);
+        }
+    }
+
+    @Test
+    public void testReusable_NotAllowed() {
+        // when
+        EidIllegalStateException reused = EidRuntimeException.reusable(
+            new Eid("20181019:123623"), EidIllegalStateException.class
+        );
+        // then
+        assertThat(reused).isNull();
+    }
+
+    private static final class CustomEidException extends EidRuntimeException {
+        private static final long serialVersionUID = 20181019123410L;
+
+        private CustomEidException(Eid id) {
+            super(id);
+        }
+    }
+
+}
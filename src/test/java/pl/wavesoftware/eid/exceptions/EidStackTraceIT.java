@@ -0,0 +1,141 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures cost of throwing an Eid exception from {@link EidPreconditions} as a function of stack depth, with and without
+ * stack trace capturing.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidStackTraceIT {
+
+    private static final int PERCENT = 100;
+    private static final Logger LOG = LoggerFactory.getLogger(EidStackTraceIT.class);
+    private static final String STACKLESS_PREFIX = "stackless:";
+    private static final String DEEPEST = "150";
+    private static final double SPEED_THRESHOLD = 2.0d;
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(EidStackTraceIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        Runner runner = new Runner(opt);
+        Collection<RunResult> results = runner.run();
+        assertThat(results).hasSize(2 * StackDepth.DEPTHS.length);
+
+        for (String depth : StackDepth.DEPTHS) {
+            double withStackTrace = getScore(results, "withStackTrace", depth);
+            double stackless = getScore(results, "stackless", depth);
+            LOG.info(String.format("depth %3s: with stack trace %9.2f ns / op, stackless %9.2f ns / op, quotient %.2f%%",
+                depth, withStackTrace, stackless, withStackTrace / stackless * PERCENT));
+        }
+
+        double withStackTrace = getScore(results, "withStackTrace", DEEPEST);
+        double stackless = getScore(results, "stackless", DEEPEST);
+        String title = String.format("stackless throw at depth %s should be at least %.2f%% faster",
+            DEEPEST, SPEED_THRESHOLD * PERCENT);
+        assertThat(withStackTrace / stackless).as(title).isGreaterThanOrEqualTo(SPEED_THRESHOLD);
+    }
+
+    @Benchmark
+    public void withStackTrace(StackDepth stack, Blackhole bh) {
+        try {
+            descend(stack.frames, "20181018:140112");
+        } catch (EidIllegalArgumentException ex) {
+            bh.consume(ex);
+        }
+    }
+
+    @Benchmark
+    public void stackless(StackDepth stack, Blackhole bh) {
+        try {
+            descend(stack.frames, STACKLESS_PREFIX + "20181018:140124");
+        } catch (EidIllegalArgumentException ex) {
+            bh.consume(ex);
+        }
+    }
+
+    private static int descend(int frames, String eid) {
+        if (frames <= 1) {
+            EidPreconditions.checkArgument(frames < 0, eid);
+            return frames;
+        }
+        return descend(frames - 1, eid) + 1;
+    }
+
+    private static double getScore(Collection<RunResult> results, String name, String depth) {
+        String fullName = String.format("%s.%s", EidStackTraceIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)
+                && result.getParams().getParam("frames").equals(depth)) {
+                return result.getPrimaryResult().getScore();
+            }
+        }
+        throw new EidRuntimeException("20181018:140433", "Invalid name: " + name);
+    }
+
+    @State(Scope.Benchmark)
+    public static class StackDepth {
+        private static final String[] DEPTHS = {"1", "50", DEEPEST};
+
+        @Param({"1", "50", DEEPEST})
+        private int frames;
+
+        private EidRuntimeException.StackTracePolicy previous;
+
+        @Setup
+        public void setup() {
+            previous = EidRuntimeException.setStackTracePolicy(EidRuntimeException.stacklessFor(STACKLESS_PREFIX));
+        }
+
+        @TearDown
+        public void tearDown() {
+            EidRuntimeException.setStackTracePolicy(previous);
+        }
+    }
+}
@@ -20,6 +20,12 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import pl.wavesoftware.eid.exceptions.Eid.UniqIdGenerator;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 
@@ -205,6 +211,16 @@ public class EidTest {
         assertThat(result).matches("^\\[20150718:012917\\]<[a-zA-Z0-9_-]+>$");
     }
 
+    @Test
+    public void testToString_NullId() {
+        // given
+        Eid instance = new Eid((String) null);
+        // when
+        String result = instance.toString();
+        // then
+        assertThat(result).matches("^\\[null\\]<[a-zA-Z0-9_-]+>$");
+    }
+
     @Test
     public void testToString_Ref() {
         // given
@@ -260,6 +276,96 @@ public class EidTest {
         assertThat(result).isNotEqualTo(result2);
     }
 
+    @Test
+    public void testGetUniq_SharedRandom() {
+        // given
+        UniqIdGenerator previous = Eid.setUniqIdGenerator(Eid.SHARED_RANDOM_UNIQ_ID_GENERATOR);
+        try {
+            String id = "20181018:160134";
+            // when
+            String result = new Eid(id).getUniq();
+            String result2 = new Eid(id).getUniq();
+            // then
+            assertThat(result).matches("^[a-z0-9]+$");
+            assertThat(result).isNotEqualTo(result2);
+        } finally {
+            Eid.setUniqIdGenerator(previous);
+        }
+    }
+
+    @Test
+    public void testGetUniq_OtherThread() throws InterruptedException {
+        // given
+        final String id = "20181018:160542";
+        final String[] fromOtherThread = new String[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                fromOtherThread[0] = new Eid(id).getUniq();
+            }
+        });
+        // when
+        thread.start();
+        String result = new Eid(id).getUniq();
+        thread.join();
+        // then
+        assertThat(result).matches("^[a-z0-9]+$");
+        assertThat(fromOtherThread[0]).matches("^[a-z0-9]+$");
+        assertThat(result).isNotEqualTo(fromOtherThread[0]);
+    }
+
+    @Test
+    public void testGetUniq_Primitive() {
+        // given
+        final int[] generated = new int[1];
+        UniqIdGenerator previous = Eid.setUniqIdGenerator(new Eid.PrimitiveUniqIdGenerator() {
+            @Override
+            public long generateUniqIdAsLong() {
+                generated[0]++;
+                return 0xcafeL;
+            }
+
+            @Override
+            public void appendUniqId(long uniqId, StringBuilder target) {
+                target.append('#').append(Long.toHexString(uniqId));
+            }
+
+            @Override
+            public String generateUniqId() {
+                fail("String generation should not be used for primitive generators");
+                return "constant";
+            }
+        });
+        try {
+            Eid eid = new Eid("20181018:171401", "REF-1");
+            // when
+            String result = eid.toString();
+            String uniq = eid.getUniq();
+            // then
+            assertThat(result).isEqualTo("[20181018:171401|REF-1]<#cafe>");
+            assertThat(uniq).isEqualTo("#cafe");
+            assertThat(eid.getUniq()).isEqualTo(uniq);
+            assertThat(generated[0]).isEqualTo(1);
+        } finally {
+            Eid.setUniqIdGenerator(previous);
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        // given
+        Eid eid = new Eid("20181018:172155");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        // when
+        out.writeObject(eid);
+        out.close();
+        Eid read = (Eid) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        // then
+        assertThat(read.getUniq()).isEqualTo(eid.getUniq());
+        assertThat(read.toString()).isEqualTo(eid.toString());
+    }
+
     @Test
     public void testMakeLogMessage() {
         // given
@@ -274,4 +380,28 @@ public class EidTest {
         assertThat(message).contains("[20151117:192211]<", "> => Files: 18");
     }
 
+    @Test
+    public void testAppendTo() {
+        // given
+        Eid eid = new Eid("20181018:231044", "REF-1");
+        StringBuilder sb = new StringBuilder("prefix ");
+        // when
+        eid.appendTo(sb).append(" suffix");
+        // then
+        assertThat(sb.toString()).isEqualTo("prefix " + eid.toString() + " suffix");
+        assertThat(eid.toString()).startsWith("[20181018:231044|REF-1]<");
+    }
+
+    @Test
+    public void testAppendTo_Appendable() throws Exception {
+        // given
+        Eid eid = new Eid("20181018:231212");
+        StringWriter writer = new StringWriter();
+        // when
+        eid.appendTo(writer);
+        eid.appendTo(writer);
+        // then
+        assertThat(writer.toString()).isEqualTo(eid.toString() + eid.toString());
+    }
+
 }
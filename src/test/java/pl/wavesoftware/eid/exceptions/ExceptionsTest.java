@@ -59,6 +59,12 @@ public class ExceptionsTest {
         arguments.add(new Object[]{eid, ref});
         arguments.add(new Object[]{id, cause});
         arguments.add(new Object[]{id});
+        arguments.add(new Object[]{id, new EidMessageSupplier() {
+            @Override
+            public String get() {
+                return "A supplied message";
+            }
+        }});
         return arguments;
     }
 
@@ -73,7 +79,11 @@ public class ExceptionsTest {
     private static Class<?>[] getArgumentsTypes(Object[] args) {
         List<Class<?>> classes = Lists.newArrayList();
         for (Object arg : args) {
-            classes.add(Throwable.class.isAssignableFrom(arg.getClass()) ? Throwable.class : arg.getClass());
+            if (arg instanceof EidMessageSupplier) {
+                classes.add(EidMessageSupplier.class);
+            } else {
+                classes.add(Throwable.class.isAssignableFrom(arg.getClass()) ? Throwable.class : arg.getClass());
+            }
         }
         Class<?>[] empty = new Class<?>[0];
         return classes.toArray(empty);
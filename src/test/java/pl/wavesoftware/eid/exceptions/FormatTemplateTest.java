@@ -0,0 +1,96 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.MissingFormatArgumentException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class FormatTemplateTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testRender() {
+        // given
+        FormatTemplate template = FormatTemplate.compile(Eid.DEFAULT_REF_FORMAT, 3);
+        // when
+        String result = template.render("20181018:150522", "ORA-38101", "x4f1a");
+        // then
+        assertThat(result).isEqualTo("[20181018:150522|ORA-38101]<x4f1a>");
+    }
+
+    @Test
+    public void testRender_ExplicitIndexes() {
+        // given
+        FormatTemplate template = FormatTemplate.compile("%2$s :: %1$s%% %2$s%n", 2);
+        // when
+        String result = template.render("first", "second");
+        // then
+        assertThat(result).isEqualTo(String.format("%2$s :: %1$s%% %2$s%n", "first", "second"));
+    }
+
+    @Test
+    public void testRender_Fallback() {
+        // given
+        FormatTemplate template = FormatTemplate.compile("%-6s|%4s", 2);
+        // when
+        String result = template.render("ab", "cd");
+        // then
+        assertThat(result).isEqualTo("ab    |  cd");
+    }
+
+    @Test
+    public void testAppendHeadTo() {
+        // given
+        FormatTemplate template = FormatTemplate.compile(Eid.DEFAULT_REF_FORMAT, 3);
+        StringBuilder sb = new StringBuilder();
+        // when
+        template.appendHeadTo(sb, new FormatTemplate.Arguments<String>() {
+            @Override
+            public void appendArgument(String source, int index, StringBuilder target) {
+                target.append(source).append(index);
+            }
+        }, "arg");
+        // then
+        assertThat(template.isOnlyInLastSlot(2)).isTrue();
+        assertThat(template.isOnlyInLastSlot(1)).isFalse();
+        assertThat(sb.toString()).isEqualTo("[arg0|arg1]<");
+        assertThat(template.getTail()).isEqualTo(">");
+        assertThat(FormatTemplate.compile("%3$s %1$s %2$s %3$s", 3).isOnlyInLastSlot(2)).isFalse();
+        assertThat(FormatTemplate.compile("%-6s|%4s", 2).isOnlyInLastSlot(1)).isFalse();
+    }
+
+    @Test
+    public void testCompile_Invalid() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Given format contains to little format specifiers, expected 2 but given \"%1$s %1$s\"");
+        // when
+        FormatTemplate.compile("%1$s %1$s", 2);
+    }
+
+    @Test
+    public void testCompile_TooManySpecifiers() {
+        // then
+        thrown.expect(MissingFormatArgumentException.class);
+        // when
+        FormatTemplate.compile("%s %s %s", 2);
+    }
+
+    @Test
+    public void testCompile_Null() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Format can't be null, but just received one");
+        // when
+        FormatTemplate.compile(null, 2);
+    }
+}
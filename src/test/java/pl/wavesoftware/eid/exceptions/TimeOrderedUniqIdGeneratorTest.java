@@ -0,0 +1,142 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class TimeOrderedUniqIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 20000;
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testGenerateUniqId_Monotonic() {
+        // given
+        TimeOrderedUniqIdGenerator generator = new TimeOrderedUniqIdGenerator(17);
+        String previous = generator.generateUniqId();
+        for (int i = 0; i < PER_THREAD; i++) {
+            // when
+            String current = generator.generateUniqId();
+            // then
+            assertThat(current).hasSize(TimeOrderedUniqIdGenerator.RENDERED_LENGTH);
+            assertThat(current.compareTo(previous)).isGreaterThan(0);
+            previous = current;
+        }
+    }
+
+    @Test
+    public void testGenerateUniqIdAsLong_ClockGoesBackwards() {
+        // given
+        final long[] clock = {System.currentTimeMillis()};
+        TimeOrderedUniqIdGenerator generator = new TimeOrderedUniqIdGenerator(3) {
+            @Override
+            protected long currentTimeMillis() {
+                return clock[0];
+            }
+        };
+        long first = generator.generateUniqIdAsLong();
+        // when
+        clock[0] -= 5000L;
+        long second = generator.generateUniqIdAsLong();
+        // then
+        assertThat(second).isGreaterThan(first);
+        assertThat(TimeOrderedUniqIdGenerator.nodeOf(second)).isEqualTo(3);
+    }
+
+    @Test
+    public void testGenerateUniqIdAsLong_SequenceOverflow() {
+        // given
+        final long now = System.currentTimeMillis();
+        TimeOrderedUniqIdGenerator generator = new TimeOrderedUniqIdGenerator(TimeOrderedUniqIdGenerator.MAX_NODE_ID) {
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+        long previous = generator.generateUniqIdAsLong();
+        // when
+        for (int i = 0; i < 3 * 4096; i++) {
+            long current = generator.generateUniqIdAsLong();
+            // then
+            assertThat(current).isGreaterThan(previous);
+            assertThat(TimeOrderedUniqIdGenerator.nodeOf(current)).isEqualTo(TimeOrderedUniqIdGenerator.MAX_NODE_ID);
+            previous = current;
+        }
+        assertThat(TimeOrderedUniqIdGenerator.timestampOf(previous)).isEqualTo(now + 3);
+    }
+
+    @Test
+    public void testGenerateUniqId_UniqueAcrossThreads() throws Exception {
+        // given
+        final TimeOrderedUniqIdGenerator generator = new TimeOrderedUniqIdGenerator(0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<String>>> futures = new ArrayList<Future<List<String>>>();
+        try {
+            // when
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() {
+                        List<String> ids = new ArrayList<String>(PER_THREAD);
+                        for (int i = 0; i < PER_THREAD; i++) {
+                            ids.add(generator.generateUniqId());
+                        }
+                        return ids;
+                    }
+                }));
+            }
+            Set<String> all = new HashSet<String>();
+            for (Future<List<String>> future : futures) {
+                List<String> ids = future.get();
+                List<String> sorted = new ArrayList<String>(ids);
+                Collections.sort(sorted);
+                // then
+                assertThat(ids).isEqualTo(sorted);
+                all.addAll(ids);
+            }
+            assertThat(all).hasSize(THREADS * PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimestampOf() {
+        // given
+        long before = System.currentTimeMillis();
+        TimeOrderedUniqIdGenerator generator = new TimeOrderedUniqIdGenerator(511);
+        // when
+        long id = generator.generateUniqIdAsLong();
+        // then
+        assertThat(TimeOrderedUniqIdGenerator.timestampOf(id)).isBetween(before, System.currentTimeMillis());
+        assertThat(TimeOrderedUniqIdGenerator.nodeOf(id)).isEqualTo(511);
+    }
+
+    @Test
+    public void testConstructor_InvalidNode() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Node ID must be between 0 and 1023, but given 1024");
+        // when
+        new TimeOrderedUniqIdGenerator(1024);
+    }
+}
@@ -0,0 +1,107 @@
+package pl.wavesoftware.eid.exceptions;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares default, thread local, unique ID generator with shared {@link java.util.Random} one, on growing number of
+ * threads, from 1 up to twice the number of available processors.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class UniqIdGeneratorIT {
+
+    private static final int PERCENT = 100;
+    private static final int OPERATIONS = 1000;
+    private static final Logger LOG = LoggerFactory.getLogger(UniqIdGeneratorIT.class);
+    private static final double SPEED_THRESHOLD = 1.0d;
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(UniqIdGeneratorIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        int maxThreads = 2 * Runtime.getRuntime().availableProcessors();
+        double quotient = 0d;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Collection<RunResult> results = runWith(threads);
+            assertThat(results).hasSize(2);
+
+            double shared = getRunResultByName(results, "sharedRandom").getPrimaryResult().getScore();
+            double threadLocal = getRunResultByName(results, "threadLocal").getPrimaryResult().getScore();
+            quotient = threadLocal / shared;
+
+            LOG.info(String.format("%3d threads: shared random %8.2f ops / µsec, thread local %8.2f ops / µsec, "
+                + "quotient %.2f%%", threads, shared, threadLocal, quotient * PERCENT));
+        }
+
+        String title = String.format("thread local generator speed quotient to shared random one on %d threads "
+            + "should be at least %.2f%%", maxThreads, SPEED_THRESHOLD * PERCENT);
+        assertThat(quotient).as(title).isGreaterThanOrEqualTo(SPEED_THRESHOLD);
+    }
+
+    @Benchmark
+    public void sharedRandom(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            bh.consume(Eid.SHARED_RANDOM_UNIQ_ID_GENERATOR.generateUniqId());
+        }
+    }
+
+    @Benchmark
+    public void threadLocal(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            bh.consume(Eid.DEFAULT_UNIQ_ID_GENERATOR.generateUniqId());
+        }
+    }
+
+    private Collection<RunResult> runWith(int threads) throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .operationsPerInvocation(OPERATIONS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(threads)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        return new Runner(opt).run();
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", UniqIdGeneratorIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181018:161745", "Invalid name: " + name);
+    }
+}
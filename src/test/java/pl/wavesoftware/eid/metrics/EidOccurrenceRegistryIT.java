@@ -0,0 +1,190 @@
+package pl.wavesoftware.eid.metrics;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidDefinition;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures overhead of counting occurrences with {@link EidOccurrenceRegistry} per thrown stackless Eid exception, and
+ * compares {@link StripedCounter} with a single {@link AtomicLong} on 64 threads. The latter comparison is asserted only
+ * on machines with at least 4 processors.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidOccurrenceRegistryIT {
+
+    private static final int PERCENT = 100;
+    private static final int CONTENDING_THREADS = 64;
+    private static final int MIN_PROCESSORS_FOR_CONTENTION = 4;
+    private static final double OVERHEAD_THRESHOLD = 1.5d;
+    private static final double CONTENTION_THRESHOLD = 0.9d;
+    private static final EidDefinition DEFINITION = Eid.of("20181019:115011");
+    private static final Logger LOG = LoggerFactory.getLogger(EidOccurrenceRegistryIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(EidOccurrenceRegistryIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Collection<RunResult> results = new Runner(options("throw.*", 1, Mode.AverageTime)).run();
+        assertThat(results).hasSize(2);
+
+        double uncounted = getRunResultByName(results, "throwUncounted").getPrimaryResult().getScore();
+        double counted = getRunResultByName(results, "throwCounted").getPrimaryResult().getScore();
+        double quotient = counted / uncounted;
+        String title = String.format("time of counted throw to uncounted one should be at most %.2f%%",
+            OVERHEAD_THRESHOLD * PERCENT);
+
+        LOG.info(String.format("uncounted throw: %.2f ns / op", uncounted));
+        LOG.info(String.format("counted throw:   %.2f ns / op", counted));
+        LOG.info(String.format("overhead per throw: %.2f ns, %s and is %.2f%%", counted - uncounted, title,
+            quotient * PERCENT));
+
+        assertThat(quotient).as(title).isLessThanOrEqualTo(OVERHEAD_THRESHOLD);
+    }
+
+    @Test
+    public void doContendedBenchmarking() throws Exception {
+        Collection<RunResult> results = new Runner(
+            options("increment.*", CONTENDING_THREADS, Mode.Throughput)
+        ).run();
+        assertThat(results).hasSize(2);
+
+        double atomic = getRunResultByName(results, "incrementAtomic").getPrimaryResult().getScore();
+        double striped = getRunResultByName(results, "incrementStriped").getPrimaryResult().getScore();
+        double quotient = striped / atomic;
+        String title = String.format("striped counter speed quotient to atomic long on %d threads should be at "
+            + "least %.2f%%", CONTENDING_THREADS, CONTENTION_THRESHOLD * PERCENT);
+
+        LOG.info(String.format("atomic long:     %.2f ops / µsec", atomic));
+        LOG.info(String.format("striped counter: %.2f ops / µsec", striped));
+        LOG.info(String.format("%s and is %.2f%%", title, quotient * PERCENT));
+
+        // on few processors threads barely run in parallel, so there is no cache line contention to avoid
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= MIN_PROCESSORS_FOR_CONTENTION);
+        assertThat(quotient).as(title).isGreaterThanOrEqualTo(CONTENTION_THRESHOLD);
+    }
+
+    @Benchmark
+    public void throwUncounted(Stackless stackless, Blackhole bh) {
+        bh.consume(throwAndCatch());
+    }
+
+    @Benchmark
+    public void throwCounted(Stackless stackless, Counted counted, Blackhole bh) {
+        bh.consume(throwAndCatch());
+    }
+
+    @Benchmark
+    public void incrementAtomic(Counters counters) {
+        counters.atomic.incrementAndGet();
+    }
+
+    @Benchmark
+    public void incrementStriped(Counters counters) {
+        counters.striped.increment();
+    }
+
+    private static EidRuntimeException throwAndCatch() {
+        try {
+            throw new EidIllegalArgumentException(DEFINITION.newEid());
+        } catch (EidIllegalArgumentException ex) {
+            return ex;
+        }
+    }
+
+    private Options options(String benchmarks, int threads, Mode mode) {
+        return new OptionsBuilder()
+                .include(this.getClass().getName() + "." + benchmarks)
+                .mode(mode)
+                .timeUnit(mode == Mode.AverageTime ? TimeUnit.NANOSECONDS : TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(threads)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", EidOccurrenceRegistryIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181019:115026", "Invalid name: " + name);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Stackless {
+        private EidRuntimeException.StackTracePolicy previous;
+
+        @Setup
+        public void setup() {
+            previous = EidRuntimeException.setStackTracePolicy(EidRuntimeException.STACKLESS_STACK_TRACE_POLICY);
+        }
+
+        @TearDown
+        public void tearDown() {
+            EidRuntimeException.setStackTracePolicy(previous);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Counted {
+        private final EidOccurrenceRegistry registry = new EidOccurrenceRegistry();
+        private EidRuntimeException.OccurrenceListener previous;
+
+        @Setup
+        public void setup() {
+            previous = EidRuntimeException.setOccurrenceListener(registry);
+        }
+
+        @TearDown
+        public void tearDown() {
+            EidRuntimeException.setOccurrenceListener(previous);
+            LOG.info("Counted: {}", registry);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Counters {
+        private final AtomicLong atomic = new AtomicLong();
+        private final StripedCounter striped = new StripedCounter();
+    }
+}
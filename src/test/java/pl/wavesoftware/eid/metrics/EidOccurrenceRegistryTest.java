@@ -0,0 +1,182 @@
+package pl.wavesoftware.eid.metrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidOccurrenceRegistryTest {
+
+    private EidOccurrenceRegistry registry;
+
+    private EidRuntimeException.OccurrenceListener previous;
+
+    @Before
+    public void before() {
+        registry = new EidOccurrenceRegistry();
+        previous = EidRuntimeException.setOccurrenceListener(registry);
+    }
+
+    @After
+    public void after() {
+        EidRuntimeException.setOccurrenceListener(previous);
+    }
+
+    @Test
+    public void testOccurred() {
+        // when
+        new EidIllegalArgumentException(new Eid("20181019:113301"));
+        new EidRuntimeException("20181019:113301", "REF");
+        new EidRuntimeException(new Eid("20181019:113317"), "Value: %s", 1);
+
+        // then
+        assertThat(registry.getCount("20181019:113301")).isEqualTo(2L);
+        assertThat(registry.getCount("20181019:113317")).isEqualTo(1L);
+        assertThat(registry.getCount("20181019:113325")).isEqualTo(0L);
+    }
+
+    @Test
+    public void testOccurred_Preconditions() {
+        // when
+        for (int i = 0; i < 3; i++) {
+            try {
+                EidPreconditions.checkArgument(false, "20181019:113442", "Invalid: %d", i);
+            } catch (EidIllegalArgumentException ex) {
+                assertThat(ex.getEid().getId()).isEqualTo("20181019:113442");
+            }
+        }
+        EidPreconditions.checkArgument(true, "20181019:113442");
+
+        // then
+        assertThat(registry.getCount("20181019:113442")).isEqualTo(3L);
+    }
+
+    @Test
+    public void testSnapshotAndReset() {
+        // given
+        registry.increment("20181019:113611");
+        registry.increment("20181019:113602");
+        registry.increment("20181019:113602");
+        registry.increment(null);
+
+        // when
+        Map<String, Long> snapshot = registry.snapshotAndReset();
+
+        // then
+        assertThat(snapshot).containsExactly(
+            entry("20181019:113602", 2L),
+            entry("20181019:113611", 1L),
+            entry("null", 1L)
+        );
+        assertThat(registry.snapshot()).containsEntry("20181019:113602", 0L);
+        assertThat(registry.toString()).contains("20181019:113602=0");
+    }
+
+    @Test
+    public void testReset() {
+        // given
+        registry.increment("20181019:113807");
+
+        // when
+        registry.reset();
+
+        // then
+        assertThat(registry.getCount("20181019:113807")).isEqualTo(0L);
+    }
+
+    @Test
+    public void testGetLastSeen() {
+        // given
+        long before = System.currentTimeMillis();
+
+        // when
+        registry.increment("20181019:210114");
+        registry.reset();
+
+        // then
+        long lastSeen = registry.getLastSeen("20181019:210114");
+        assertThat(lastSeen).isBetween(before, System.currentTimeMillis());
+        assertThat(registry.getLastSeen("20181019:210120")).isEqualTo(0L);
+        assertThat(registry.lastSeenSnapshot()).containsExactly(entry("20181019:210114", lastSeen));
+    }
+
+    @Test
+    public void testGetLastSeen_Shared() throws InterruptedException {
+        // given
+        EidRuntimeException.FastThrowPolicy previousPolicy = EidRuntimeException.setFastThrowPolicy(
+            new EidRuntimeException.FastThrowPolicy() {
+                @Override
+                public boolean isReusable(Eid eid) {
+                    return true;
+                }
+            }
+        );
+        try {
+            EidRuntimeException first = EidRuntimeException.reusable(
+                new Eid("20181019:211704"), EidIllegalArgumentException.class
+            );
+            Thread.sleep(5L);
+            long before = System.currentTimeMillis();
+
+            // when
+            EidRuntimeException second = EidRuntimeException.reusable(
+                new Eid("20181019:211704"), EidIllegalArgumentException.class
+            );
+
+            // then
+            assertThat(second).isSameAs(first);
+            assertThat(registry.getCount("20181019:211704")).isEqualTo(2L);
+            assertThat(registry.getLastSeen("20181019:211704")).isGreaterThanOrEqualTo(before);
+        } finally {
+            EidRuntimeException.setFastThrowPolicy(previousPolicy);
+        }
+    }
+
+    @Test
+    public void testReset_Id() {
+        // given
+        registry.increment("20181019:210231");
+        registry.increment("20181019:210231");
+        registry.increment("20181019:210236");
+
+        // when
+        long count = registry.reset("20181019:210231");
+
+        // then
+        assertThat(count).isEqualTo(2L);
+        assertThat(registry.getCount("20181019:210231")).isEqualTo(0L);
+        assertThat(registry.getCount("20181019:210236")).isEqualTo(1L);
+        assertThat(registry.reset("20181019:210240")).isEqualTo(0L);
+    }
+
+    @Test
+    public void testIncrement_AboveLimit() {
+        // given
+        for (int i = 0; i < EidOccurrenceRegistry.MAX_COUNTED_IDS; i++) {
+            registry.increment("id-" + i);
+        }
+
+        // when
+        registry.increment("20181019:113921");
+        registry.increment("20181019:113927");
+        registry.increment("id-0");
+
+        // then
+        assertThat(registry.getCount("20181019:113921")).isEqualTo(0L);
+        assertThat(registry.getCount(EidOccurrenceRegistry.OTHER_IDS)).isEqualTo(2L);
+        assertThat(registry.getCount("id-0")).isEqualTo(2L);
+        assertThat(registry.snapshot()).hasSize(EidOccurrenceRegistry.MAX_COUNTED_IDS + 1);
+    }
+}
@@ -0,0 +1,189 @@
+package pl.wavesoftware.eid.metrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.exceptions.TimeOrderedUniqIdGenerator;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidStatisticsTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private EidOccurrenceRegistry registry;
+
+    private EidRuntimeException.OccurrenceListener previous;
+
+    @Before
+    public void before() {
+        registry = new EidOccurrenceRegistry();
+        previous = EidRuntimeException.setOccurrenceListener(registry);
+    }
+
+    @After
+    public void after() {
+        EidRuntimeException.setOccurrenceListener(previous);
+    }
+
+    @Test
+    public void testRegister() throws Exception {
+        // given
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(EidStatistics.OBJECT_NAME);
+        EidStatistics statistics = new EidStatistics(registry).register();
+        try {
+            new EidIllegalArgumentException(new Eid("20181019:213405"));
+            new EidIllegalArgumentException(new Eid("20181019:213405"));
+
+            // when
+            TabularData counts = (TabularData) server.getAttribute(name, "Counts");
+            CompositeData[] top = (CompositeData[]) server.getAttribute(name, "TopIdsByRate");
+            Object format = server.getAttribute(name, "Format");
+            Object reset = server.invoke(name, "resetId", new Object[]{"20181019:213405"},
+                new String[]{String.class.getName()});
+
+            // then
+            assertThat(counts.get(new Object[]{"20181019:213405"}).get("value")).isEqualTo(2L);
+            assertThat(top).hasSize(1);
+            assertThat(top[0].get("id")).isEqualTo("20181019:213405");
+            assertThat(top[0].get("count")).isEqualTo(2L);
+            assertThat(format).isEqualTo(Eid.DEFAULT_FORMAT);
+            assertThat(reset).isEqualTo(2L);
+            assertThat(registry.getCount("20181019:213405")).isEqualTo(0L);
+        } finally {
+            statistics.close();
+        }
+        assertThat(server.isRegistered(name)).isFalse();
+    }
+
+    @Test
+    public void testRegister_Twice() throws Exception {
+        // given
+        EidStatistics statistics = new EidStatistics(registry).register();
+        try {
+            // then
+            thrown.expect(IllegalStateException.class);
+            thrown.expectMessage("Statistics are already registered as: " + EidStatistics.OBJECT_NAME);
+            // when
+            statistics.register();
+        } finally {
+            statistics.close();
+        }
+    }
+
+    @Test
+    public void testTopIdsByRate() {
+        // given
+        registry.increment("20181019:213702");
+        EidStatistics statistics = new EidStatistics(registry, 2, EidStatistics.DEFAULT_RATE_WINDOW_MILLIS);
+        for (int i = 0; i < 3; i++) {
+            registry.increment("20181019:213702");
+        }
+        registry.increment("20181019:213709");
+        registry.increment("20181019:213709");
+        registry.increment("20181019:213715");
+
+        // when
+        EidRate[] top = statistics.getTopIdsByRate();
+        EidRate[] all = statistics.topIdsByRate(5);
+
+        // then
+        assertThat(top).hasSize(2);
+        assertThat(top[0].getId()).isEqualTo("20181019:213702");
+        assertThat(top[0].getCount()).isEqualTo(3L);
+        assertThat(top[0].getPerSecond()).isPositive();
+        assertThat(top[1].getId()).isEqualTo("20181019:213709");
+        assertThat(top[1].getCount()).isEqualTo(2L);
+        assertThat(top[0].getPerSecond()).isGreaterThan(top[1].getPerSecond());
+        assertThat(all).hasSize(3);
+        assertThat(all[2].getId()).isEqualTo("20181019:213715");
+    }
+
+    @Test
+    public void testTopIdsByRate_AfterReset() {
+        // given
+        registry.increment("20181019:213940");
+        registry.increment("20181019:213940");
+        EidStatistics statistics = new EidStatistics(registry);
+        statistics.reset();
+
+        // when
+        registry.increment("20181019:213940");
+        EidRate[] top = statistics.getTopIdsByRate();
+
+        // then
+        assertThat(top).hasSize(1);
+        assertThat(top[0].getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testTopIdsByRate_InvalidSize() {
+        // given
+        EidStatistics statistics = new EidStatistics(registry);
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Size must be positive, but given 0");
+        // when
+        statistics.topIdsByRate(0);
+    }
+
+    @Test
+    public void testGetLastSeen() {
+        // given
+        long before = System.currentTimeMillis();
+        EidStatistics statistics = new EidStatistics(registry);
+        registry.increment("20181019:214133");
+
+        // when
+        Date lastSeen = statistics.getLastSeen().get("20181019:214133");
+
+        // then
+        assertThat(lastSeen).isNotNull();
+        assertThat(lastSeen.getTime()).isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    public void testConfiguration() {
+        // given
+        EidStatistics statistics = new EidStatistics(registry);
+        Eid.ConfigurationScope scope = Eid.overrideConfiguration(Eid.getConfiguration()
+            .withFormat("%s/%s")
+            .withUniqIdGenerator(new TimeOrderedUniqIdGenerator(1)));
+        try {
+            // then
+            assertThat(statistics.getFormat()).isEqualTo("%s/%s");
+            assertThat(statistics.getRefFormat()).isEqualTo(Eid.DEFAULT_REF_FORMAT);
+            assertThat(statistics.getMessageFormat()).isEqualTo(Eid.DEFAULT_MESSAGE_FORMAT);
+            assertThat(statistics.getUniqIdGenerator()).isEqualTo(TimeOrderedUniqIdGenerator.class.getName());
+        } finally {
+            scope.close();
+        }
+    }
+
+    @Test
+    public void testConstructor_InvalidWindow() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Rate window must be positive, but given 0");
+        // when
+        new EidStatistics(registry, EidStatistics.DEFAULT_TOP_SIZE, 0L);
+    }
+}
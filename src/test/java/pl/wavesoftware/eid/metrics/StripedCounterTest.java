@@ -0,0 +1,95 @@
+package pl.wavesoftware.eid.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class StripedCounterTest {
+
+    private static final int THREADS = 64;
+    private static final int PER_THREAD = 10000;
+
+    @Test
+    public void testIncrement() {
+        // given
+        StripedCounter counter = new StripedCounter();
+        // when
+        for (int i = 0; i < PER_THREAD; i++) {
+            counter.increment();
+        }
+        // then
+        assertThat(counter.sum()).isEqualTo(PER_THREAD);
+        assertThat(counter.toString()).isEqualTo(String.valueOf(PER_THREAD));
+    }
+
+    @Test
+    public void testSumThenReset() {
+        // given
+        StripedCounter counter = new StripedCounter();
+        counter.increment();
+        counter.increment();
+        // when
+        long sum = counter.sumThenReset();
+        counter.increment();
+        // then
+        assertThat(sum).isEqualTo(2L);
+        assertThat(counter.sum()).isEqualTo(1L);
+        counter.reset();
+        assertThat(counter.sum()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testStripes() {
+        // then
+        assertThat(StripedCounter.stripes(1)).isEqualTo(2);
+        assertThat(StripedCounter.stripes(3)).isEqualTo(8);
+        assertThat(StripedCounter.stripes(8)).isEqualTo(16);
+        assertThat(StripedCounter.stripes(512)).isEqualTo(StripedCounter.MAX_STRIPES);
+    }
+
+    @Test
+    public void testIncrement_Contended() throws Exception {
+        // given
+        final StripedCounter counter = new StripedCounter();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> futures = new ArrayList<Future<Long>>();
+        long resets = 0L;
+        try {
+            // when
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws InterruptedException {
+                        start.await();
+                        for (int i = 0; i < PER_THREAD; i++) {
+                            counter.increment();
+                        }
+                        return (long) PER_THREAD;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Long> future : futures) {
+                resets += counter.sumThenReset();
+                future.get();
+            }
+            // then
+            assertThat(resets + counter.sum()).isEqualTo((long) THREADS * PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package pl.wavesoftware.eid.prometheus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class PrometheusEidCollectorTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private PrometheusEidCollector collector;
+
+    private EidRuntimeException.OccurrenceListener previous;
+
+    @Before
+    public void before() {
+        collector = new PrometheusEidCollector(3);
+        previous = EidRuntimeException.setOccurrenceListener(collector);
+    }
+
+    @After
+    public void after() {
+        EidRuntimeException.setOccurrenceListener(previous);
+    }
+
+    @Test
+    public void testOccurred() {
+        // when
+        new EidIllegalStateException(new Eid("20181019:222108"));
+        new EidIllegalStateException(new Eid("20181019:222108"));
+        new EidIllegalArgumentException(new Eid("20181019:222108"));
+        new EidIllegalArgumentException(new Eid("20181019:222108", "USER"));
+        try {
+            EidPreconditions.checkState(false, "20181019:222108");
+        } catch (EidIllegalStateException ex) {
+            // expected
+        }
+
+        // then
+        assertThat(collector.getCount("20181019:222108", "", IllegalStateException.class)).isEqualTo(3L);
+        assertThat(collector.getCount("20181019:222108", "", IllegalArgumentException.class)).isEqualTo(1L);
+        assertThat(collector.getCount("20181019:222108", "USER", IllegalArgumentException.class)).isEqualTo(1L);
+        assertThat(collector.getCount("20181019:222108", "USER", IllegalStateException.class)).isEqualTo(0L);
+        assertThat(collector.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testOccurred_AboveLimit() throws IOException {
+        // given
+        for (int i = 0; i < 3; i++) {
+            new EidIllegalStateException(new Eid("id-" + i));
+        }
+
+        // when
+        new EidIllegalStateException(new Eid("20181019:222540"));
+        new EidIllegalArgumentException(new Eid("id-0"));
+        new EidIllegalStateException(new Eid("id-0"));
+        StringWriter writer = new StringWriter();
+        collector.render(writer);
+
+        // then
+        assertThat(collector.size()).isEqualTo(3);
+        assertThat(collector.getCount("id-0", "", IllegalStateException.class)).isEqualTo(2L);
+        assertThat(writer.toString())
+            .contains("eid_exceptions_total{id=\"*\",ref=\"\",exception=\"\"} 2\n")
+            .doesNotContain("20181019:222540");
+    }
+
+    @Test
+    public void testRender() throws IOException {
+        // given
+        EidRuntimeException exception = new EidIllegalStateException(new Eid("20181019:222817", "a \"b\"\\\nc"));
+        long millis = exception.getEid().getTimestamp();
+        String labels = "{id=\"20181019:222817\",ref=\"a \\\"b\\\"\\\\\\nc\","
+            + "exception=\"java.lang.IllegalStateException\"}";
+        StringWriter writer = new StringWriter();
+
+        // when
+        collector.render(writer);
+
+        // then
+        assertThat(writer.toString()).isEqualTo(
+            "# HELP eid_exceptions_total Number of created Eid exceptions.\n"
+                + "# TYPE eid_exceptions_total counter\n"
+                + "eid_exceptions_total" + labels + " 1\n"
+                + "# HELP eid_exception_last_seen_seconds Time of last Eid exception, in seconds since epoch.\n"
+                + "# TYPE eid_exception_last_seen_seconds gauge\n"
+                + "eid_exception_last_seen_seconds" + labels + " "
+                + String.format("%d.%03d", millis / 1000, millis % 1000) + "\n"
+        );
+    }
+
+    @Test
+    public void testConstructor_InvalidLimit() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Maximal number of series must be positive, but given 0");
+        // when
+        new PrometheusEidCollector(0);
+    }
+}
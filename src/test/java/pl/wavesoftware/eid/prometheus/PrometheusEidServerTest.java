@@ -0,0 +1,93 @@
+package pl.wavesoftware.eid.prometheus;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class PrometheusEidServerTest {
+
+    private PrometheusEidCollector collector;
+
+    private PrometheusEidServer server;
+
+    @Before
+    public void before() throws IOException {
+        collector = new PrometheusEidCollector();
+        server = new PrometheusEidServer(collector, new InetSocketAddress("localhost", 0));
+    }
+
+    @After
+    public void after() {
+        server.close();
+    }
+
+    @Test
+    public void testGet() throws IOException {
+        // given
+        collector.occurred(new EidIllegalStateException(new Eid("20181019:223404")));
+        HttpURLConnection connection = open(PrometheusEidServer.PATH);
+        connection.setRequestMethod("GET");
+
+        // when
+        String body;
+        InputStream input = connection.getInputStream();
+        try {
+            body = IOUtils.toString(input, "UTF-8");
+        } finally {
+            input.close();
+        }
+
+        // then
+        assertThat(connection.getResponseCode()).isEqualTo(HttpURLConnection.HTTP_OK);
+        assertThat(connection.getContentType()).isEqualTo(PrometheusEidServer.CONTENT_TYPE);
+        assertThat(body).contains("eid_exceptions_total{id=\"20181019:223404\",ref=\"\","
+            + "exception=\"java.lang.IllegalStateException\"} 1\n");
+    }
+
+    @Test
+    public void testPost() throws IOException {
+        // given
+        HttpURLConnection connection = open(PrometheusEidServer.PATH);
+        connection.setRequestMethod("POST");
+
+        // when
+        int code = connection.getResponseCode();
+
+        // then
+        assertThat(code).isEqualTo(HttpURLConnection.HTTP_BAD_METHOD);
+        assertThat(connection.getHeaderField("Allow")).isEqualTo("GET, HEAD");
+    }
+
+    @Test
+    public void testUnknownPath() throws IOException {
+        // given
+        HttpURLConnection connection = open("/other");
+
+        // when
+        int code = connection.getResponseCode();
+
+        // then
+        assertThat(code).isEqualTo(HttpURLConnection.HTTP_NOT_FOUND);
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        InetSocketAddress address = server.getAddress();
+        URL url = new URL("http", address.getHostName(), address.getPort(), path);
+        return (HttpURLConnection) url.openConnection();
+    }
+}
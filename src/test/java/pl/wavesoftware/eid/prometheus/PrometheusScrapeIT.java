@@ -0,0 +1,124 @@
+package pl.wavesoftware.eid.prometheus;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.testing.BenchmarkBaseline;
+import pl.wavesoftware.testing.BenchmarkResults;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures a scrape of 10k Eid ids, rendered to a discarding writer, so only rendering itself is measured. Scrape
+ * should stream from a store, so its allocation mustn't grow with number of series.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class PrometheusScrapeIT {
+
+    private static final int IDS = 10000;
+    private static final double ALLOCATION_PER_SCRAPE_THRESHOLD = 4096d;
+    private static final Logger LOG = LoggerFactory.getLogger(PrometheusScrapeIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(PrometheusScrapeIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(PrometheusScrapeIT.class.getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .forks(1)
+            .shouldFailOnError(true)
+            .addProfiler(GCProfiler.class)
+            .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+            .result(BenchmarkBaseline.resultsFileOf(PrometheusScrapeIT.class))
+            .resultFormat(ResultFormatType.JSON)
+            .build();
+
+        Collection<RunResult> runResults = new Runner(opt).run();
+        BenchmarkResults results = new BenchmarkResults(runResults);
+        assertThat(results.size()).isEqualTo(1);
+        LOG.info("Scrape of {} ids:\n{}", IDS, results.toTable());
+
+        double allocation = results.allocation(PrometheusScrapeIT.class, "scrape");
+        LOG.info(String.format("Scrape of %d series: %.1f us, %.0f B allocated",
+            2 * IDS, results.score(PrometheusScrapeIT.class, "scrape"), allocation));
+        assertThat(allocation).isLessThan(ALLOCATION_PER_SCRAPE_THRESHOLD);
+    }
+
+    @Benchmark
+    public long scrape(Scrape state) throws IOException {
+        state.collector.render(state.writer);
+        return state.writer.written;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Scrape {
+        PrometheusEidCollector collector;
+        DiscardingWriter writer = new DiscardingWriter();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            collector = new PrometheusEidCollector();
+            for (int i = 0; i < IDS; i++) {
+                String id = String.format("20181019:%06d", i);
+                collector.occurred(new EidIllegalStateException(new Eid(id)));
+                collector.occurred(new EidIllegalArgumentException(new Eid(id, "REF")));
+            }
+        }
+    }
+
+    private static final class DiscardingWriter extends Writer {
+        private long written;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            written += length;
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
@@ -10,7 +10,10 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -18,16 +21,22 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.EidMessageSupplier;
 import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.testing.BenchmarkBaseline;
+import pl.wavesoftware.testing.BenchmarkResults;
 import pl.wavesoftware.testing.JavaAgentSkip;
 import pl.wavesoftware.testing.JmhCleaner;
 
+import java.io.IOException;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -41,6 +50,10 @@ public class EidPreconditionsIT {
     private static final double SPEED_THRESHOLD = 0.90;
     private static final double PERCENT = 100;
     private static final Logger LOG = LoggerFactory.getLogger(EidPreconditionsIT.class);
+    private static final String ALLOC_RATE_NORM = "·gc.alloc.rate.norm";
+    private static final double ALLOCATION_THRESHOLD = 1.0d;
+    private static final double SUPPLIER_GAIN_THRESHOLD = 2.0d;
+    private static final int PAYLOAD_SIZE = 32;
 
     @ClassRule
     public static RuleChain chain = RuleChain
@@ -48,8 +61,8 @@ public class EidPreconditionsIT {
         .around(JavaAgentSkip.ifActive());
 
     @Test
-    public void doBenchmarking() throws RunnerException {
-        Options opt = new OptionsBuilder()
+    public void doBenchmarking() throws RunnerException, IOException {
+        Options opt = BenchmarkBaseline.configure(new OptionsBuilder()
             .include(this.getClass().getName() + ".*")
             .mode(Mode.Throughput)
             .timeUnit(TimeUnit.MICROSECONDS)
@@ -62,16 +75,26 @@ public class EidPreconditionsIT {
             .forks(1)
             .shouldFailOnError(true)
             .shouldDoGC(true)
+            .addProfiler(GCProfiler.class)
             .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:PermSize=128m", "-XX:MaxPermSize=128m", "-XX:+UseParallelGC")
+            .result(BenchmarkBaseline.resultsFileOf(EidPreconditionsIT.class))
+            .resultFormat(ResultFormatType.JSON))
             .build();
 
         Runner runner = new Runner(opt);
         Collection<RunResult> results = runner.run();
         assertThat(results.size()).isGreaterThanOrEqualTo(7);
+        BenchmarkBaseline.of(EidPreconditionsIT.class).verify(new BenchmarkResults(results));
 
         verifySpeedFor(TestCase.CHECK_ARGUMENT, results);
         verifySpeedFor(TestCase.CHECK_STATE, results);
         verifySpeedFor(TestCase.CHECK_NOTNULL, results);
+
+        verifyAllocationFor(TestCase.CHECK_ARGUMENT_PRIMITIVE, results);
+        verifyAllocationFor(TestCase.CHECK_STATE_FIXED_ARITY, results);
+        verifyAllocationFor(TestCase.CHECK_NOTNULL_FIXED_ARITY, results);
+
+        verifySupplierGainFor(TestCase.CHECK_NOTNULL_EXPENSIVE_MESSAGE, results);
     }
 
     @Benchmark
@@ -126,6 +149,75 @@ public class EidPreconditionsIT {
         }
     }
 
+    @Benchmark
+    @BenchmarkConfig(test = TestCase.CHECK_ARGUMENT_PRIMITIVE, framework = Framework.EID_VARARGS)
+    public void testCheckArgumentEidVarargs(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            EidPreconditions.checkArgument(i >= 0, "20181019:080512", "Negative: %d", new Object[]{i});
+            bh.consume(i);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkConfig(test = TestCase.CHECK_ARGUMENT_PRIMITIVE, framework = Framework.EID)
+    public void testCheckArgumentEidPrimitive(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            EidPreconditions.checkArgument(i >= 0, "20181019:080512", "Negative: %d", i);
+            bh.consume(i);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkConfig(test = TestCase.CHECK_STATE_FIXED_ARITY, framework = Framework.EID)
+    public void testCheckStateEidFixedArity(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            EidPreconditions.checkState(i >= 0, "20181019:080631", "Invalid %s of %s at %d", bh, this, (long) i);
+            bh.consume(i);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkConfig(test = TestCase.CHECK_NOTNULL_FIXED_ARITY, framework = Framework.EID)
+    public void testCheckNotNullEidFixedArity(Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            bh.consume(EidPreconditions.checkNotNull(bh, "20181019:080704", "No blackhole in %s", this));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkConfig(test = TestCase.CHECK_NOTNULL_EXPENSIVE_MESSAGE, framework = Framework.EID_VARARGS)
+    public void testCheckNotNullEidEagerMessage(Payload payload, Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            bh.consume(EidPreconditions.checkNotNull(bh, "20181019:094122", "No blackhole for: %s",
+                payload.entities.toString()));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkConfig(test = TestCase.CHECK_NOTNULL_EXPENSIVE_MESSAGE, framework = Framework.EID)
+    public void testCheckNotNullEidSuppliedMessage(final Payload payload, Blackhole bh) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            bh.consume(EidPreconditions.checkNotNull(bh, "20181019:094122", new EidMessageSupplier() {
+                @Override
+                public String get() {
+                    return "No blackhole for: " + payload.entities;
+                }
+            }));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Payload {
+        private final List<Integer> entities = new ArrayList<Integer>();
+
+        @Setup
+        public void setup() {
+            for (int i = 0; i < PAYLOAD_SIZE; i++) {
+                entities.add(i * PAYLOAD_SIZE);
+            }
+        }
+    }
+
     @State(Scope.Benchmark)
     public static class SupplierOfUnsafes {
         private EidPreconditions.UnsafeSupplier<String> supplier;
@@ -169,6 +261,37 @@ public class EidPreconditionsIT {
         assertThat(ratio).isGreaterThanOrEqualTo(SPEED_THRESHOLD);
     }
 
+    private void verifyAllocationFor(TestCase testCase, Collection<RunResult> results) {
+        double allocated = getAllocation(lookupResult(results, findMethod(testCase, Framework.EID)));
+        String title = String.format("%s: passing check should allocate less than %.2f bytes / op",
+            testCase, ALLOCATION_THRESHOLD);
+        LOG.info(String.format("%s: allocated %.2f bytes / op", testCase, allocated));
+        for (Method method : this.getClass().getDeclaredMethods()) {
+            BenchmarkConfig config = method.getAnnotation(BenchmarkConfig.class);
+            if (config != null && config.test() == testCase && config.framework() == Framework.EID_VARARGS) {
+                LOG.info(String.format("%s: varargs form allocated %.2f bytes / op",
+                    testCase, getAllocation(lookupResult(results, method))));
+            }
+        }
+        assertThat(allocated).as(title).isLessThan(ALLOCATION_THRESHOLD);
+    }
+
+    private void verifySupplierGainFor(TestCase testCase, Collection<RunResult> results) {
+        double eager = getScore(lookupResult(results, findMethod(testCase, Framework.EID_VARARGS)));
+        double supplied = getScore(lookupResult(results, findMethod(testCase, Framework.EID)));
+        double ratio = supplied / eager;
+        LOG.info(String.format("%s: varargs score = %.2f vs supplier score = %.2f ==> ratio: %.2f%%, " +
+            "minimum threshold: %.2f%%",
+            testCase, eager, supplied, ratio * PERCENT, SUPPLIER_GAIN_THRESHOLD * PERCENT));
+        assertThat(ratio).isGreaterThanOrEqualTo(SUPPLIER_GAIN_THRESHOLD);
+    }
+
+    private static double getAllocation(RunResult result) {
+        Result allocation = result.getSecondaryResults().get(ALLOC_RATE_NORM);
+        assertThat(allocation).isNotNull();
+        return allocation.getScore();
+    }
+
     private static double getScore(RunResult result) {
         return result.getPrimaryResult().getScore();
     }
@@ -208,10 +331,14 @@ public class EidPreconditionsIT {
     private enum TestCase {
         CHECK_ARGUMENT,
         CHECK_STATE,
-        TRY_TO_EXECUTE, CHECK_NOTNULL
+        TRY_TO_EXECUTE, CHECK_NOTNULL,
+        CHECK_ARGUMENT_PRIMITIVE,
+        CHECK_STATE_FIXED_ARITY,
+        CHECK_NOTNULL_FIXED_ARITY,
+        CHECK_NOTNULL_EXPENSIVE_MESSAGE
     }
 
     private enum Framework {
-        GUAVA, EID
+        GUAVA, EID, EID_VARARGS
     }
 }
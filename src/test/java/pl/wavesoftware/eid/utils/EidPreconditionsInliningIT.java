@@ -0,0 +1,234 @@
+package pl.wavesoftware.eid.utils;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that passing checks of {@link EidPreconditions} are cheap enough to be inlined into a hot caller. A JMH
+ * benchmark compares a validation loop written with checks against the same loop written with plain
+ * <code>if</code> statements, and an inlining log of a forked JVM is inspected for check methods.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+@State(Scope.Thread)
+public class EidPreconditionsInliningIT {
+
+    private static final int SIZE = 1000;
+    private static final int CALLER_INVOCATIONS = 20000;
+    private static final double PERCENT = 100;
+    private static final double SPEED_THRESHOLD = 0.80d;
+    private static final String CHECK_PREFIX = "EidPreconditions::check";
+    private static final String[] CHECKS = {"checkArgument", "checkState", "checkNotNull", "checkElementIndex"};
+    private static final Logger LOG = LoggerFactory.getLogger(EidPreconditionsInliningIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(EidPreconditionsInliningIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    private int[] values;
+
+    @Setup
+    public void setup() {
+        values = Caller.values();
+    }
+
+    @Test
+    public void doBenchmarking() throws Exception {
+        Options opt = new OptionsBuilder()
+                .include(this.getClass().getName() + ".*")
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .operationsPerInvocation(SIZE)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+                .build();
+
+        Collection<RunResult> results = new Runner(opt).run();
+        assertThat(results).hasSize(2);
+
+        double plain = getRunResultByName(results, "plainChecks").getPrimaryResult().getScore();
+        double eid = getRunResultByName(results, "eidChecks").getPrimaryResult().getScore();
+        double ratio = eid / plain;
+        String title = String.format("EidPreconditions checks speed quotient to plain if statements should be at "
+            + "least %.2f%%", SPEED_THRESHOLD * PERCENT);
+
+        LOG.info(String.format("plain if statements: %.2f ops / µsec", plain));
+        LOG.info(String.format("EidPreconditions:    %.2f ops / µsec", eid));
+        LOG.info(String.format("%s and is %.2f%%", title, ratio * PERCENT));
+
+        assertThat(ratio).as(title).isGreaterThanOrEqualTo(SPEED_THRESHOLD);
+    }
+
+    @Test
+    public void testChecksAreInlined() throws Exception {
+        // given
+        List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-XX:-TieredCompilation");
+        command.add("-Xbatch");
+        command.add("-XX:+UnlockDiagnosticVMOptions");
+        command.add("-XX:+PrintInlining");
+        command.add(Caller.class.getName());
+
+        // when
+        List<String> log = run(command);
+
+        // then
+        List<String> checks = new ArrayList<String>();
+        for (String line : log) {
+            if (line.contains(CHECK_PREFIX)) {
+                checks.add(line.trim());
+            }
+        }
+        for (String check : checks) {
+            LOG.info(check);
+        }
+        for (String name : CHECKS) {
+            assertThat(checks).as("inlining of %s", name).isNotEmpty();
+            boolean inlined = false;
+            for (String check : checks) {
+                if (check.contains("::" + name + " ")) {
+                    inlined |= check.contains("inline (hot)");
+                    assertThat(check).doesNotContain("too big").doesNotContain("too large");
+                }
+            }
+            assertThat(inlined).as("%s should be inlined as hot method", name).isTrue();
+        }
+    }
+
+    @Benchmark
+    public void plainChecks(Blackhole bh) {
+        bh.consume(Caller.validatePlain(values, bh));
+    }
+
+    @Benchmark
+    public void eidChecks(Blackhole bh) {
+        bh.consume(Caller.validate(values, bh));
+    }
+
+    private static List<String> run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+        try {
+            String line = reader.readLine();
+            while (line != null) {
+                lines.add(line);
+                line = reader.readLine();
+            }
+        } finally {
+            reader.close();
+        }
+        assertThat(process.waitFor()).as("exit code of forked JVM, output: %s", lines).isEqualTo(0);
+        return lines;
+    }
+
+    private static RunResult getRunResultByName(Collection<RunResult> results, String name) {
+        String fullName = String.format("%s.%s", EidPreconditionsInliningIT.class.getName(), name);
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().equals(fullName)) {
+                return result;
+            }
+        }
+        throw new EidRuntimeException("20181019:101442", "Invalid name: " + name);
+    }
+
+    /**
+     * A hot caller of checks, run in a forked JVM with inlining log enabled
+     */
+    public static final class Caller {
+
+        private Caller() {
+            // only main
+        }
+
+        public static void main(String[] args) {
+            int[] values = values();
+            long sum = 0;
+            for (int i = 0; i < CALLER_INVOCATIONS; i++) {
+                sum += validate(values, args);
+            }
+            System.out.println("Validated sum: " + sum);
+        }
+
+        static int[] values() {
+            int[] values = new int[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                values[i] = i;
+            }
+            return values;
+        }
+
+        static long validate(int[] values, Object reference) {
+            long sum = 0;
+            for (int i = 0; i < values.length; i++) {
+                int value = values[i];
+                EidPreconditions.checkArgument(value >= 0, "20181019:101521");
+                EidPreconditions.checkState(value < SIZE, "20181019:101529", "Too big: %d", value);
+                EidPreconditions.checkNotNull(reference, "20181019:101536", "No reference at %d", i);
+                sum += EidPreconditions.checkElementIndex(value, values.length, "20181019:101543");
+            }
+            return sum;
+        }
+
+        static long validatePlain(int[] values, Object reference) {
+            long sum = 0;
+            for (int i = 0; i < values.length; i++) {
+                int value = values[i];
+                if (value < 0) {
+                    throw new IllegalArgumentException("20181019:101521");
+                }
+                if (value >= SIZE) {
+                    throw new IllegalStateException(String.format("Too big: %d", value));
+                }
+                if (reference == null) {
+                    throw new NullPointerException(String.format("No reference at %d", i));
+                }
+                if (value < 0 || value > values.length) {
+                    throw new IndexOutOfBoundsException("20181019:101543");
+                }
+                sum += value;
+            }
+            return sum;
+        }
+    }
+}
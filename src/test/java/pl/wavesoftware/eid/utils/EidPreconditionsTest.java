@@ -25,12 +25,15 @@ import pl.wavesoftware.eid.exceptions.Eid;
 import pl.wavesoftware.eid.exceptions.EidIllegalArgumentException;
 import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
 import pl.wavesoftware.eid.exceptions.EidIndexOutOfBoundsException;
+import pl.wavesoftware.eid.exceptions.EidMessageSupplier;
 import pl.wavesoftware.eid.exceptions.EidNullPointerException;
 import pl.wavesoftware.eid.exceptions.EidRuntimeException;
 
 import javax.annotation.Nonnull;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.text.ParseException;
+import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.*;
@@ -548,6 +551,146 @@ public class EidPreconditionsTest {
         assertThat(result).isEqualTo(index);
     }
 
+    @Test
+    public void testCheckArgument_WithThreeParameters() {
+        // given
+        boolean expression = falsyValue();
+        // then
+        thrown.expect(EidIllegalArgumentException.class);
+        thrown.expectMessage(containsString(eid));
+        thrown.expectMessage(containsString("a, b and c"));
+        // when
+        EidPreconditions.checkArgument(expression, eid, "%s, %s and %s", "a", "b", "c");
+    }
+
+    @Test
+    public void testCheckState_WithIntParameter() {
+        // given
+        boolean expression = falsyValue();
+        // then
+        thrown.expect(EidIllegalStateException.class);
+        thrown.expectMessage(containsString(eid));
+        thrown.expectMessage(containsString("Size is 42"));
+        // when
+        EidPreconditions.checkState(expression, new Eid(eid), "Size is %d", 42);
+    }
+
+    @Test
+    public void testCheckNotNull_WithLongParameter() {
+        // given
+        Object reference = null;
+        // then
+        thrown.expect(EidNullPointerException.class);
+        thrown.expectMessage(containsString(eid));
+        thrown.expectMessage(containsString("Id 9000000000 not found"));
+        // when
+        EidPreconditions.checkNotNull(reference, eid, "Id %d not found", 9000000000L);
+    }
+
+    @Test
+    public void testCheckElementIndex_WithCharParameter() {
+        // given
+        int index = 4;
+        int size = 3;
+        // then
+        thrown.expect(EidIndexOutOfBoundsException.class);
+        thrown.expectMessage(containsString(eid));
+        thrown.expectMessage(containsString("Column x"));
+        // when
+        EidPreconditions.checkElementIndex(index, size, eid, "Column %s", 'x');
+    }
+
+    @Test
+    public void testCheckArgument_WithBooleanParameter_Ok() {
+        // given
+        boolean expression = truthyValue();
+        // when
+        EidPreconditions.checkArgument(expression, new Eid(eid), "Flag %s", true);
+        EidPreconditions.checkArgument(expression, eid, "%s %s", "a", 1);
+        // then
+        assertThat(thrown).isNotNull();
+    }
+
+    @Test
+    public void testCheckNotNull_WithSupplier() {
+        // given
+        Object reference = null;
+        // then
+        thrown.expect(EidNullPointerException.class);
+        thrown.expectMessage(containsString(eid));
+        thrown.expectMessage(containsString("No entity for request"));
+        // when
+        EidPreconditions.checkNotNull(reference, eid, new EidMessageSupplier() {
+            @Override
+            public String get() {
+                return "No entity for request";
+            }
+        });
+    }
+
+    @Test
+    public void testCheckElementIndex_WithSupplier() {
+        // then
+        thrown.expect(EidIllegalArgumentException.class);
+        thrown.expectMessage(containsString(eid));
+        thrown.expectMessage(containsString("Negative size"));
+        // when
+        EidPreconditions.checkElementIndex(0, -1, new Eid(eid), new EidMessageSupplier() {
+            @Override
+            public String get() {
+                return "Negative size";
+            }
+        });
+    }
+
+    @Test
+    public void testCheckState_WithSupplier_Ok() {
+        // given
+        EidMessageSupplier supplier = new EidMessageSupplier() {
+            @Override
+            public String get() {
+                throw new AssertionError("Supplier should not be called on a passing check");
+            }
+        };
+        // when
+        EidPreconditions.checkState(truthyValue(), eid, supplier);
+        EidPreconditions.checkState(truthyValue(), new Eid(eid), supplier);
+        EidPreconditions.checkArgument(truthyValue(), eid, supplier);
+        Object checked = EidPreconditions.checkNotNull(eid, new Eid(eid), supplier);
+        int index = EidPreconditions.checkElementIndex(1, 2, eid, supplier);
+        // then
+        assertThat(checked).isSameAs(eid);
+        assertThat(index).isEqualTo(1);
+    }
+
+    @Test
+    public void testFixedArityOverloads() {
+        // given
+        Class<?>[] variants = {Object.class, int.class, long.class, double.class, char.class, boolean.class};
+        int checked = 0;
+        for (Method method : EidPreconditions.class.getDeclaredMethods()) {
+            Class<?>[] types = method.getParameterTypes();
+            if (!method.isVarArgs() || types[types.length - 1] != Object[].class) {
+                continue;
+            }
+            for (Class<?> variant : variants) {
+                Class<?>[] fixed = Arrays.copyOf(types, types.length);
+                fixed[fixed.length - 1] = variant;
+                // when
+                assertThat(findMethod(method.getName(), fixed)).as("%s%s", method.getName(),
+                    Arrays.toString(fixed)).isNotNull();
+            }
+            Class<?>[] three = Arrays.copyOf(types, types.length + 2);
+            three[types.length - 1] = Object.class;
+            three[types.length] = Object.class;
+            three[types.length + 1] = Object.class;
+            assertThat(findMethod(method.getName(), three)).isNotNull();
+            checked++;
+        }
+        // then
+        assertThat(checked).isEqualTo(8);
+    }
+
     @Test
     public void testTryToExecute_UnsafeProcedure_String() {
         // given
@@ -708,4 +851,11 @@ public class EidPreconditionsTest {
         return (T) ret;
     }
 
+    private static Method findMethod(String name, Class<?>[] types) {
+        try {
+            return EidPreconditions.class.getMethod(name, types);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
 }
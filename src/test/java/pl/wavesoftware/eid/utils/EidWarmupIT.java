@@ -0,0 +1,102 @@
+package pl.wavesoftware.eid.utils;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.testing.BenchmarkBaseline;
+import pl.wavesoftware.testing.BenchmarkResults;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures latency of first failure in a fresh JVM, with and without {@link EidWarmup}. Each fork is a new JVM, that
+ * runs a single invocation, so a result is a time of a cold path: loading and initialization of classes, and
+ * interpreted execution.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidWarmupIT {
+
+    private static final int FORKS = 20;
+    private static final Logger LOG = LoggerFactory.getLogger(EidWarmupIT.class);
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(EidWarmupIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(EidWarmupIT.class.getName() + ".*")
+            .mode(Mode.SingleShotTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(0)
+            .measurementIterations(1)
+            .forks(FORKS)
+            .shouldFailOnError(true)
+            .jvmArgs("-server", "-Xms256m", "-Xmx256m")
+            .result(BenchmarkBaseline.resultsFileOf(EidWarmupIT.class))
+            .resultFormat(ResultFormatType.JSON)
+            .build();
+
+        Collection<RunResult> runResults = new Runner(opt).run();
+        BenchmarkResults results = new BenchmarkResults(runResults);
+        assertThat(results.size()).isEqualTo(2);
+        LOG.info("First failure in a fresh JVM:\n{}", results.toTable());
+
+        double cold = results.score(EidWarmupIT.class, "firstFailure");
+        double warm = results.score(EidWarmupIT.class, "firstFailureAfterWarmup");
+        LOG.info(String.format("First failure: %.1f us cold, %.1f us after warm-up (%.1fx faster)",
+            cold, warm, cold / warm));
+        assertThat(warm).isLessThan(cold);
+    }
+
+    @Benchmark
+    public int firstFailure() {
+        return fail();
+    }
+
+    @Benchmark
+    public int firstFailureAfterWarmup(WarmedUp state) {
+        return fail();
+    }
+
+    private static int fail() {
+        try {
+            EidPreconditions.checkNotNull(null, "20181019:191204", "Value of %s", "user");
+            throw new AssertionError("Expected to fail");
+        } catch (EidRuntimeException ex) {
+            return ex.getMessage().length();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmedUp {
+        @Setup(Level.Trial)
+        public void setup() {
+            EidWarmup.warmUp();
+        }
+    }
+}
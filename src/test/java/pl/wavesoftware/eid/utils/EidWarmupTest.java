@@ -0,0 +1,100 @@
+package pl.wavesoftware.eid.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class EidWarmupTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testWarmUp_NotReported() {
+        // given
+        final List<EidRuntimeException> occurred = new ArrayList<EidRuntimeException>();
+        final AtomicInteger asked = new AtomicInteger();
+        EidRuntimeException.OccurrenceListener previousListener = EidRuntimeException.setOccurrenceListener(
+            new EidRuntimeException.OccurrenceListener() {
+                @Override
+                public void occurred(EidRuntimeException exception) {
+                    occurred.add(exception);
+                }
+            }
+        );
+        EidRuntimeException.FastThrowPolicy previousPolicy = EidRuntimeException.setFastThrowPolicy(
+            new EidRuntimeException.FastThrowPolicy() {
+                @Override
+                public boolean isReusable(Eid eid) {
+                    asked.incrementAndGet();
+                    return false;
+                }
+            }
+        );
+        try {
+            // when
+            EidWarmup.warmUp(3);
+
+            // then
+            assertThat(occurred).isEmpty();
+            assertThat(asked.get()).isZero();
+            EidRuntimeException after = new EidIllegalStateException(new Eid("20181019:190312"));
+            assertThat(occurred).containsExactly(after);
+        } finally {
+            EidRuntimeException.setFastThrowPolicy(previousPolicy);
+            EidRuntimeException.setOccurrenceListener(previousListener);
+        }
+    }
+
+    @Test
+    public void testWarmUpInBackground() throws InterruptedException {
+        // given
+        final List<EidRuntimeException> occurred = Collections.synchronizedList(
+            new ArrayList<EidRuntimeException>()
+        );
+        EidRuntimeException.OccurrenceListener previous = EidRuntimeException.setOccurrenceListener(
+            new EidRuntimeException.OccurrenceListener() {
+                @Override
+                public void occurred(EidRuntimeException exception) {
+                    occurred.add(exception);
+                }
+            }
+        );
+        try {
+            // when
+            Thread thread = EidWarmup.warmUpInBackground();
+            thread.join();
+
+            // then
+            assertThat(thread.isDaemon()).isTrue();
+            assertThat(thread.getName()).isEqualTo("eid-warmup");
+            assertThat(thread.isAlive()).isFalse();
+            assertThat(occurred).isEmpty();
+        } finally {
+            EidRuntimeException.setOccurrenceListener(previous);
+        }
+    }
+
+    @Test
+    public void testWarmUp_InvalidIterations() {
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Number of iterations must be positive, but given 0");
+        // when
+        EidWarmup.warmUp(0);
+    }
+}
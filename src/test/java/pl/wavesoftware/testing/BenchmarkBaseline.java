@@ -0,0 +1,265 @@
+package pl.wavesoftware.testing;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A baseline of benchmark results, checked in with sources, that current results are compared with. A benchmark has
+ * regressed, if its score is worse than baseline one by more than a tolerance, beyond confidence interval of current
+ * result. For throughput:
+ * <pre>
+ * score + error &lt; baseline score * (1 - tolerance)
+ * </pre>
+ * Baseline score is taken as exact, so it's recorded with more forks and iterations, see
+ * {@link #configure(ChainedOptionsBuilder)}, and a baseline with relative error above
+ * {@value #MAX_RELATIVE_ERROR_PERCENT}% is rejected, both when it's refreshed and when it's compared with.
+ * Tolerances are kept in <code>tolerances.properties</code> file, next to baselines. Its keys are prefixes of
+ * benchmark keys, as given by {@link BenchmarkResults}, and the longest matching one is used. A <code>default</code>
+ * key is used if none matches.
+ * <p>
+ * Baselines are refreshed with <code>mvn verify -P benchmark-baseline</code>, that sets
+ * {@value #UPDATE_PROPERTY} system property.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class BenchmarkBaseline {
+
+    public static final String UPDATE_PROPERTY = "eid.benchmarks.baseline.update";
+    public static final String DIRECTORY_PROPERTY = "eid.benchmarks.dir";
+    public static final String RESULTS_PROPERTY = "eid.benchmarks.results.dir";
+    private static final String DEFAULT_DIRECTORY = "src/test/benchmarks";
+    private static final String DEFAULT_RESULTS = "target/benchmarks";
+    private static final String TOLERANCES = "tolerances.properties";
+    private static final String DEFAULT_TOLERANCE = "default";
+    private static final String ENCODING = "UTF-8";
+    private static final int PERCENT = 100;
+    private static final int MAX_RELATIVE_ERROR_PERCENT = 10;
+    private static final double MAX_RELATIVE_ERROR = MAX_RELATIVE_ERROR_PERCENT / (double) PERCENT;
+    private static final int BASELINE_FORKS = 5;
+    private static final int BASELINE_ITERATIONS = 20;
+    private static final Logger LOG = LoggerFactory.getLogger(BenchmarkBaseline.class);
+
+    private final File file;
+    private final File tolerancesFile;
+
+    private BenchmarkBaseline(File file, File tolerancesFile) {
+        this.file = file;
+        this.tolerancesFile = tolerancesFile;
+    }
+
+    /**
+     * Gets a baseline of given test class
+     *
+     * @param testClass a test class, that runs benchmarks
+     * @return a baseline
+     */
+    public static BenchmarkBaseline of(Class<?> testClass) {
+        File directory = new File(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY));
+        return new BenchmarkBaseline(
+            new File(directory, testClass.getSimpleName() + ".baseline.properties"),
+            new File(directory, TOLERANCES)
+        );
+    }
+
+    /**
+     * Gets a file, JMH should write results of given test class to, in JSON format
+     *
+     * @param testClass a test class, that runs benchmarks
+     * @return a path of file
+     */
+    public static String resultsFileOf(Class<?> testClass) {
+        File directory = new File(System.getProperty(RESULTS_PROPERTY, DEFAULT_RESULTS));
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Can't create directory: " + directory);
+        }
+        return new File(directory, testClass.getSimpleName() + ".json").getPath();
+    }
+
+    /**
+     * Configures benchmarks to run with {@value #BASELINE_FORKS} forks of {@value #BASELINE_ITERATIONS} measurement
+     * iterations, if a baseline is being refreshed, so it's precise enough to compare with
+     *
+     * @param builder a builder of options of benchmarks
+     * @return given builder
+     */
+    public static ChainedOptionsBuilder configure(ChainedOptionsBuilder builder) {
+        if (Boolean.getBoolean(UPDATE_PROPERTY)) {
+            builder.forks(BASELINE_FORKS).measurementIterations(BASELINE_ITERATIONS);
+        }
+        return builder;
+    }
+
+    /**
+     * Stores given results as a new baseline, if {@value #UPDATE_PROPERTY} is set, or verifies them against
+     * existing baseline otherwise
+     *
+     * @param results results of benchmarks
+     * @throws IOException    if baseline can't be read or written
+     * @throws AssertionError if any of benchmarks has regressed
+     */
+    public void verify(BenchmarkResults results) throws IOException {
+        if (Boolean.getBoolean(UPDATE_PROPERTY)) {
+            store(results);
+            LOG.info("Baseline refreshed: {}", file);
+            return;
+        }
+        if (!file.isFile()) {
+            LOG.warn("No baseline to compare with, refresh it with: mvn verify -P benchmark-baseline");
+            return;
+        }
+        List<String> regressions = findRegressions(results);
+        if (!regressions.isEmpty()) {
+            StringBuilder sb = new StringBuilder("Benchmarks regressed against baseline ").append(file).append(':');
+            for (String regression : regressions) {
+                sb.append(String.format("%n  %s", regression));
+            }
+            throw new AssertionError(sb.toString());
+        }
+        LOG.info("No regressions against baseline: {}", file);
+    }
+
+    /**
+     * Stores given results as a baseline
+     *
+     * @param results results of benchmarks
+     * @throws IOException    if baseline can't be written
+     * @throws AssertionError if any of results is too imprecise to be a baseline
+     */
+    public void store(BenchmarkResults results) throws IOException {
+        List<String> imprecise = new ArrayList<String>();
+        for (Map.Entry<String, RunResult> entry : results.asMap().entrySet()) {
+            Result<?> primary = entry.getValue().getPrimaryResult();
+            if (isImprecise(primary.getScore(), errorOf(primary))) {
+                imprecise.add(describe(entry.getKey(), primary.getScore(), errorOf(primary), primary.getScoreUnit()));
+            }
+        }
+        if (!imprecise.isEmpty()) {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                "Results with relative error above %d%% can't be a baseline, %s isn't refreshed:",
+                MAX_RELATIVE_ERROR_PERCENT, file));
+            for (String result : imprecise) {
+                sb.append(String.format("%n  %s", result));
+            }
+            throw new AssertionError(sb.toString());
+        }
+        List<String> lines = new ArrayList<String>();
+        lines.add("# Baseline: score, score error, mode and unit. Refresh with: mvn verify -P benchmark-baseline");
+        for (Map.Entry<String, RunResult> entry : results.asMap().entrySet()) {
+            Result<?> primary = entry.getValue().getPrimaryResult();
+            lines.add(escape(entry.getKey()) + " = " + String.format(Locale.ROOT, "%.6f %.6f %s %s",
+                primary.getScore(), errorOf(primary), entry.getValue().getParams().getMode().shortLabel(),
+                primary.getScoreUnit()));
+        }
+        FileUtils.writeLines(file, ENCODING, lines);
+    }
+
+    /**
+     * Compares given results with this baseline. Benchmarks not present in baseline are skipped.
+     *
+     * @param results results of benchmarks
+     * @return descriptions of regressions, empty if there's none
+     * @throws IOException if baseline can't be read
+     */
+    public List<String> findRegressions(BenchmarkResults results) throws IOException {
+        Properties baseline = load(file);
+        Properties tolerances = load(tolerancesFile);
+        List<String> regressions = new ArrayList<String>();
+        for (Map.Entry<String, RunResult> entry : results.asMap().entrySet()) {
+            String key = entry.getKey();
+            String value = baseline.getProperty(key);
+            if (value == null) {
+                LOG.warn("No baseline for: {}", key);
+                continue;
+            }
+            String[] parts = value.trim().split("\\s+");
+            double baseScore = Double.parseDouble(parts[0]);
+            double baseError = Double.parseDouble(parts[1]);
+            Result<?> current = entry.getValue().getPrimaryResult();
+            if (!current.getScoreUnit().equals(parts[3])) {
+                regressions.add(String.format("%s: measured in %s, but baseline in %s, refresh baseline",
+                    key, current.getScoreUnit(), parts[3]));
+                continue;
+            }
+            if (isImprecise(baseScore, baseError)) {
+                regressions.add(String.format(Locale.ROOT, "%s: baseline %.4f ± %.4f %s has relative error above "
+                    + "%d%%, refresh baseline", key, baseScore, baseError, parts[3], MAX_RELATIVE_ERROR_PERCENT));
+                continue;
+            }
+            double tolerance = toleranceOf(tolerances, key);
+            boolean higherIsBetter = entry.getValue().getParams().getMode() == Mode.Throughput;
+            double score = current.getScore();
+            double error = errorOf(current);
+            boolean regressed = higherIsBetter
+                ? score + error < baseScore * (1d - tolerance)
+                : score - error > baseScore * (1d + tolerance);
+            if (regressed) {
+                regressions.add(String.format(Locale.ROOT, "%s, baseline %.4f %s, tolerance %.0f%%",
+                    describe(key, score, error, current.getScoreUnit()), baseScore, parts[3], tolerance * PERCENT));
+            }
+        }
+        return regressions;
+    }
+
+    private static boolean isImprecise(double score, double error) {
+        return !(error <= Math.abs(score) * MAX_RELATIVE_ERROR);
+    }
+
+    private static String describe(String key, double score, double error, String unit) {
+        return String.format(Locale.ROOT, "%s: %.4f ± %.4f %s", key, score, error, unit);
+    }
+
+    private static double toleranceOf(Properties tolerances, String key) {
+        String matched = DEFAULT_TOLERANCE;
+        for (String prefix : tolerances.stringPropertyNames()) {
+            if (key.startsWith(prefix) && (matched.equals(DEFAULT_TOLERANCE) || prefix.length() > matched.length())) {
+                matched = prefix;
+            }
+        }
+        String value = tolerances.getProperty(matched);
+        if (value == null) {
+            throw new IllegalStateException("No default tolerance in: " + TOLERANCES);
+        }
+        double tolerance = Double.parseDouble(value.trim());
+        if (tolerance < 0d || tolerance >= 1d) {
+            throw new IllegalStateException("Tolerance of " + matched + " must be between 0 and 1, but given "
+                + value);
+        }
+        return tolerance;
+    }
+
+    private static double errorOf(Result<?> result) {
+        double error = result.getScoreError();
+        return Double.isNaN(error) ? 0d : error;
+    }
+
+    private static Properties load(File file) throws IOException {
+        Properties properties = new Properties();
+        InputStream input = new FileInputStream(file);
+        try {
+            properties.load(input);
+        } finally {
+            input.close();
+        }
+        return properties;
+    }
+
+    private static String escape(String key) {
+        return key.replace("\\", "\\\\").replace("=", "\\=").replace(":", "\\:").replace(" ", "\\ ");
+    }
+}
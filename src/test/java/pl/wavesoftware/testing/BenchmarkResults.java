@@ -0,0 +1,114 @@
+package pl.wavesoftware.testing;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of benchmarks, keyed by simple name of benchmark class, benchmark method and its parameters, like:
+ * <code>ThrowCatchBenchmark.eid(type=NullPointerException)</code>.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public final class BenchmarkResults {
+
+    /**
+     * A name of secondary result of {@link org.openjdk.jmh.profile.GCProfiler}: bytes allocated per operation
+     */
+    public static final String ALLOC_RATE_NORM = "·gc.alloc.rate.norm";
+
+    private final Map<String, RunResult> results = new TreeMap<String, RunResult>();
+
+    public BenchmarkResults(Collection<RunResult> results) {
+        for (RunResult result : results) {
+            this.results.put(keyOf(result.getParams()), result);
+        }
+    }
+
+    public static String keyOf(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        int classStart = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1;
+        StringBuilder sb = new StringBuilder(benchmark.substring(classStart));
+        String separator = "(";
+        for (String param : params.getParamsKeys()) {
+            sb.append(separator).append(param).append('=').append(params.getParam(param));
+            separator = ",";
+        }
+        if (!params.getParamsKeys().isEmpty()) {
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    public static String keyOf(Class<?> benchmarkClass, String method, String... params) {
+        StringBuilder sb = new StringBuilder(benchmarkClass.getSimpleName()).append('.').append(method);
+        String separator = "(";
+        for (String param : params) {
+            sb.append(separator).append(param);
+            separator = ",";
+        }
+        if (params.length > 0) {
+            sb.append(')');
+        }
+        return sb.toString();
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public Map<String, RunResult> asMap() {
+        return results;
+    }
+
+    public RunResult get(String key) {
+        RunResult result = results.get(key);
+        if (result == null) {
+            throw new EidRuntimeException("20181019:161842", "No result for: " + key);
+        }
+        return result;
+    }
+
+    public double score(String key) {
+        return get(key).getPrimaryResult().getScore();
+    }
+
+    public double score(Class<?> benchmarkClass, String method, String... params) {
+        return score(keyOf(benchmarkClass, method, params));
+    }
+
+    /**
+     * Gets bytes allocated per operation, measured by {@link org.openjdk.jmh.profile.GCProfiler}
+     *
+     * @param key a key of benchmark
+     * @return bytes allocated per operation, or NaN if benchmark wasn't profiled
+     */
+    public double allocation(String key) {
+        Result<?> allocation = get(key).getSecondaryResults().get(ALLOC_RATE_NORM);
+        return allocation == null ? Double.NaN : allocation.getScore();
+    }
+
+    public double allocation(Class<?> benchmarkClass, String method, String... params) {
+        return allocation(keyOf(benchmarkClass, method, params));
+    }
+
+    public String toTable() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, RunResult> entry : results.entrySet()) {
+            Result<?> primary = entry.getValue().getPrimaryResult();
+            sb.append(String.format("%n%-70s %12.4f ± %10.4f %s", entry.getKey(), primary.getScore(),
+                primary.getScoreError(), primary.getScoreUnit()));
+            double allocation = allocation(entry.getKey());
+            if (!Double.isNaN(allocation)) {
+                sb.append(String.format(", %10.2f B/op", allocation));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,209 @@
+package pl.wavesoftware.eid.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.testing.BenchmarkBaseline;
+import pl.wavesoftware.testing.BenchmarkResults;
+import pl.wavesoftware.testing.JavaAgentSkip;
+import pl.wavesoftware.testing.JmhCleaner;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Proves that {@link JfrOccurrenceListener} costs only a single branch, when its event is disabled: both when no
+ * recording is running, and when a recording is running, but without Eid events. It's compared with a reference
+ * listener, that checks a single flag, before it calls next listener.
+ *
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class JfrOccurrenceListenerIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JfrOccurrenceListenerIT.class);
+    private static final double BRANCH_TOLERANCE = 0.5d;
+    private static final double CREATION_TOLERANCE = 0.1d;
+    private static final String[] RECORDINGS = {"false", "true"};
+
+    @ClassRule
+    public static RuleChain chain = RuleChain
+        .outerRule(new JmhCleaner(JfrOccurrenceListenerIT.class))
+        .around(JavaAgentSkip.ifActive());
+
+    @Test
+    public void doBenchmarking() throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(JfrOccurrenceListenerIT.class.getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupTime(TimeValue.seconds(1))
+            .warmupIterations(2)
+            .measurementTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .forks(1)
+            .shouldFailOnError(true)
+            .jvmArgs("-server", "-Xms256m", "-Xmx256m", "-XX:+UseParallelGC")
+            .result(BenchmarkBaseline.resultsFileOf(JfrOccurrenceListenerIT.class))
+            .resultFormat(ResultFormatType.JSON)
+            .build();
+
+        Collection<RunResult> runResults = new Runner(opt).run();
+        BenchmarkResults results = new BenchmarkResults(runResults);
+        assertThat(results.size()).isEqualTo(7);
+        LOG.info("JFR listener, with disabled event:\n{}", results.toTable());
+
+        String branch = BenchmarkResults.keyOf(JfrOccurrenceListenerIT.class, "occurredBranch");
+        String created = BenchmarkResults.keyOf(JfrOccurrenceListenerIT.class, "create");
+        for (String recording : RECORDINGS) {
+            String param = "recording=" + recording;
+            String occurredJfr = BenchmarkResults.keyOf(JfrOccurrenceListenerIT.class, "occurredJfr", param);
+            String createdJfr = BenchmarkResults.keyOf(JfrOccurrenceListenerIT.class, "createJfr", param);
+            LOG.info(String.format("Recording running: %s, listener: %.2f ns vs single branch: %.2f ns, "
+                    + "creation: %.1f ns vs %.1f ns without listener", recording, results.score(occurredJfr),
+                results.score(branch), results.score(createdJfr), results.score(created)));
+            assertThat(lowerBound(results, occurredJfr))
+                .as("%s vs %s", occurredJfr, branch)
+                .isLessThanOrEqualTo(upperBound(results, branch) * (1d + BRANCH_TOLERANCE));
+            assertThat(lowerBound(results, createdJfr))
+                .as("%s vs %s", createdJfr, created)
+                .isLessThanOrEqualTo(upperBound(results, created) * (1d + CREATION_TOLERANCE));
+        }
+    }
+
+    private static double lowerBound(BenchmarkResults results, String key) {
+        return results.score(key) - errorOf(results, key);
+    }
+
+    private static double upperBound(BenchmarkResults results, String key) {
+        return results.score(key) + errorOf(results, key);
+    }
+
+    private static double errorOf(BenchmarkResults results, String key) {
+        double error = results.get(key).getPrimaryResult().getScoreError();
+        return Double.isNaN(error) ? 0d : error;
+    }
+
+    @Benchmark
+    public void occurred(NoListener state) {
+        state.listener.occurred(state.exception);
+    }
+
+    @Benchmark
+    public void occurredBranch(BranchListener state) {
+        state.listener.occurred(state.exception);
+    }
+
+    @Benchmark
+    public void occurredJfr(JfrListener state) {
+        state.listener.occurred(state.exception);
+    }
+
+    @Benchmark
+    public EidRuntimeException create(NoListener state) {
+        return new EidIllegalStateException(new Eid(state.id));
+    }
+
+    @Benchmark
+    public EidRuntimeException createJfr(JfrListener state) {
+        return new EidIllegalStateException(new Eid(state.id));
+    }
+
+    @State(Scope.Benchmark)
+    public static class NoListener {
+        EidRuntimeException.OccurrenceListener listener;
+        EidRuntimeException exception;
+        String id = "20181019:202204";
+
+        @Setup(Level.Trial)
+        public void setup() {
+            EidRuntimeException.setStackTracePolicy(EidRuntimeException.STACKLESS_STACK_TRACE_POLICY);
+            listener = EidRuntimeException.NO_OCCURRENCE_LISTENER;
+            EidRuntimeException.setOccurrenceListener(listener);
+            exception = new EidIllegalStateException(new Eid(id));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BranchListener {
+        EidRuntimeException.OccurrenceListener listener;
+        EidRuntimeException exception;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            EidRuntimeException.setStackTracePolicy(EidRuntimeException.STACKLESS_STACK_TRACE_POLICY);
+            listener = new SingleBranchListener(EidRuntimeException.NO_OCCURRENCE_LISTENER);
+            exception = new EidIllegalStateException(new Eid("20181019:202204"));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class JfrListener {
+        @Param({"false", "true"})
+        boolean recording;
+        EidRuntimeException.OccurrenceListener listener;
+        EidRuntimeException exception;
+        String id = "20181019:202204";
+        private Recording running;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            if (recording) {
+                running = new Recording();
+                running.disable(EidExceptionEvent.NAME);
+                running.start();
+            }
+            EidRuntimeException.setStackTracePolicy(EidRuntimeException.STACKLESS_STACK_TRACE_POLICY);
+            listener = new JfrOccurrenceListener();
+            EidRuntimeException.setOccurrenceListener(listener);
+            exception = new EidIllegalStateException(new Eid(id));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (running != null) {
+                running.close();
+            }
+        }
+    }
+
+    private static final class SingleBranchListener implements EidRuntimeException.OccurrenceListener {
+        private static boolean enabled;
+        private final EidRuntimeException.OccurrenceListener next;
+
+        private SingleBranchListener(EidRuntimeException.OccurrenceListener next) {
+            this.next = next;
+        }
+
+        @Override
+        public void occurred(EidRuntimeException exception) {
+            if (enabled) {
+                throw new IllegalStateException("Not expected to be enabled");
+            }
+            next.occurred(exception);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package pl.wavesoftware.eid.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import pl.wavesoftware.eid.exceptions.Eid;
+import pl.wavesoftware.eid.exceptions.EidIllegalStateException;
+import pl.wavesoftware.eid.exceptions.EidNullPointerException;
+import pl.wavesoftware.eid.exceptions.EidRuntimeException;
+import pl.wavesoftware.eid.utils.EidPreconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author <a href="mailto:krzysztof.suszynski@wavesoftware.pl">Krzysztof Suszynski</a>
+ * @since 2018-10-18
+ */
+public class JfrOccurrenceListenerTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<EidRuntimeException> occurred = new ArrayList<EidRuntimeException>();
+
+    private EidRuntimeException.OccurrenceListener previous;
+
+    @Before
+    public void before() {
+        previous = EidRuntimeException.setOccurrenceListener(new JfrOccurrenceListener(
+            new EidRuntimeException.OccurrenceListener() {
+                @Override
+                public void occurred(EidRuntimeException exception) {
+                    occurred.add(exception);
+                }
+            }
+        ));
+    }
+
+    @After
+    public void after() {
+        EidRuntimeException.setOccurrenceListener(previous);
+    }
+
+    @Test
+    public void testOccurred_Enabled() throws IOException {
+        // given
+        Recording recording = new Recording();
+        recording.enable(EidExceptionEvent.NAME);
+        EidRuntimeException created;
+        EidRuntimeException failed = null;
+        recording.start();
+        try {
+            // when
+            created = new EidIllegalStateException(new Eid("20181019:201503", "ORDER"));
+            try {
+                EidPreconditions.checkNotNull(null, "20181019:201512");
+            } catch (EidNullPointerException ex) {
+                failed = ex;
+            }
+        } finally {
+            recording.stop();
+        }
+        List<RecordedEvent> events = read(recording);
+
+        // then
+        assertThat(failed).isNotNull();
+        assertThat(events).hasSize(2);
+        RecordedEvent first = events.get(0);
+        assertThat(first.getString("id")).isEqualTo("20181019:201503");
+        assertThat(first.getString("ref")).isEqualTo("ORDER");
+        assertThat(first.getString("uniq")).isEqualTo(created.getEid().getUniq());
+        assertThat(first.getClass("exceptionClass").getName()).isEqualTo(EidIllegalStateException.class.getName());
+        assertThat(first.getClass("standardJdkClass").getName()).isEqualTo(IllegalStateException.class.getName());
+        RecordedEvent second = events.get(1);
+        assertThat(second.getString("id")).isEqualTo("20181019:201512");
+        assertThat(second.getString("ref")).isEmpty();
+        assertThat(second.getString("uniq")).isEqualTo(failed.getEid().getUniq());
+        assertThat(second.getClass("standardJdkClass").getName()).isEqualTo(NullPointerException.class.getName());
+        assertThat(methodsOf(second)).contains("checkNotNull", "testOccurred_Enabled");
+        assertThat(occurred).containsExactly(created, failed);
+    }
+
+    @Test
+    public void testOccurred_Disabled() throws IOException {
+        // given
+        Recording recording = new Recording();
+        recording.disable(EidExceptionEvent.NAME);
+        EidRuntimeException created;
+        recording.start();
+        try {
+            // when
+            created = new EidIllegalStateException(new Eid("20181019:201707"));
+        } finally {
+            recording.stop();
+        }
+
+        // then
+        assertThat(read(recording)).isEmpty();
+        assertThat(occurred).containsExactly(created);
+    }
+
+    @Test
+    public void testConstructor_Null() {
+        // given
+        EidRuntimeException.OccurrenceListener next = null;
+        // then
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Occurrence listener can't be null, but given one");
+        // when
+        new JfrOccurrenceListener(next);
+    }
+
+    private List<RecordedEvent> read(Recording recording) throws IOException {
+        File file = folder.newFile("recording.jfr");
+        try {
+            recording.dump(file.toPath());
+        } finally {
+            recording.close();
+        }
+        List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+            if (event.getEventType().getName().equals(EidExceptionEvent.NAME)) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private static List<String> methodsOf(RecordedEvent event) {
+        List<String> methods = new ArrayList<String>();
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            methods.add(frame.getMethod().getName());
+        }
+        return methods;
+    }
+}